@@ -0,0 +1,54 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.accrual.VacationAccrualEngine;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccrualEngineBenchmark {
+    private static final LocalDate AS_OF = LocalDate.of(2024, Month.JANUARY, 31);
+
+    @Param({"1000000"})
+    private int employees;
+
+    private VacationAccrualEngine engine;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        engine = new VacationAccrualEngine(AS_OF, employees);
+        for (int i = 0; i < employees; i++) {
+            engine.add(AS_OF.minusDays(random.nextInt(0, 15_000)), random.nextInt(0, 60),
+                    random.nextLong(10_000_000L, 1_000_000_000L) / 100.0);
+        }
+    }
+
+    //ежемесячный пересчет всех сотрудников
+    @Benchmark
+    public long recalculate() {
+        engine.recalculate(AS_OF);
+        return engine.getTotalLiability() > 0 ? engine.getTotalUnusedDays() : 0;
+    }
+
+    //изменение одного сотрудника между пересчетами
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double updateDaysTaken() {
+        engine.updateDaysTaken(random.nextInt(employees), random.nextInt(0, 60));
+        return engine.getTotalLiability();
+    }
+}
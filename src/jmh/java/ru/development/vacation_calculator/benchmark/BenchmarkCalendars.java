@@ -0,0 +1,47 @@
+package ru.development.vacation_calculator.benchmark;
+
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class BenchmarkCalendars {
+    static final int FIRST_YEAR = 2024;
+
+    private BenchmarkCalendars() {
+    }
+
+    //календарь на years лет, начиная с 2024, с праздниками в тех же датах, что и в 2024 году
+    static CalendarSnapshot calendar(int years) {
+        Set<Integer> availableYears = IntStream.range(FIRST_YEAR, FIRST_YEAR + years).boxed().collect(Collectors.toSet());
+        return new CalendarSnapshot(1, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return availableYears;
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                List<LocalDate> holidays = new ArrayList<>();
+                for (int day = 1; day <= 8; day++) {
+                    holidays.add(LocalDate.of(year, 1, day));
+                }
+                holidays.add(LocalDate.of(year, 2, 23));
+                holidays.add(LocalDate.of(year, 3, 8));
+                holidays.add(LocalDate.of(year, 5, 1));
+                holidays.add(LocalDate.of(year, 5, 9));
+                holidays.add(LocalDate.of(year, 6, 12));
+                holidays.add(LocalDate.of(year, 11, 4));
+                return holidays;
+            }
+        }, years));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.development.vacation_calculator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сравнивает результаты JMH (-rf json) с эталонными и завершается с кодом 1, если какой-либо бенчмарк ухудшился
+ * больше чем на threshold процентов и больше суммарной погрешности замеров, если единицы измерения не совпадают
+ * или бенчмарк из эталона отсутствует в текущем запуске.
+ * Запуск: BenchmarkComparator baseline.json current.json [threshold]
+ */
+public final class BenchmarkComparator {
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <current.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        int failures = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode beforeMetric = before.path("primaryMetric");
+            JsonNode afterMetric = entry.getValue().path("primaryMetric");
+            String unit = afterMetric.path("scoreUnit").asText();
+            String beforeUnit = beforeMetric.path("scoreUnit").asText();
+            if (!unit.equals(beforeUnit)) {
+                failures++;
+                System.out.printf("UNIT       %s: %s -> %s, baseline must be recorded in the same mode and units%n",
+                        entry.getKey(), beforeUnit, unit);
+                continue;
+            }
+            double beforeScore = beforeMetric.path("score").asDouble();
+            double afterScore = afterMetric.path("score").asDouble();
+            double noise = error(beforeMetric) + error(afterMetric);
+            //для режима thrpt больше - лучше, для режимов времени (avgt, sample, ss) - наоборот
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double worsening = higherIsBetter ? beforeScore - afterScore : afterScore - beforeScore;
+            //разница в пределах суммарной погрешности двух замеров - шум, порог к ней не применяется;
+            //при нулевом эталоне процент не определен, и регрессией считается любое ухудшение больше погрешности
+            boolean regressed = worsening > noise
+                    && (beforeScore == 0 || worsening / Math.abs(beforeScore) * 100 > threshold);
+            if (regressed) {
+                regressions++;
+            }
+            String change = beforeScore == 0 ? "n/a"
+                    : String.format("%+.1f%%", (afterScore - beforeScore) / Math.abs(beforeScore) * 100);
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%s, error +/-%.3f)%n", regressed ? "REGRESSION" : "OK",
+                    entry.getKey(), beforeScore, afterScore, unit, change, noise);
+        }
+        //пропавший бенчмарк не должен незаметно выпадать из проверки: эталон нужно обновить явно
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                failures++;
+                System.out.printf("MISSING    %s%n", key);
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+        }
+        if (failures > 0) {
+            System.out.printf("%d benchmark(s) can not be compared with the baseline%n", failures);
+        }
+        if (regressions > 0 || failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    //JMH пишет "NaN", если итераций слишком мало для оценки погрешности
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isFinite(error) ? Math.abs(error) : 0;
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
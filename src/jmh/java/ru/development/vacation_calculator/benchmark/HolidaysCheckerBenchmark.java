@@ -0,0 +1,58 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HolidaysCheckerBenchmark {
+    private static final int PERIODS = 1024;
+
+    //размер календаря в годах
+    @Param({"1", "10", "50"})
+    public int years;
+
+    private HolidaysChecker holidaysChecker;
+    private LocalDate[] starts;
+    private LocalDate[] ends;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CalendarSnapshot calendar = BenchmarkCalendars.calendar(years);
+        holidaysChecker = new HolidaysChecker(calendar.getHolidays());
+        Random random = new Random(42);
+        starts = new LocalDate[PERIODS];
+        ends = new LocalDate[PERIODS];
+        LocalDate first = LocalDate.of(BenchmarkCalendars.FIRST_YEAR, 1, 1);
+        for (int i = 0; i < PERIODS; i++) {
+            starts[i] = first.plusDays(random.nextInt(years * 365));
+            ends[i] = starts[i].plusDays(random.nextInt(28));
+        }
+    }
+
+    @Benchmark
+    public int checkNumberOfHolidays() {
+        int i = next++ & (PERIODS - 1);
+        return holidaysChecker.checkNumberOfHolidays(starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public boolean checkIfAHoliday() {
+        int i = next++ & (PERIODS - 1);
+        return holidaysChecker.checkIfAHoliday(starts[i]);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import ru.development.vacation_calculator.VacationCalculatorApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Сквозной путь запроса: через MockMvc (биндинг, валидация, расчет, сериализация без сети)
+ * и через встроенный Tomcat по HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HttpEndpointBenchmark {
+    private static final String QUERY = "/calculate?salary=600000&days=13&start=01-11-2024&end=14-11-2024";
+
+    //0 - кэш результатов выключен
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private HttpClient httpClient;
+    private HttpRequest httpRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(VacationCalculatorApplication.class)
+                .properties("server.port=0",
+                        "logging.level.ru.development.vacation_calculator=WARN",
+                        "logging.level.org.zalando.logbook=WARN",
+                        "calculation.cache.max-size=" + cacheSize)
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newHttpClient();
+        httpRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + QUERY)).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int mockMvc() throws Exception {
+        return mockMvc.perform(get(QUERY)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int embeddedServer() throws Exception {
+        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString()).statusCode();
+    }
+}
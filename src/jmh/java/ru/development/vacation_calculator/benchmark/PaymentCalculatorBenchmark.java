@@ -0,0 +1,46 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+import ru.development.vacation_calculator.service.LegacyDoublePaymentCalculator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaymentCalculatorBenchmark {
+    private static final int INPUTS = 1024;
+
+    private final double[] salaries = new double[INPUTS];
+    private final int[] days = new int[INPUTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < INPUTS; i++) {
+            salaries[i] = random.nextLong(10_000_000L, 1_000_000_000L) / 100.0;
+            days[i] = random.nextInt(1, 29);
+        }
+    }
+
+    @Benchmark
+    public double calculatePaymentDouble() {
+        int i = index++ & (INPUTS - 1);
+        return LegacyDoublePaymentCalculator.calculatePaymentRubles(salaries[i], days[i]);
+    }
+
+    @Benchmark
+    public double calculatePaymentKopecks() {
+        int i = index++ & (INPUTS - 1);
+        return KopeckPaymentCalculator.calculatePayment(salaries[i], days[i]);
+    }
+}
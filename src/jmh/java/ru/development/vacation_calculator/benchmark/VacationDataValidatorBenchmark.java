@@ -0,0 +1,64 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacationDataValidatorBenchmark {
+    private VacationDataValidator vacationDataValidator;
+    private CalendarSnapshot calendar;
+    private VacationData valid;
+    private VacationData invalid;
+
+    @Setup
+    public void setUp() {
+        calendar = BenchmarkCalendars.calendar(1);
+        vacationDataValidator = new VacationDataValidator(Mockito.mock(HolidaysChecker.class));
+        valid = VacationData.builder()
+                .salary(600000.0)
+                .vacationDays(13)
+                .vacationStart(LocalDate.of(2024, Month.NOVEMBER, 1))
+                .vacationEnd(LocalDate.of(2024, Month.NOVEMBER, 14))
+                .build();
+        //праздник 4 ноября не учтен в количестве дней отпуска
+        invalid = VacationData.builder()
+                .salary(600000.0)
+                .vacationDays(14)
+                .vacationStart(LocalDate.of(2024, Month.NOVEMBER, 1))
+                .vacationEnd(LocalDate.of(2024, Month.NOVEMBER, 14))
+                .build();
+    }
+
+    @Benchmark
+    public boolean validateValid() {
+        vacationDataValidator.validate(valid, calendar);
+        return true;
+    }
+
+    @Benchmark
+    public boolean validateInvalid() {
+        try {
+            vacationDataValidator.validate(invalid, calendar);
+            return true;
+        } catch (InvalidVacationDatesException e) {
+            return false;
+        }
+    }
+}
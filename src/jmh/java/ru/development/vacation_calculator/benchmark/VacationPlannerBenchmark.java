@@ -0,0 +1,41 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.VacationPlans;
+import ru.development.vacation_calculator.service.VacationPlanner;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacationPlannerBenchmark {
+    //в 2024 году календаря бенчмарков 352 рабочих дня: 343 дня на 10 частей - верхняя граница, при которой план есть
+    @Param({"28", "176", "343"})
+    private int days;
+
+    @Param({"1", "10"})
+    private int parts;
+
+    private VacationPlanner vacationPlanner;
+    private CalendarSnapshot calendar;
+
+    @Setup
+    public void setUp() {
+        vacationPlanner = new VacationPlanner();
+        calendar = BenchmarkCalendars.calendar(1);
+    }
+
+    @Benchmark
+    public VacationPlans plan() {
+        return vacationPlanner.plan(BenchmarkCalendars.FIRST_YEAR, days, parts, parts == 1 ? 5 : 1, calendar);
+    }
+}
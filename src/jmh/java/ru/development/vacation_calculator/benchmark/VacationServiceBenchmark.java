@@ -0,0 +1,54 @@
+package ru.development.vacation_calculator.benchmark;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.journal.CalculationJournal;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.VacationServiceImpl;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacationServiceBenchmark {
+    private VacationServiceImpl vacationService;
+    private CalendarSnapshot calendar;
+    private VacationData daysOnly;
+    private VacationData dateRange;
+
+    @Setup
+    public void setUp() {
+        calendar = BenchmarkCalendars.calendar(1);
+        vacationService = new VacationServiceImpl(Mockito.mock(HolidaysChecker.class), new CalculationMetrics(),
+                CalculationJournal.DISABLED);
+        daysOnly = VacationData.builder().salary(600000.0).vacationDays(14).build();
+        dateRange = VacationData.builder()
+                .salary(600000.0)
+                .vacationDays(13)
+                .vacationStart(LocalDate.of(2024, Month.NOVEMBER, 1))
+                .vacationEnd(LocalDate.of(2024, Month.NOVEMBER, 14))
+                .build();
+    }
+
+    @Benchmark
+    public double calculateVacationPayDaysOnly() {
+        return vacationService.calculateVacationPay(daysOnly, calendar);
+    }
+
+    @Benchmark
+    public double calculateVacationPayDateRange() {
+        return vacationService.calculateVacationPay(dateRange, calendar);
+    }
+}
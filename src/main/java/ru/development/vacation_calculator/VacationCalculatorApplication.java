@@ -2,12 +2,35 @@ package ru.development.vacation_calculator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.development.vacation_calculator.startup.CommandLineModeListener;
+import ru.development.vacation_calculator.startup.StartupTimelineReporter;
+
+import java.util.Arrays;
 
 @SpringBootApplication
 public class VacationCalculatorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(VacationCalculatorApplication.class, args);
+        SpringApplication application = new SpringApplication(VacationCalculatorApplication.class);
+        //пакетный режим и пересчет журнала определяются по свойствам окружения, а не только по аргументам
+        application.addListeners(new CommandLineModeListener());
+        if (isStartupReportEnabled(args)) {
+            //шаги запуска записываются с самого начала, поэтому включается до создания контекста, а не свойством профиля
+            StartupTimelineReporter reporter = new StartupTimelineReporter();
+            application.setApplicationStartup(reporter.getApplicationStartup());
+            application.addListeners(reporter);
+        }
+        ConfigurableApplicationContext context = application.run(args);
+        if (CommandLineModeListener.isCommandLineMode(context.getEnvironment())) {
+            //после обработки приложение завершается
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private static boolean isStartupReportEnabled(String[] args) {
+        return Boolean.getBoolean(StartupTimelineReporter.ENABLED_PROPERTY)
+                || Arrays.asList(args).contains("--" + StartupTimelineReporter.ENABLED_PROPERTY + "=true");
     }
 
 }
@@ -0,0 +1,200 @@
+package ru.development.vacation_calculator.accrual;
+
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Накопленные неиспользованные дни отпуска и обязательства по ним для всех сотрудников.
+ * Сотрудники хранятся по столбцам в примитивных массивах (индекс сотрудника - номер строки), полный пересчет идет
+ * отдельными циклами по столбцам без ветвлений и создания объектов. Изменение данных одного сотрудника
+ * пересчитывает только его строку и поправляет итоги на разницу.
+ * За каждый полный месяц работы начисляется 28 / 12 дня, накопленные дни округляются вниз до целых;
+ * обязательство - сумма отпускных за неиспользованные дни по формуле KopeckPaymentCalculator.
+ * Экземпляр не потокобезопасен: им владеет одно периодическое задание.
+ */
+public class VacationAccrualEngine {
+    public static final int ANNUAL_VACATION_DAYS = 28;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MAX_DAY_OF_MONTH = 31;
+    private static final int MIN_CAPACITY = 16;
+    //за 200 лет накапливается 5600 дней: промежуточные произведения расчета в копейках остаются в пределах long
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2100;
+
+    //столбцы входных данных
+    private int[] hireMonth;
+    private int[] hireDayOfMonth;
+    private int[] daysTaken;
+    private long[] incomeKopecks;
+    //столбцы результатов
+    private int[] accruedDays;
+    private int[] unusedDays;
+    private long[] liabilityKopecks;
+
+    private int size;
+    private int asOfMonth;
+    private int asOfDayOfMonth;
+    private long totalUnusedDays;
+    private long totalLiabilityKopecks;
+
+    public VacationAccrualEngine(LocalDate asOf, int initialCapacity) {
+        int capacity = Math.max(MIN_CAPACITY, initialCapacity);
+        hireMonth = new int[capacity];
+        hireDayOfMonth = new int[capacity];
+        daysTaken = new int[capacity];
+        incomeKopecks = new long[capacity];
+        accruedDays = new int[capacity];
+        unusedDays = new int[capacity];
+        liabilityKopecks = new long[capacity];
+        setAsOf(asOf);
+    }
+
+    //индекс нового сотрудника
+    public int add(LocalDate hireDate, int daysTaken, double trailingIncome) {
+        int month = monthIndex(hireDate);
+        long income = toKopecks(trailingIncome);
+        checkDaysTaken(daysTaken);
+        if (size == hireMonth.length) {
+            grow();
+        }
+        int employee = size++;
+        set(employee, month, hireDate.getDayOfMonth(), daysTaken, income);
+        return employee;
+    }
+
+    public void update(int employee, LocalDate hireDate, int daysTaken, double trailingIncome) {
+        checkIndex(employee);
+        replace(employee, monthIndex(hireDate), hireDate.getDayOfMonth(), daysTaken, toKopecks(trailingIncome));
+    }
+
+    public void updateDaysTaken(int employee, int daysTaken) {
+        checkIndex(employee);
+        replace(employee, hireMonth[employee], hireDayOfMonth[employee], daysTaken, incomeKopecks[employee]);
+    }
+
+    public void updateIncome(int employee, double trailingIncome) {
+        checkIndex(employee);
+        replace(employee, hireMonth[employee], hireDayOfMonth[employee], daysTaken[employee], toKopecks(trailingIncome));
+    }
+
+    //полный пересчет на новую дату, например на конец следующего месяца
+    public void recalculate(LocalDate asOf) {
+        setAsOf(asOf);
+        accrue(0, size);
+        KopeckPaymentCalculator.calculatePayments(incomeKopecks, unusedDays, liabilityKopecks, 0, size);
+        long days = 0;
+        long liability = 0;
+        for (int i = 0; i < size; i++) {
+            days += unusedDays[i];
+            liability += liabilityKopecks[i];
+        }
+        totalUnusedDays = days;
+        totalLiabilityKopecks = liability;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getAccruedDays(int employee) {
+        checkIndex(employee);
+        return accruedDays[employee];
+    }
+
+    public int getUnusedDays(int employee) {
+        checkIndex(employee);
+        return unusedDays[employee];
+    }
+
+    public double getLiability(int employee) {
+        checkIndex(employee);
+        return KopeckPaymentCalculator.toRubles(liabilityKopecks[employee]);
+    }
+
+    public long getTotalUnusedDays() {
+        return totalUnusedDays;
+    }
+
+    public double getTotalLiability() {
+        return KopeckPaymentCalculator.toRubles(totalLiabilityKopecks);
+    }
+
+    //пересчет одной строки: итоги поправляются на разницу между старым и новым результатом
+    private void replace(int employee, int month, int dayOfMonth, int taken, long income) {
+        checkDaysTaken(taken);
+        totalUnusedDays -= unusedDays[employee];
+        totalLiabilityKopecks -= liabilityKopecks[employee];
+        set(employee, month, dayOfMonth, taken, income);
+    }
+
+    private void set(int employee, int month, int dayOfMonth, int taken, long income) {
+        hireMonth[employee] = month;
+        hireDayOfMonth[employee] = dayOfMonth;
+        daysTaken[employee] = taken;
+        incomeKopecks[employee] = income;
+        accrue(employee, employee + 1);
+        KopeckPaymentCalculator.calculatePayments(incomeKopecks, unusedDays, liabilityKopecks, employee, employee + 1);
+        totalUnusedDays += unusedDays[employee];
+        totalLiabilityKopecks += liabilityKopecks[employee];
+    }
+
+    private void accrue(int from, int to) {
+        int month = asOfMonth;
+        int dayOfMonth = asOfDayOfMonth;
+        for (int i = from; i < to; i++) {
+            //месяц работы полный, если на дату расчета наступил тот же день месяца, что и день приема,
+            //или закончился месяц, в котором такого дня нет (прием 31 января - месяц полный 29 февраля)
+            int fullMonths = month - hireMonth[i] - (dayOfMonth < hireDayOfMonth[i] ? 1 : 0);
+            accruedDays[i] = Math.max(0, fullMonths) * ANNUAL_VACATION_DAYS / MONTHS_PER_YEAR;
+        }
+        for (int i = from; i < to; i++) {
+            unusedDays[i] = Math.max(0, accruedDays[i] - daysTaken[i]);
+        }
+    }
+
+    private void setAsOf(LocalDate asOf) {
+        asOfMonth = monthIndex(asOf);
+        //последний день месяца не меньше любого дня приема
+        asOfDayOfMonth = asOf.getDayOfMonth() == asOf.lengthOfMonth() ? MAX_DAY_OF_MONTH : asOf.getDayOfMonth();
+    }
+
+    private void grow() {
+        int capacity = hireMonth.length * 2;
+        hireMonth = Arrays.copyOf(hireMonth, capacity);
+        hireDayOfMonth = Arrays.copyOf(hireDayOfMonth, capacity);
+        daysTaken = Arrays.copyOf(daysTaken, capacity);
+        incomeKopecks = Arrays.copyOf(incomeKopecks, capacity);
+        accruedDays = Arrays.copyOf(accruedDays, capacity);
+        unusedDays = Arrays.copyOf(unusedDays, capacity);
+        liabilityKopecks = Arrays.copyOf(liabilityKopecks, capacity);
+    }
+
+    private void checkIndex(int employee) {
+        if (employee < 0 || employee >= size) {
+            throw new IndexOutOfBoundsException("Сотрудник " + employee + " не найден, всего сотрудников " + size);
+        }
+    }
+
+    private static int monthIndex(LocalDate date) {
+        if (date.getYear() < MIN_YEAR || date.getYear() > MAX_YEAR) {
+            throw new IllegalArgumentException("Дата " + date + " вне допустимого диапазона " + MIN_YEAR + "-" + MAX_YEAR);
+        }
+        return date.getYear() * MONTHS_PER_YEAR + date.getMonthValue() - 1;
+    }
+
+    private static void checkDaysTaken(int daysTaken) {
+        if (daysTaken < 0) {
+            throw new IllegalArgumentException("Неверно указано количество использованных дней отпуска");
+        }
+    }
+
+    private static long toKopecks(double trailingIncome) {
+        long income = KopeckPaymentCalculator.toKopecks(trailingIncome);
+        if (income < 0 || income > KopeckPaymentCalculator.MAX_BULK_SALARY_KOPECKS) {
+            throw new IllegalArgumentException("Неверно указан доход сотрудника за 12 месяцев");
+        }
+        return income;
+    }
+}
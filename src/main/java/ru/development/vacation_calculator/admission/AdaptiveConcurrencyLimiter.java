@@ -0,0 +1,89 @@
+package ru.development.vacation_calculator.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Общее ограничение числа одновременно обрабатываемых запросов, подстраиваемое по задержке (AIMD).
+ * Пока ответы укладываются в целевую задержку, лимит растет на единицу за каждые limit завершенных запросов;
+ * при превышении он умножается на backoffRatio, но не чаще одного раза за целевую задержку, чтобы одна пачка
+ * медленных ответов не обрушила лимит до минимума.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicInteger successes = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long targetLatencyNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Должно выполняться 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Коэффициент снижения лимита должен быть в интервале (0, 1)");
+        }
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.lastDecreaseNanos = new AtomicLong(System.nanoTime() - targetLatencyNanos);
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            decrease(nowNanos);
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            //при малой нагрузке задержка ничего не говорит о пределе сервера, и лимит не растет
+            increase();
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void increase() {
+        int current = limit.get();
+        if (successes.incrementAndGet() >= current) {
+            successes.set(0);
+            if (current < maxLimit) {
+                limit.compareAndSet(current, current + 1);
+            }
+        }
+    }
+
+    private void decrease(long nowNanos) {
+        long last = lastDecreaseNanos.get();
+        if (nowNanos - last < targetLatencyNanos || !lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        successes.set(0);
+    }
+}
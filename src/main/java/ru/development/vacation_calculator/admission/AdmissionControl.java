@@ -0,0 +1,154 @@
+package ru.development.vacation_calculator.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Допуск запросов к расчету: сначала лимит частоты клиента (ключ API из заголовка, иначе IP-адрес),
+ * затем общий адаптивный лимит одновременных запросов. Клиент, превысивший свою частоту, не занимает места
+ * в общем лимите и не мешает остальным. Потоковые пакетные запросы всегда дольше целевой задержки, поэтому
+ * не участвуют в адаптивном лимите и не снижают его, а ограничены своим постоянным числом одновременных запросов.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class AdmissionControl {
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int maxStreaming;
+    private final AtomicInteger streamingInFlight = new AtomicInteger();
+    private final String clientHeader;
+    private final LongAdder[] decisions = new LongAdder[Decision.values().length];
+
+    @Autowired
+    public AdmissionControl(@Value("${admission.client-header:X-API-Key}") String clientHeader,
+                            @Value("${admission.rate-limit.requests-per-second:500}") double requestsPerSecond,
+                            @Value("${admission.rate-limit.burst:1000}") int burst,
+                            @Value("${admission.rate-limit.buckets:4096}") int buckets,
+                            @Value("${admission.concurrency.initial-limit:64}") int initialLimit,
+                            @Value("${admission.concurrency.min-limit:8}") int minLimit,
+                            @Value("${admission.concurrency.max-limit:1024}") int maxLimit,
+                            @Value("${admission.concurrency.target-latency-millis:50}") long targetLatencyMillis,
+                            @Value("${admission.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                            @Value("${admission.streaming.max-concurrent:16}") int maxStreaming) {
+        this(clientHeader, new TokenBucketRateLimiter(requestsPerSecond, burst, buckets),
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                        TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis), backoffRatio), maxStreaming);
+        log.info("Admission control: {} rps per client (burst {}, {} buckets), concurrency limit {} in [{}, {}], "
+                        + "target latency {} ms, streaming limit {}", requestsPerSecond, burst,
+                rateLimiter.getBucketCount(), initialLimit, minLimit, maxLimit, targetLatencyMillis, maxStreaming);
+    }
+
+    AdmissionControl(String clientHeader, TokenBucketRateLimiter rateLimiter,
+                     AdaptiveConcurrencyLimiter concurrencyLimiter, int maxStreaming) {
+        if (maxStreaming < 1) {
+            throw new IllegalArgumentException("Лимит одновременных потоковых запросов должен быть положительным");
+        }
+        this.clientHeader = clientHeader;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.maxStreaming = maxStreaming;
+        for (int i = 0; i < decisions.length; i++) {
+            decisions[i] = new LongAdder();
+        }
+    }
+
+    //при ACCEPTED вызывающий обязан вызвать complete после обработки запроса
+    public Decision admit(HttpServletRequest request) {
+        Decision decision;
+        if (!rateLimiter.tryAcquire(clientKey(request).hashCode())) {
+            decision = Decision.RATE_LIMITED;
+        } else if (!concurrencyLimiter.tryAcquire()) {
+            decision = Decision.OVERLOADED;
+        } else {
+            decision = Decision.ACCEPTED;
+        }
+        decisions[decision.ordinal()].increment();
+        return decision;
+    }
+
+    //потоковый пакетный запрос; при ACCEPTED вызывающий обязан вызвать completeStreaming после обработки
+    public Decision admitStreaming(HttpServletRequest request) {
+        Decision decision;
+        if (!rateLimiter.tryAcquire(clientKey(request).hashCode())) {
+            decision = Decision.RATE_LIMITED;
+        } else if (!tryAcquireStreaming()) {
+            decision = Decision.OVERLOADED;
+        } else {
+            decision = Decision.ACCEPTED;
+        }
+        decisions[decision.ordinal()].increment();
+        return decision;
+    }
+
+    //startNanos - значение System.nanoTime() при допуске запроса
+    public void complete(long startNanos) {
+        concurrencyLimiter.release(System.nanoTime() - startNanos);
+    }
+
+    public void completeStreaming() {
+        streamingInFlight.decrementAndGet();
+    }
+
+    public long getDecisions(Decision decision) {
+        return decisions[decision.ordinal()].sum();
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        writer.write("# HELP vacation_admission_requests_total Requests by admission control decision\n");
+        writer.write("# TYPE vacation_admission_requests_total counter\n");
+        for (Decision decision : Decision.values()) {
+            writer.write("vacation_admission_requests_total{decision=\"");
+            writer.write(decision.name().toLowerCase(Locale.ROOT));
+            writer.write("\"} ");
+            writer.write(Long.toString(getDecisions(decision)));
+            writer.write('\n');
+        }
+        writer.write("# HELP vacation_admission_concurrency_limit Current adaptive concurrency limit\n");
+        writer.write("# TYPE vacation_admission_concurrency_limit gauge\n");
+        writer.write("vacation_admission_concurrency_limit " + concurrencyLimiter.getLimit() + "\n");
+        writer.write("# HELP vacation_admission_in_flight Requests currently being processed\n");
+        writer.write("# TYPE vacation_admission_in_flight gauge\n");
+        writer.write("vacation_admission_in_flight " + concurrencyLimiter.getInFlight() + "\n");
+        writer.write("# HELP vacation_admission_streaming_in_flight Streaming batch requests currently being processed\n");
+        writer.write("# TYPE vacation_admission_streaming_in_flight gauge\n");
+        writer.write("vacation_admission_streaming_in_flight " + streamingInFlight.get() + "\n");
+    }
+
+    private boolean tryAcquireStreaming() {
+        int current;
+        do {
+            current = streamingInFlight.get();
+            if (current >= maxStreaming) {
+                return false;
+            }
+        } while (!streamingInFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        return apiKey != null ? apiKey : request.getRemoteAddr();
+    }
+
+    public enum Decision {
+        ACCEPTED,
+        RATE_LIMITED,
+        OVERLOADED
+    }
+}
@@ -0,0 +1,39 @@
+package ru.development.vacation_calculator.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    //интерактивные расчеты: лимит частоты на клиента и общий адаптивный лимит одновременных запросов
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControl admissionControl) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl, false));
+        registration.setName("admissionControlFilter");
+        registration.addUrlPatterns("/calculate", "/calculate/year", "/plan");
+        //раньше фильтра Logbook, у которого самый низкий приоритет
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    //пакетные запросы заведомо дольше целевой задержки: их длительность не должна снижать лимит интерактивных
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> streamingAdmissionControlFilter(
+            AdmissionControl admissionControl) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl, true));
+        //без явного имени оба фильтра получили бы имя по классу, и второй не был бы зарегистрирован
+        registration.setName("streamingAdmissionControlFilter");
+        registration.addUrlPatterns("/calculate/batch", "/calculate/binary");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.development.vacation_calculator.admission;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Фильтр допуска, стоящий первым в цепочке: отклоненный запрос получает 429 с заранее подготовленным телом
+ * до логирования Logbook, привязки параметров и проверки данных. Экземпляр для потоковых пакетных запросов
+ * (streaming) допускает их по отдельному постоянному лимиту, не затрагивая адаптивный.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter implements Filter {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"message\":\"Превышена допустимая частота запросов, повторите запрос позже\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OVERLOADED_BODY =
+            "{\"message\":\"Сервис перегружен, повторите запрос позже\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionControl admissionControl;
+    private final boolean streaming;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl) {
+        this(admissionControl, false);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        AdmissionControl.Decision decision = streaming
+                ? admissionControl.admitStreaming((HttpServletRequest) request)
+                : admissionControl.admit((HttpServletRequest) request);
+        if (decision != AdmissionControl.Decision.ACCEPTED) {
+            reject((HttpServletResponse) response,
+                    decision == AdmissionControl.Decision.RATE_LIMITED ? RATE_LIMITED_BODY : OVERLOADED_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (streaming) {
+                admissionControl.completeStreaming();
+            } else {
+                admissionControl.complete(start);
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, byte[] body) throws IOException {
+        response.setStatus(TOO_MANY_REQUESTS);
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        ServletOutputStream output = response.getOutputStream();
+        output.write(body);
+        output.flush();
+    }
+}
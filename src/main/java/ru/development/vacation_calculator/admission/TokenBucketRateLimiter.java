@@ -0,0 +1,61 @@
+package ru.development.vacation_calculator.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ограничение частоты запросов по клиентам. Корзина токенов реализована алгоритмом GCRA: состояние корзины - одно
+ * число (теоретическое время следующего запроса), поэтому оно обновляется одним CAS без блокировок.
+ * Клиенты раскладываются по фиксированному числу корзин по хешу ключа, и память не растет с числом клиентов;
+ * клиенты, попавшие в одну корзину, делят ее лимит.
+ */
+public class TokenBucketRateLimiter {
+    //корзины разнесены по разным кэш-линиям, чтобы CAS клиентов из соседних корзин не мешали друг другу
+    private static final int SLOT_STRIDE = 8;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    //время отсчитывается от создания, чтобы нулевое начальное значение корзины означало полную корзину
+    private final long originNanos = System.nanoTime();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int bucketCount) {
+        if (permitsPerSecond <= 0 || burst < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("Частота, размер всплеска и число корзин должны быть положительными");
+        }
+        int size = bucketCount == 1 ? 1 : Integer.highestOneBit(bucketCount - 1) << 1;
+        this.buckets = new AtomicLongArray(size * SLOT_STRIDE);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000 / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    public boolean tryAcquire(int clientHash) {
+        return tryAcquire(clientHash, System.nanoTime() - originNanos);
+    }
+
+    //nowNanos - время от создания ограничителя
+    boolean tryAcquire(int clientHash, long nowNanos) {
+        int index = (spread(clientHash) & mask) * SLOT_STRIDE;
+        while (true) {
+            long theoreticalArrival = buckets.get(index);
+            long next = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+            //в корзине не осталось токенов: следующий запрос клиента ушел бы дальше допустимого всплеска
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (buckets.compareAndSet(index, theoreticalArrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getBucketCount() {
+        return mask + 1;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
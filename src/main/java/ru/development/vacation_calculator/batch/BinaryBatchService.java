@@ -0,0 +1,164 @@
+package ru.development.vacation_calculator.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+import ru.development.vacation_calculator.service.VacationService;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+import ru.development.vacation_calculator.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.NOT_SET;
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.REQUEST_SIZE;
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.RESPONSE_SIZE;
+
+/**
+ * Пакетный расчет в бинарном формате {@link BinaryRecordCodec} для внутренних сервисов.
+ * Записи читаются порциями в буфер, результаты пишутся в буфер той же порцией. Буферы в куче: потоки сервлета
+ * читают и пишут byte[], и прямой буфер добавил бы копирование на каждой порции. Буферы переиспользуются между
+ * запросами, в пуле хранится не больше pooledBuffers пар. Расчет и проверка - те же, что у JSON-эндпоинтов.
+ */
+@Service
+@Slf4j
+public class BinaryBatchService {
+    private final VacationService vacationService;
+    private final VacationDataValidator vacationDataValidator;
+    private final CalculationMetrics calculationMetrics;
+    private final int recordsPerChunk;
+    private final Queue<ChunkBuffers> buffersPool;
+
+    public BinaryBatchService(VacationService vacationService,
+                              VacationDataValidator vacationDataValidator,
+                              CalculationMetrics calculationMetrics,
+                              @Value("${batch.binary.records-per-chunk:4096}") int recordsPerChunk,
+                              @Value("${batch.binary.pooled-buffers:16}") int pooledBuffers) {
+        this.vacationService = vacationService;
+        this.vacationDataValidator = vacationDataValidator;
+        this.calculationMetrics = calculationMetrics;
+        this.recordsPerChunk = recordsPerChunk;
+        this.buffersPool = new ArrayBlockingQueue<>(pooledBuffers);
+    }
+
+    public long calculate(InputStream input, OutputStream output, CalendarSnapshot calendar) throws IOException {
+        ChunkBuffers buffers = buffersPool.poll();
+        if (buffers == null) {
+            buffers = new ChunkBuffers(recordsPerChunk);
+        }
+        try {
+            long processed = calculate(input, output, calendar, buffers);
+            log.debug("Binary batch of {} records calculated with calendar version {}", processed, calendar.getVersion());
+            return processed;
+        } finally {
+            //пул полон - буферы остаются сборщику мусора
+            buffersPool.offer(buffers);
+        }
+    }
+
+    private long calculate(InputStream input, OutputStream output, CalendarSnapshot calendar,
+                           ChunkBuffers buffers) throws IOException {
+        ByteBuffer in = buffers.input;
+        ByteBuffer out = buffers.output;
+        //запись переиспользуется: в кэш расчетов она не попадает, ссылки на нее нигде не сохраняются
+        VacationData vacationData = new VacationData();
+        ValidationResult validationResult = new ValidationResult();
+        long processed = 0;
+        boolean endOfInput = false;
+        in.clear();
+        while (!endOfInput) {
+            endOfInput = fill(input, in);
+            int records = in.position() / REQUEST_SIZE;
+            int outputSize = records * RESPONSE_SIZE;
+            for (int i = 0; i < records; i++) {
+                calculate(in, i * REQUEST_SIZE, out, i * RESPONSE_SIZE, vacationData, validationResult, calendar);
+            }
+            int tail = in.position() - records * REQUEST_SIZE;
+            if (endOfInput && tail > 0) {
+                BinaryRecordCodec.putResponse(out, outputSize, 0, BinaryRecordCodec.STATUS_TRUNCATED_RECORD, tail);
+                outputSize += RESPONSE_SIZE;
+            }
+            //недочитанный хвост записи переносится в начало буфера
+            in.limit(in.position()).position(records * REQUEST_SIZE);
+            in.compact();
+            output.write(out.array(), out.arrayOffset(), outputSize);
+            processed += records;
+        }
+        return processed;
+    }
+
+    //читает до заполнения буфера или конца входных данных, true - входные данные закончились
+    private boolean fill(InputStream input, ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            int read = input.read(in.array(), in.arrayOffset() + in.position(), in.remaining());
+            if (read < 0) {
+                return true;
+            }
+            in.position(in.position() + read);
+        }
+        return false;
+    }
+
+    private void calculate(ByteBuffer in, int inOffset, ByteBuffer out, int outOffset,
+                           VacationData vacationData, ValidationResult validationResult, CalendarSnapshot calendar) {
+        long salaryKopecks = BinaryRecordCodec.salaryKopecks(in, inOffset);
+        int vacationDays = BinaryRecordCodec.vacationDays(in, inOffset);
+        if (!KopeckPaymentCalculator.isValidSalary(salaryKopecks)) {
+            BinaryRecordCodec.putResponse(out, outOffset, 0, BinaryRecordCodec.STATUS_INVALID_SALARY, 0);
+            return;
+        }
+        if (vacationDays != NOT_SET && vacationDays < 1) {
+            BinaryRecordCodec.putResponse(out, outOffset, 0, BinaryRecordCodec.STATUS_INVALID_DAYS, vacationDays);
+            return;
+        }
+        vacationData.setSalary(KopeckPaymentCalculator.toRubles(salaryKopecks));
+        vacationData.setVacationDays(vacationDays == NOT_SET ? null : vacationDays);
+        vacationData.setVacationStart(toDate(BinaryRecordCodec.vacationStart(in, inOffset)));
+        vacationData.setVacationEnd(toDate(BinaryRecordCodec.vacationEnd(in, inOffset)));
+        calculationMetrics.countCalculation(vacationData);
+
+        long validationStart = System.nanoTime();
+        ValidationResult result = vacationDataValidator.check(vacationData, calendar, validationResult);
+        calculationMetrics.recordStage(CalculationMetrics.Stage.VALIDATION, validationStart);
+        if (!result.isValid()) {
+            calculationMetrics.countRejection(result);
+            BinaryRecordCodec.putResponse(out, outOffset, 0, BinaryRecordCodec.statusOf(result.getError()),
+                    (int) result.getArgument(0));
+            return;
+        }
+        double vacationPayment;
+        try {
+            vacationPayment = vacationService.calculateVacationPay(vacationData, calendar);
+        } catch (InvalidVacationDatesException e) {
+            BinaryRecordCodec.putResponse(out, outOffset, 0, BinaryRecordCodec.STATUS_PAYMENT_TOO_LARGE, 0);
+            return;
+        }
+        BinaryRecordCodec.putResponse(out, outOffset, KopeckPaymentCalculator.toKopecks(vacationPayment),
+                BinaryRecordCodec.STATUS_OK, 0);
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NOT_SET ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static class ChunkBuffers {
+        private final ByteBuffer input;
+        //на одну запись больше: ответ на обрезанный хвост входных данных
+        private final ByteBuffer output;
+
+        private ChunkBuffers(int records) {
+            this.input = ByteBuffer.allocate(records * REQUEST_SIZE);
+            this.output = ByteBuffer.allocate((records + 1) * RESPONSE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.development.vacation_calculator.batch;
+
+import ru.development.vacation_calculator.validation.ValidationError;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Формат записей бинарного пакетного расчета. Все поля фиксированной длины, порядок байт сетевой (big-endian),
+ * поэтому запись читается и пишется по смещению прямо в буфере, без промежуточных массивов и строк.
+ * <pre>
+ * запрос, 24 байта:  long зарплата в копейках | int дней отпуска | int начало (epoch day) | int окончание (epoch day) | int резерв
+ * ответ, 16 байт:    long отпускные в копейках | int статус | int деталь (первый аргумент ошибки проверки)
+ * </pre>
+ * Коды статуса закреплены за ошибками явно и не меняются при изменении порядка ValidationError:
+ * <pre>
+ *  0 - расчет выполнен                         16 - не указаны дни или период (DAYS_OR_PERIOD_NOT_SET)
+ *  1 - неверная зарплата                       17 - календарь на год не загружен (CALENDAR_NOT_AVAILABLE)
+ *  2 - неверное число дней                     18 - отпуск начинается с праздника (STARTS_WITH_HOLIDAY)
+ *  3 - обрезанная последняя запись             19 - неверный период (INVALID_PERIOD)
+ *  4 - отпускные не помещаются в long          20 - дней больше, чем в периоде (DAYS_MORE_THAN_PERIOD)
+ *                                              21 - дней меньше, чем в периоде (DAYS_FEWER_THAN_PERIOD)
+ *                                              22 - дни не совпадают с периодом за вычетом праздников
+ *                                                   (DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS)
+ * </pre>
+ */
+public final class BinaryRecordCodec {
+    public static final int REQUEST_SIZE = 24;
+    public static final int RESPONSE_SIZE = 16;
+    //значение необязательного поля (дни, начало, окончание), которое не указано
+    public static final int NOT_SET = Integer.MIN_VALUE;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_INVALID_SALARY = 1;
+    public static final int STATUS_INVALID_DAYS = 2;
+    //в конце тела осталось меньше REQUEST_SIZE байт, деталь - число лишних байт
+    public static final int STATUS_TRUNCATED_RECORD = 3;
+    //отпускные при такой зарплате и числе дней не помещаются в long
+    public static final int STATUS_PAYMENT_TOO_LARGE = 4;
+    //ошибки проверки дат, см. statusOf
+    public static final int STATUS_DAYS_OR_PERIOD_NOT_SET = 16;
+    public static final int STATUS_CALENDAR_NOT_AVAILABLE = 17;
+    public static final int STATUS_STARTS_WITH_HOLIDAY = 18;
+    public static final int STATUS_INVALID_PERIOD = 19;
+    public static final int STATUS_DAYS_MORE_THAN_PERIOD = 20;
+    public static final int STATUS_DAYS_FEWER_THAN_PERIOD = 21;
+    public static final int STATUS_DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS = 22;
+
+    private static final int SALARY_OFFSET = 0;
+    private static final int DAYS_OFFSET = 8;
+    private static final int START_OFFSET = 12;
+    private static final int END_OFFSET = 16;
+    private static final int PAYMENT_OFFSET = 0;
+    private static final int STATUS_OFFSET = 8;
+    private static final int DETAIL_OFFSET = 12;
+
+    private BinaryRecordCodec() {
+    }
+
+    public static long salaryKopecks(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SALARY_OFFSET);
+    }
+
+    public static int vacationDays(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + DAYS_OFFSET);
+    }
+
+    public static int vacationStart(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + START_OFFSET);
+    }
+
+    public static int vacationEnd(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + END_OFFSET);
+    }
+
+    public static void putRequest(ByteBuffer buffer, int offset, long salaryKopecks, int vacationDays,
+                                  int vacationStart, int vacationEnd) {
+        buffer.putLong(offset + SALARY_OFFSET, salaryKopecks)
+                .putInt(offset + DAYS_OFFSET, vacationDays)
+                .putInt(offset + START_OFFSET, vacationStart)
+                .putInt(offset + END_OFFSET, vacationEnd)
+                .putInt(offset + END_OFFSET + Integer.BYTES, 0);
+    }
+
+    public static void putResponse(ByteBuffer buffer, int offset, long paymentKopecks, int status, int detail) {
+        buffer.putLong(offset + PAYMENT_OFFSET, paymentKopecks)
+                .putInt(offset + STATUS_OFFSET, status)
+                .putInt(offset + DETAIL_OFFSET, detail);
+    }
+
+    public static long paymentKopecks(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + PAYMENT_OFFSET);
+    }
+
+    public static int status(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + STATUS_OFFSET);
+    }
+
+    public static int detail(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + DETAIL_OFFSET);
+    }
+
+    public static int statusOf(ValidationError error) {
+        switch (error) {
+            case DAYS_OR_PERIOD_NOT_SET:
+                return STATUS_DAYS_OR_PERIOD_NOT_SET;
+            case CALENDAR_NOT_AVAILABLE:
+                return STATUS_CALENDAR_NOT_AVAILABLE;
+            case STARTS_WITH_HOLIDAY:
+                return STATUS_STARTS_WITH_HOLIDAY;
+            case INVALID_PERIOD:
+                return STATUS_INVALID_PERIOD;
+            case DAYS_MORE_THAN_PERIOD:
+                return STATUS_DAYS_MORE_THAN_PERIOD;
+            case DAYS_FEWER_THAN_PERIOD:
+                return STATUS_DAYS_FEWER_THAN_PERIOD;
+            case DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS:
+                return STATUS_DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS;
+            default:
+                throw new IllegalArgumentException("Для ошибки проверки " + error + " не задан код статуса");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.development.vacation_calculator.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Чтение строк UTF-8 с ограничением длины: в памяти держится не больше maxLineBytes байт строки. Строка длиннее
+ * ограничения не собирается, а пропускается до следующего перевода строки и отмечается признаком {@link #isTooLong()}.
+ */
+final class BoundedLineReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_LINE_SIZE = 256;
+
+    private final InputStream input;
+    private final int maxLineBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[INITIAL_LINE_SIZE];
+    private int length;
+    private boolean tooLong;
+    private long lineNumber;
+
+    BoundedLineReader(InputStream input, int maxLineBytes) {
+        if (maxLineBytes < 1) {
+            throw new IllegalArgumentException("Максимальная длина строки должна быть положительной");
+        }
+        this.input = input;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    //переходит к следующей строке; false, если поток закончился
+    boolean next() throws IOException {
+        length = 0;
+        tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                int count = input.read(buffer, 0, buffer.length);
+                if (count < 0) {
+                    if (read) {
+                        lineNumber++;
+                    }
+                    return read;
+                }
+                position = 0;
+                limit = count;
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            append(start, position - start);
+            if (position < limit) {
+                position++;
+                lineNumber++;
+                return true;
+            }
+        }
+    }
+
+    //строка без перевода строки; у слишком длинной строки содержимого нет
+    String line() {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return new String(line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    //номер текущей строки, начиная с 1
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    int getMaxLineBytes() {
+        return maxLineBytes;
+    }
+
+    private void append(int start, int count) {
+        if (tooLong || count == 0) {
+            return;
+        }
+        if (count > maxLineBytes - length) {
+            tooLong = true;
+            length = 0;
+            return;
+        }
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.min(maxLineBytes, Math.max(line.length * 2, length + count)));
+        }
+        System.arraycopy(buffer, start, line, length, count);
+        length += count;
+    }
+}
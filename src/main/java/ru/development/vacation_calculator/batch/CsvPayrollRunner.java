@@ -0,0 +1,207 @@
+package ru.development.vacation_calculator.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Консольный режим расчета отпускных по CSV-выгрузке из HR-системы.
+ * Файл читается порциями по chunkSize строк, порции считаются параллельно, результат пишется в исходном порядке.
+ * В работе одновременно не больше windowRows строк, окно исполнителя пересчитывается из строк в порции.
+ * Формат входа: salary,days,start,end (даты в формате dd-MM-yyyy, пустое поле - значение не задано).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty("payroll.csv.input")
+public class CsvPayrollRunner implements ApplicationRunner {
+    public static final String INPUT_PROPERTY = "payroll.csv.input";
+    private static final String INPUT_HEADER = "salary,days,start,end";
+    private static final String OUTPUT_HEADER = INPUT_HEADER + ",payment,error";
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+
+    private final VacationBatchService vacationBatchService;
+    private final HolidaysChecker holidaysChecker;
+    private final OrderedBatchExecutor batchExecutor;
+
+    @Value("${payroll.csv.input}")
+    private String input;
+
+    @Value("${payroll.csv.output:}")
+    private String output;
+
+    @Value("${payroll.csv.chunk-size:4096}")
+    private int chunkSize;
+
+    @Value("${payroll.csv.window-rows:65536}")
+    private int windowRows;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path inputPath = Paths.get(input);
+        Path outputPath = output.isEmpty() ? Paths.get(input + ".result.csv") : Paths.get(output);
+        CalendarSnapshot calendar = holidaysChecker.currentCalendar();
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        try (BufferedReader reader = new BufferedReader(Files.newBufferedReader(inputPath, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+             BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            writer.write(OUTPUT_HEADER);
+            writer.newLine();
+            AtomicLong lineNumber = new AtomicLong();
+            int windowChunks = Math.max(1, windowRows / chunkSize);
+            batchExecutor.execute(() -> readChunk(reader, lineNumber),
+                    chunk -> calculateChunk(chunk, calendar),
+                    (chunk, e) -> failChunk(chunk),
+                    new OrderedBatchExecutor.BatchWriter<>() {
+                        @Override
+                        public void write(CsvChunk chunk) throws IOException {
+                            writer.write(chunk.output);
+                            rows.addAndGet(chunk.rows);
+                        }
+
+                        @Override
+                        public void flush() {
+                            //BufferedWriter сбрасывает данные сам по заполнении буфера
+                        }
+                    }, windowChunks);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        log.info("Payroll CSV {} processed: {} rows in {} s, {} rows/sec, result written to {}", inputPath, rows.get(),
+                String.format("%.3f", seconds), String.format("%.0f", rows.get() / Math.max(seconds, 1e-9)), outputPath);
+    }
+
+    private CsvChunk readChunk(BufferedReader reader, AtomicLong lineNumber) throws IOException {
+        List<String> lines = new ArrayList<>(chunkSize);
+        long firstLine = lineNumber.get() + 1;
+        String line;
+        while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+            if (lineNumber.incrementAndGet() == 1 && line.startsWith(INPUT_HEADER)) {
+                firstLine++;
+                continue;
+            }
+            lines.add(line);
+        }
+        return lines.isEmpty() ? null : new CsvChunk(firstLine, lines);
+    }
+
+    private CsvChunk calculateChunk(CsvChunk chunk, CalendarSnapshot calendar) {
+        StringBuilder result = new StringBuilder(chunk.lines.size() * 64);
+        long line = chunk.firstLine;
+        int rows = 0;
+        for (String row : chunk.lines) {
+            if (!row.isBlank()) {
+                result.append(row).append(',');
+                BatchCalculationResult calculationResult;
+                try {
+                    calculationResult = calculateRow(row, line, calendar);
+                } catch (RuntimeException e) {
+                    log.warn("Unexpected error while calculating payroll CSV line {}", line, e);
+                    calculationResult = BatchCalculationResult.failure(line, VacationBatchService.UNEXPECTED_ERROR_MESSAGE);
+                }
+                appendResult(result, calculationResult);
+                result.append('\n');
+                rows++;
+            }
+            line++;
+        }
+        chunk.output = result.toString();
+        chunk.rows = rows;
+        chunk.lines = null;
+        return chunk;
+    }
+
+    //порция, расчет которой упал вне расчета строк: каждая строка получает ошибку, следующие порции считаются дальше
+    private static CsvChunk failChunk(CsvChunk chunk) {
+        StringBuilder result = new StringBuilder();
+        long line = chunk.firstLine;
+        int rows = 0;
+        for (String row : chunk.lines) {
+            if (!row.isBlank()) {
+                result.append(row).append(',');
+                appendResult(result, BatchCalculationResult.failure(line, VacationBatchService.UNEXPECTED_ERROR_MESSAGE));
+                result.append('\n');
+                rows++;
+            }
+            line++;
+        }
+        chunk.output = result.toString();
+        chunk.rows = rows;
+        chunk.lines = null;
+        return chunk;
+    }
+
+    private BatchCalculationResult calculateRow(String row, long line, CalendarSnapshot calendar) {
+        String[] fields = row.split(",", -1);
+        if (fields.length != 4) {
+            return BatchCalculationResult.failure(line, "Некорректная запись: ожидается 4 поля, получено " + fields.length);
+        }
+        VacationData vacationData;
+        try {
+            vacationData = new VacationData(parseSalary(fields[0]), parseDays(fields[1]), parseDate(fields[2]), parseDate(fields[3]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return BatchCalculationResult.failure(line, "Некорректная запись: " + e.getMessage());
+        }
+        if (vacationData.getSalary() == null || !KopeckPaymentCalculator.isValidSalary(vacationData.getSalary())) {
+            return BatchCalculationResult.failure(line, "Неверно указана зарплата сотрудника");
+        }
+        if (vacationData.getVacationDays() != null && vacationData.getVacationDays() < 1) {
+            return BatchCalculationResult.failure(line, "Неверно указано количество дней отпуска");
+        }
+        return vacationBatchService.calculate(vacationData, line, calendar);
+    }
+
+    private static void appendResult(StringBuilder result, BatchCalculationResult calculationResult) {
+        if (calculationResult.getPayment() != null) {
+            result.append(calculationResult.getPayment()).append(',');
+        } else {
+            result.append(",\"").append(calculationResult.getError().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static Double parseSalary(String field) {
+        return field.isBlank() ? null : Double.valueOf(field.trim());
+    }
+
+    private static Integer parseDays(String field) {
+        return field.isBlank() ? null : Integer.valueOf(field.trim());
+    }
+
+    private static LocalDate parseDate(String field) {
+        return field.isBlank() ? null : LocalDate.parse(field.trim(), Constants.DATE_PATTERN);
+    }
+
+    private static class CsvChunk {
+        private final long firstLine;
+        private List<String> lines;
+        private String output;
+        private int rows;
+
+        private CsvChunk(long firstLine, List<String> lines) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+    }
+}
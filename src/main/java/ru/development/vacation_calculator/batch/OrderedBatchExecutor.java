@@ -0,0 +1,127 @@
+package ru.development.vacation_calculator.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Параллельная обработка потока записей с сохранением порядка результатов.
+ * В работе одновременно не больше windowSize записей, поэтому потребление памяти не зависит от размера входа.
+ * Непредвиденное исключение задачи не обрывает поток: вместо результата записи пишется результат onFailure.
+ */
+@Component
+@Slf4j
+public class OrderedBatchExecutor {
+    private final ExecutorService executor;
+    private final int windowSize;
+
+    public OrderedBatchExecutor(@Value("${batch.threads:0}") int threads,
+                                @Value("${batch.window-size:256}") int windowSize) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize, new BatchThreadFactory());
+        this.windowSize = windowSize;
+        log.info("Batch executor started with {} threads, window size {}", poolSize, windowSize);
+    }
+
+    public <I, R> long execute(BatchReader<I> reader, Function<I, R> task, BiFunction<I, RuntimeException, R> onFailure,
+                               BatchWriter<R> writer) throws IOException {
+        return execute(reader, task, onFailure, writer, windowSize);
+    }
+
+    //windowSize задается в элементах входа: если элемент - порция из нескольких записей, окно пересчитывает вызывающий
+    public <I, R> long execute(BatchReader<I> reader, Function<I, R> task, BiFunction<I, RuntimeException, R> onFailure,
+                               BatchWriter<R> writer, int windowSize) throws IOException {
+        ArrayDeque<Future<R>> window = new ArrayDeque<>(windowSize);
+        long processed = 0;
+        try {
+            I input;
+            while ((input = reader.next()) != null) {
+                if (window.size() == windowSize) {
+                    writeHead(window, writer);
+                    processed++;
+                }
+                I record = input;
+                window.addLast(executor.submit(() -> apply(task, onFailure, record)));
+            }
+            while (!window.isEmpty()) {
+                writeHead(window, writer);
+                processed++;
+            }
+        } finally {
+            //клиент отключился или запись упала - оставшиеся записи считать незачем
+            cancel(window);
+        }
+        writer.flush();
+        return processed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <I, R> R apply(Function<I, R> task, BiFunction<I, RuntimeException, R> onFailure, I input) {
+        try {
+            return task.apply(input);
+        } catch (RuntimeException e) {
+            log.warn("Unexpected error while processing batch record, error result is written instead", e);
+            return onFailure.apply(input, e);
+        }
+    }
+
+    private <R> void writeHead(ArrayDeque<Future<R>> window, BatchWriter<R> writer) throws IOException {
+        Future<R> head = window.pollFirst();
+        //перед ожиданием отдаем клиенту все, что уже посчитано
+        if (!head.isDone()) {
+            writer.flush();
+        }
+        try {
+            writer.write(head.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Обработка пакета прервана", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при обработке записи пакета", e.getCause());
+        }
+    }
+
+    private <R> void cancel(ArrayDeque<Future<R>> window) {
+        window.forEach(future -> future.cancel(true));
+        window.clear();
+    }
+
+    @FunctionalInterface
+    public interface BatchReader<I> {
+        //null - конец входных данных
+        I next() throws IOException;
+    }
+
+    public interface BatchWriter<R> {
+        void write(R result) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "batch-calculator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.development.vacation_calculator.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
+import ru.development.vacation_calculator.service.VacationService;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+import ru.development.vacation_calculator.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+
+/**
+ * Пакетный расчет в формате NDJSON: одна запись VacationData в строке на входе, один результат в строке на выходе.
+ * Ошибка в записи попадает в ее результат и не прерывает обработку остальных записей. Строка длиннее
+ * batch.max-line-bytes не читается в память: она пропускается до перевода строки и получает результат с ошибкой.
+ */
+@Service
+@Slf4j
+public class VacationBatchService {
+    //текст ошибки записи, на которой расчет упал непредвиденно: подробности только в журнале приложения
+    static final String UNEXPECTED_ERROR_MESSAGE = "Внутренняя ошибка при расчете записи";
+    private static final byte NEW_LINE = '\n';
+
+    private final VacationService vacationService;
+    private final VacationDataValidator vacationDataValidator;
+    private final HolidaysChecker holidaysChecker;
+    private final VacationCalculationCache calculationCache;
+    private final OrderedBatchExecutor batchExecutor;
+    private final ObjectMapper objectMapper;
+    private final CalculationMetrics calculationMetrics;
+    private final int maxLineBytes;
+
+    public VacationBatchService(VacationService vacationService,
+                                VacationDataValidator vacationDataValidator,
+                                HolidaysChecker holidaysChecker,
+                                VacationCalculationCache calculationCache,
+                                OrderedBatchExecutor batchExecutor,
+                                ObjectMapper objectMapper,
+                                CalculationMetrics calculationMetrics,
+                                @Value("${batch.max-line-bytes:65536}") int maxLineBytes) {
+        this.vacationService = vacationService;
+        this.vacationDataValidator = vacationDataValidator;
+        this.holidaysChecker = holidaysChecker;
+        this.calculationCache = calculationCache;
+        this.batchExecutor = batchExecutor;
+        this.objectMapper = objectMapper;
+        this.calculationMetrics = calculationMetrics;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public long calculate(InputStream input, OutputStream output) throws IOException {
+        return calculate(input, output, holidaysChecker.currentCalendar());
+    }
+
+    public long calculate(InputStream input, OutputStream output, CalendarSnapshot calendar) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(input, maxLineBytes);
+        long processed = batchExecutor.execute(() -> nextRecord(reader),
+                record -> calculate(record, calendar),
+                (record, e) -> BatchCalculationResult.failure(record.line, UNEXPECTED_ERROR_MESSAGE),
+                new OrderedBatchExecutor.BatchWriter<>() {
+                    @Override
+                    public void write(BatchCalculationResult result) throws IOException {
+                        output.write(objectMapper.writeValueAsBytes(result));
+                        output.write(NEW_LINE);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        output.flush();
+                    }
+                });
+        log.debug("Batch of {} records calculated with calendar version {}", processed, calendar.getVersion());
+        return processed;
+    }
+
+    public BatchCalculationResult calculate(VacationData vacationData, long line, CalendarSnapshot calendar) {
+        //отклоненная запись в пакете - обычный результат, поэтому проверка идет без исключений
+        calculationMetrics.countCalculation(vacationData);
+        long validationStart = System.nanoTime();
+        ValidationResult validationResult = vacationDataValidator.check(vacationData, calendar);
+        calculationMetrics.recordStage(CalculationMetrics.Stage.VALIDATION, validationStart);
+        if (!validationResult.isValid()) {
+            calculationMetrics.countRejection(validationResult);
+            return BatchCalculationResult.failure(line, validationResult.getMessage());
+        }
+        try {
+            VacationCalculationCache.Result<Double> vacationPayment = calculationCache.get(vacationData, calendar,
+                    () -> vacationService.calculateVacationPay(vacationData, calendar));
+            calculationMetrics.countResult(vacationPayment.getSource());
+            return BatchCalculationResult.success(line, vacationPayment.getValue(), calendar.getVersion());
+        } catch (InvalidVacationDatesException | DateTimeException e) {
+            return BatchCalculationResult.failure(line, e.getMessage());
+        }
+    }
+
+    //следующая непустая строка; у слишком длинной строки json не заполняется
+    private static BatchRecord nextRecord(BoundedLineReader reader) throws IOException {
+        while (reader.next()) {
+            if (reader.isTooLong()) {
+                return new BatchRecord(reader.getLineNumber(), null);
+            }
+            String line = reader.line();
+            if (!line.isBlank()) {
+                return new BatchRecord(reader.getLineNumber(), line);
+            }
+        }
+        return null;
+    }
+
+    private BatchCalculationResult calculate(BatchRecord record, CalendarSnapshot calendar) {
+        if (record.json == null) {
+            return BatchCalculationResult.failure(record.line, "Запись длиннее " + maxLineBytes + " байт");
+        }
+        return calculate(record.line, record.json, calendar);
+    }
+
+    //расчет одной строки NDJSON, ошибки разбора и проверки возвращаются в результате
+    public BatchCalculationResult calculate(long line, String json, CalendarSnapshot calendar) {
+        VacationData vacationData;
+        try {
+            vacationData = objectMapper.readValue(json, VacationData.class);
+        } catch (JsonProcessingException e) {
+            return BatchCalculationResult.failure(line, "Некорректная запись: " + e.getOriginalMessage());
+        }
+        if (vacationData.getSalary() == null || !KopeckPaymentCalculator.isValidSalary(vacationData.getSalary())) {
+            return BatchCalculationResult.failure(line, "Неверно указана зарплата сотрудника");
+        }
+        if (vacationData.getVacationDays() != null && vacationData.getVacationDays() < 1) {
+            return BatchCalculationResult.failure(line, "Неверно указано количество дней отпуска");
+        }
+        return calculate(vacationData, line, calendar);
+    }
+
+    private static class BatchRecord {
+        private final long line;
+        private final String json;
+
+        private BatchRecord(long line, String json) {
+            this.line = line;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.development.vacation_calculator.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Производственные календари, заранее собранные {@link HolidayCalendarCompiler} в один файл:
+ * <pre>
+ * int MAGIC | int FORMAT_VERSION | int число лет | для каждого года: int год | int число дат | int epoch day * число дат
+ * </pre>
+ * Файл читается целиком при создании источника, разбора дат из строк нет.
+ */
+@Slf4j
+public class BinaryHolidayCalendarSource implements HolidayCalendarSource {
+    static final int MAGIC = 0x48444159;
+    static final int FORMAT_VERSION = 1;
+
+    private final Map<Integer, int[]> holidaysByYear = new HashMap<>();
+
+    public BinaryHolidayCalendarSource(Resource resource) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(resource.getInputStream()))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                throw new IllegalStateException("Файл " + resource.getDescription() + " не является собранным календарем");
+            }
+            int years = input.readInt();
+            for (int i = 0; i < years; i++) {
+                int year = input.readInt();
+                int[] holidays = new int[input.readInt()];
+                for (int j = 0; j < holidays.length; j++) {
+                    holidays[j] = input.readInt();
+                }
+                holidaysByYear.put(year, holidays);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать собранный производственный календарь "
+                    + resource.getDescription(), e);
+        }
+        log.info("Compiled holiday calendars loaded from {} for years {}", resource.getDescription(), holidaysByYear.keySet());
+    }
+
+    @Override
+    public Set<Integer> availableYears() {
+        return holidaysByYear.keySet();
+    }
+
+    @Override
+    public Collection<LocalDate> loadYear(int year) {
+        int[] epochDays = holidaysByYear.get(year);
+        if (epochDays == null) {
+            throw new IllegalArgumentException("Производственный календарь на " + year + " год не найден");
+        }
+        List<LocalDate> holidays = new ArrayList<>(epochDays.length);
+        for (int epochDay : epochDays) {
+            holidays.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return holidays;
+    }
+}
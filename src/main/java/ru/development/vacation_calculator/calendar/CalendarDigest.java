@@ -0,0 +1,54 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Хэш содержимого календаря: первые 8 байт SHA-256 от годов и праздничных дней. В отличие от номера версии,
+ * который начинается с 1 при каждом запуске, одинаков для одних и тех же данных на всех экземплярах и после рестарта.
+ */
+final class CalendarDigest {
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[Long.BYTES];
+
+    CalendarDigest() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    CalendarDigest update(long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            buffer[i] = (byte) (value >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        digest.update(buffer);
+        return this;
+    }
+
+    CalendarDigest update(long[] values) {
+        update(values.length);
+        for (long value : values) {
+            update(value);
+        }
+        return this;
+    }
+
+    CalendarDigest update(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        update(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    long finish() {
+        byte[] hash = digest.digest();
+        long result = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = result << Byte.SIZE | (hash[i] & 0xFF);
+        }
+        return result;
+    }
+}
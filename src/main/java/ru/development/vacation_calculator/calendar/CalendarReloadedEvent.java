@@ -0,0 +1,11 @@
+package ru.development.vacation_calculator.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CalendarReloadedEvent {
+    private final CalendarSnapshot previous;
+    private final CalendarSnapshot current;
+}
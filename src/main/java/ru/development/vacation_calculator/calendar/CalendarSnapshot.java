@@ -0,0 +1,129 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Версия производственного календаря. Запрос получает снимок один раз и выполняет по нему и валидацию, и расчет,
+ * поэтому перезагрузка календаря во время обработки запроса не смешивает данные разных версий.
+ * Календарь региона - снимок той же версии, см. {@link #forRegion(String)}.
+ * Номер версии считается внутри процесса и после рестарта начинается с 1; то, что должно однозначно указывать
+ * на данные календаря вне процесса (ETag, журнал), использует {@link #getContentId()}.
+ */
+public class CalendarSnapshot {
+    private final long version;
+    private final Instant loadedAt;
+    private final HolidayCalendarStore holidays;
+    private final String region;
+    private final String contentId;
+    private final Map<String, RegionalCalendarDelta> regionalDeltas;
+    //календари регионов создаются при первом запросе региона и живут, пока жив снимок
+    private final ConcurrentHashMap<String, CalendarSnapshot> regionalCalendars;
+
+    public CalendarSnapshot(long version, Instant loadedAt, HolidayCalendarStore holidays) {
+        this(version, loadedAt, holidays, Map.of());
+    }
+
+    public CalendarSnapshot(long version, Instant loadedAt, HolidayCalendarStore holidays,
+                            Map<String, RegionalCalendarDelta> regionalDeltas) {
+        this(version, loadedAt, holidays, null, regionalDeltas);
+    }
+
+    private CalendarSnapshot(long version, Instant loadedAt, HolidayCalendarStore holidays, String region,
+                             Map<String, RegionalCalendarDelta> regionalDeltas) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.holidays = holidays;
+        this.region = region;
+        this.contentId = contentId(holidays.getContentHash());
+        this.regionalDeltas = regionalDeltas;
+        this.regionalCalendars = region == null ? new ConcurrentHashMap<>() : null;
+    }
+
+    public boolean hasRegion(String region) {
+        return region == null || regionalDeltas.containsKey(region);
+    }
+
+    //null - федеральный календарь; для неизвестного региона - IllegalArgumentException, проверка - hasRegion
+    public CalendarSnapshot forRegion(String region) {
+        if (region == null || region.equals(this.region)) {
+            return this;
+        }
+        if (this.region != null) {
+            throw new IllegalStateException("Календарь региона " + this.region + " не может быть основой для другого региона");
+        }
+        CalendarSnapshot regional = regionalCalendars.get(region);
+        if (regional != null) {
+            return regional;
+        }
+        RegionalCalendarDelta delta = regionalDeltas.get(region);
+        if (delta == null) {
+            throw new IllegalArgumentException("Производственный календарь региона " + region + " не найден");
+        }
+        return regionalCalendars.computeIfAbsent(region, key ->
+                new CalendarSnapshot(version, loadedAt, holidays.withDelta(delta), key, regionalDeltas));
+    }
+
+    public int checkNumberOfHolidays(LocalDate start, LocalDate end) {
+        return holidays.countHolidays(start, end);
+    }
+
+    public int countHolidays(long startEpochDay, long endEpochDay) {
+        return holidays.countHolidays(startEpochDay, endEpochDay);
+    }
+
+    public boolean checkIfAHoliday(LocalDate date) {
+        return holidays.isHoliday(date);
+    }
+
+    public boolean isHoliday(long epochDay) {
+        return holidays.isHoliday(epochDay);
+    }
+
+    public boolean checkIfCalendarIsAvailable(int year) {
+        return holidays.isYearAvailable(year);
+    }
+
+    public OptionalInt getLatestYear() {
+        return holidays.getLatestYear();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getContentHash() {
+        return holidays.getContentHash();
+    }
+
+    //хэш содержимого в виде 16 шестнадцатеричных цифр
+    public String getContentId() {
+        return contentId;
+    }
+
+    public static String contentId(long contentHash) {
+        String hex = Long.toHexString(contentHash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public HolidayCalendarStore getHolidays() {
+        return holidays;
+    }
+
+    //null для федерального календаря
+    public String getRegion() {
+        return region;
+    }
+
+    public Set<String> getRegions() {
+        return regionalDeltas.keySet();
+    }
+}
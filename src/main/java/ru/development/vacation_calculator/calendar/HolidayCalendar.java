@@ -0,0 +1,124 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Неизменяемый индекс праздничных дней, адресуемый по epoch day.
+ * Проверка дня - одно чтение из битовой маски, количество праздников в периоде - два чтения из массива накопленных сумм.
+ */
+public final class HolidayCalendar {
+    private final long firstEpochDay;
+    private final int length;
+    private final long[] holidayBits;
+    //holidaysBefore[i] - количество праздников с индексом дня меньше i
+    private final int[] holidaysBefore;
+
+    public HolidayCalendar(long firstEpochDay, int length, long[] holidayBits) {
+        this.firstEpochDay = firstEpochDay;
+        this.length = length;
+        this.holidayBits = holidayBits;
+        this.holidaysBefore = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            holidaysBefore[i + 1] = holidaysBefore[i] + (isSet(holidayBits, i) ? 1 : 0);
+        }
+    }
+
+    public static HolidayCalendar of(Collection<LocalDate> holidays) {
+        if (holidays.isEmpty()) {
+            return new HolidayCalendar(0, 0, new long[0]);
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (LocalDate holiday : holidays) {
+            first = Math.min(first, holiday.toEpochDay());
+            last = Math.max(last, holiday.toEpochDay());
+        }
+        return of(holidays, first, last);
+    }
+
+    public static HolidayCalendar of(Collection<LocalDate> holidays, long firstEpochDay, long lastEpochDay) {
+        int length = Math.toIntExact(lastEpochDay - firstEpochDay + 1);
+        long[] bits = new long[(length + 63) >>> 6];
+        for (LocalDate holiday : holidays) {
+            long index = holiday.toEpochDay() - firstEpochDay;
+            if (index < 0 || index >= length) {
+                throw new IllegalArgumentException("Праздничный день " + holiday + " находится вне диапазона календаря");
+            }
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        return new HolidayCalendar(firstEpochDay, length, bits);
+    }
+
+    public static HolidayCalendar ofEpochDays(long[] holidayEpochDays, long firstEpochDay, long lastEpochDay) {
+        int length = Math.toIntExact(lastEpochDay - firstEpochDay + 1);
+        long[] bits = new long[(length + 63) >>> 6];
+        for (long epochDay : holidayEpochDays) {
+            long index = epochDay - firstEpochDay;
+            if (index < 0 || index >= length) {
+                throw new IllegalArgumentException("Праздничный день " + LocalDate.ofEpochDay(epochDay)
+                        + " находится вне диапазона календаря");
+            }
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        return new HolidayCalendar(firstEpochDay, length, bits);
+    }
+
+    //копия индекса с добавленными и убранными днями; если изменений в диапазоне календаря нет, возвращается он сам
+    public HolidayCalendar withChanges(long[] addedEpochDays, long[] removedEpochDays) {
+        long[] bits = null;
+        for (long epochDay : addedEpochDays) {
+            long index = epochDay - firstEpochDay;
+            if (index >= 0 && index < length) {
+                bits = bits == null ? holidayBits.clone() : bits;
+                bits[(int) (index >>> 6)] |= 1L << index;
+            }
+        }
+        for (long epochDay : removedEpochDays) {
+            long index = epochDay - firstEpochDay;
+            if (index >= 0 && index < length) {
+                bits = bits == null ? holidayBits.clone() : bits;
+                bits[(int) (index >>> 6)] &= ~(1L << index);
+            }
+        }
+        return bits == null ? this : new HolidayCalendar(firstEpochDay, length, bits);
+    }
+
+    public boolean isHoliday(long epochDay) {
+        long index = epochDay - firstEpochDay;
+        return index >= 0 && index < length && isSet(holidayBits, (int) index);
+    }
+
+    //количество праздников в полуоткрытом периоде (start, end], как и в исходной реализации HolidaysChecker
+    public int countHolidays(long startEpochDay, long endEpochDay) {
+        return Math.max(0, holidaysUpTo(endEpochDay) - holidaysUpTo(startEpochDay));
+    }
+
+    public long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getTotalHolidays() {
+        return holidaysBefore[length];
+    }
+
+    //количество праздников с датой не позже epochDay
+    private int holidaysUpTo(long epochDay) {
+        long index = epochDay - firstEpochDay;
+        if (index < 0) {
+            return 0;
+        }
+        if (index >= length) {
+            return holidaysBefore[length];
+        }
+        return holidaysBefore[(int) index + 1];
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
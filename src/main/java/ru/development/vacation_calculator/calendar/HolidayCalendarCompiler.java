@@ -0,0 +1,57 @@
+package ru.development.vacation_calculator.calendar;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Сборка текстовых календарей {@code <год>.txt} в один файл формата {@link BinaryHolidayCalendarSource}.
+ * Запускается при сборке (exec-maven-plugin, фаза process-classes), чтобы при старте приложения не разбирать даты.
+ * Аргументы: каталог с текстовыми календарями и путь к итоговому файлу.
+ */
+public final class HolidayCalendarCompiler {
+
+    private HolidayCalendarCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Использование: HolidayCalendarCompiler <каталог календарей> <итоговый файл>");
+        }
+        Path target = Paths.get(args[1]);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        String location = Paths.get(args[0]).toUri().toString();
+        try (OutputStream output = Files.newOutputStream(target)) {
+            compile(new ResourceHolidayCalendarSource(new PathMatchingResourcePatternResolver(),
+                    location.endsWith("/") ? location : location + "/"), output);
+        }
+    }
+
+    public static void compile(HolidayCalendarSource source, OutputStream target) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(target));
+        Collection<Integer> years = new TreeSet<>(source.availableYears());
+        output.writeInt(BinaryHolidayCalendarSource.MAGIC);
+        output.writeInt(BinaryHolidayCalendarSource.FORMAT_VERSION);
+        output.writeInt(years.size());
+        for (int year : years) {
+            Collection<LocalDate> holidays = new TreeSet<>(source.loadYear(year));
+            output.writeInt(year);
+            output.writeInt(holidays.size());
+            for (LocalDate holiday : holidays) {
+                output.writeInt((int) holiday.toEpochDay());
+            }
+        }
+        output.flush();
+    }
+}
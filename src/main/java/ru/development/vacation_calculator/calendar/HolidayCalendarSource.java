@@ -0,0 +1,11 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+public interface HolidayCalendarSource {
+    Set<Integer> availableYears();
+
+    Collection<LocalDate> loadYear(int year);
+}
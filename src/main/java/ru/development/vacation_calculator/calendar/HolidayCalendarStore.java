@@ -0,0 +1,258 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Производственные календари, разбитые по годам. При создании хранилища все годы источника читаются по одному
+ * и проверяются, из них считаются хэш содержимого и контрольная сумма каждого года, а сами даты отбрасываются:
+ * ошибка в файле любого года обнаруживается сразу, а память не растет с числом лет. Календарь года загружается
+ * из источника при первом обращении, в памяти одновременно держится не более maxCachedYears лет: давно
+ * не использовавшиеся вытесняются по алгоритму "часов" (second chance) и при следующем обращении читаются заново.
+ * Прочитанный год сверяется с контрольной суммой, поэтому файл, измененный после публикации версии календаря,
+ * не подменяет данные этой версии, а приводит к ошибке до следующей перезагрузки календаря.
+ * Чтение не берет блокировок, блокировка нужна только при загрузке года.
+ */
+public class HolidayCalendarStore {
+    private final YearLoader loader;
+    private final long contentHash;
+    private final int maxCachedYears;
+    private final int firstYear;
+    //yearStarts[i] - epoch day 1 января года firstYear + i, последний элемент - граница после последнего года
+    private final long[] yearStarts;
+    private final boolean[] available;
+    private final AtomicReferenceArray<HolidayCalendar> loaded;
+    private final AtomicIntegerArray recentlyUsed;
+    private int loadedCount;
+    private int clockHand;
+
+    public HolidayCalendarStore(HolidayCalendarSource source, int maxCachedYears) {
+        this(source, verifyAllYears(source), maxCachedYears);
+    }
+
+    private HolidayCalendarStore(HolidayCalendarSource source, VerifiedYears verified, int maxCachedYears) {
+        this(verified.yearChecksums.keySet(), (year, firstEpochDay, lastEpochDay) ->
+                HolidayCalendar.ofEpochDays(readVerifiedYear(source, year, verified.yearChecksums.get(year)),
+                        firstEpochDay, lastEpochDay),
+                maxCachedYears, verified.contentHash);
+    }
+
+    private HolidayCalendarStore(Set<Integer> years, YearLoader loader, int maxCachedYears, long contentHash) {
+        if (maxCachedYears < 1) {
+            throw new IllegalArgumentException("maxCachedYears должен быть положительным");
+        }
+        this.loader = loader;
+        this.contentHash = contentHash;
+        this.maxCachedYears = maxCachedYears;
+        this.firstYear = years.isEmpty() ? 0 : years.stream().min(Integer::compare).orElseThrow();
+        int lastYear = years.isEmpty() ? -1 : years.stream().max(Integer::compare).orElseThrow();
+        int numberOfYears = lastYear - firstYear + 1;
+        this.yearStarts = new long[numberOfYears + 1];
+        this.available = new boolean[numberOfYears];
+        for (int i = 0; i <= numberOfYears; i++) {
+            yearStarts[i] = LocalDate.of(firstYear + i, 1, 1).toEpochDay();
+        }
+        for (int year : years) {
+            available[year - firstYear] = true;
+        }
+        this.loaded = new AtomicReferenceArray<>(numberOfYears);
+        this.recentlyUsed = new AtomicIntegerArray(numberOfYears);
+    }
+
+    //региональный календарь: те же годы, календарь года строится при первом обращении из федерального и изменений региона
+    public HolidayCalendarStore withDelta(RegionalCalendarDelta delta) {
+        return new HolidayCalendarStore(new HashSet<>(getAvailableYears()), (year, firstEpochDay, lastEpochDay) ->
+                delta.apply(calendarAt(year - firstYear)), maxCachedYears, delta.contentHash(contentHash));
+    }
+
+    //годы читаются по одному в порядке возрастания, в памяти остаются только контрольные суммы
+    private static VerifiedYears verifyAllYears(HolidayCalendarSource source) {
+        VerifiedYears verified = new VerifiedYears();
+        CalendarDigest digest = new CalendarDigest();
+        for (int year : new TreeSet<>(source.availableYears())) {
+            long[] epochDays = readYear(source, year);
+            digest.update(year).update(epochDays);
+            verified.yearChecksums.put(year, checksum(year, epochDays));
+        }
+        verified.contentHash = digest.finish();
+        return verified;
+    }
+
+    private static long[] readVerifiedYear(HolidayCalendarSource source, int year, long expectedChecksum) {
+        long[] epochDays = readYear(source, year);
+        if (checksum(year, epochDays) != expectedChecksum) {
+            throw new IllegalStateException("Производственный календарь на " + year
+                    + " год изменился после загрузки версии календаря, нужна перезагрузка календаря");
+        }
+        return epochDays;
+    }
+
+    private static long[] readYear(HolidayCalendarSource source, int year) {
+        Collection<LocalDate> holidays = source.loadYear(year);
+        long[] epochDays = new long[holidays.size()];
+        int i = 0;
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() != year) {
+                throw new IllegalStateException("Дата " + holiday + " не относится к календарю на " + year + " год");
+            }
+            epochDays[i++] = holiday.toEpochDay();
+        }
+        Arrays.sort(epochDays);
+        return epochDays;
+    }
+
+    private static long checksum(int year, long[] epochDays) {
+        return new CalendarDigest().update(year).update(epochDays).finish();
+    }
+
+    //хэш праздничных дней всех лет, для регионального календаря - с учетом изменений региона
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    public boolean isYearAvailable(int year) {
+        int index = year - firstYear;
+        return index >= 0 && index < available.length && available[index];
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    public boolean isHoliday(long epochDay) {
+        int index = yearIndexOf(epochDay);
+        HolidayCalendar calendar = calendarAt(index);
+        return calendar != null && calendar.isHoliday(epochDay);
+    }
+
+    public int countHolidays(LocalDate start, LocalDate end) {
+        return countHolidays(start.toEpochDay(), end.toEpochDay());
+    }
+
+    //количество праздников в периоде (start, end], период может захватывать несколько лет
+    public int countHolidays(long startEpochDay, long endEpochDay) {
+        if (endEpochDay <= startEpochDay) {
+            return 0;
+        }
+        int fromIndex = Math.max(0, yearIndexOf(startEpochDay));
+        int toIndex = Math.min(available.length - 1, yearIndexOf(endEpochDay));
+        int count = 0;
+        for (int index = fromIndex; index <= toIndex; index++) {
+            HolidayCalendar calendar = calendarAt(index);
+            if (calendar != null) {
+                count += calendar.countHolidays(startEpochDay, endEpochDay);
+            }
+        }
+        return count;
+    }
+
+    public List<Integer> getAvailableYears() {
+        List<Integer> years = new ArrayList<>();
+        for (int index = 0; index < available.length; index++) {
+            if (available[index]) {
+                years.add(firstYear + index);
+            }
+        }
+        return years;
+    }
+
+    //последний год, на который загружен календарь
+    public OptionalInt getLatestYear() {
+        return available.length == 0 ? OptionalInt.empty() : OptionalInt.of(firstYear + available.length - 1);
+    }
+
+    public List<Integer> getLoadedYears() {
+        List<Integer> years = new ArrayList<>();
+        for (int index = 0; index < available.length; index++) {
+            if (loaded.get(index) != null) {
+                years.add(firstYear + index);
+            }
+        }
+        return years;
+    }
+
+    public void preload(int year) {
+        calendarAt(year - firstYear);
+    }
+
+    public int getLoadedCount() {
+        synchronized (this) {
+            return loadedCount;
+        }
+    }
+
+    //индекс года в диапазоне [firstYear, lastYear]; -1 для дат раньше диапазона, число лет - для дат позже
+    private int yearIndexOf(long epochDay) {
+        int position = Arrays.binarySearch(yearStarts, epochDay);
+        return position >= 0 ? position : -position - 2;
+    }
+
+    private HolidayCalendar calendarAt(int index) {
+        if (index < 0 || index >= available.length || !available[index]) {
+            return null;
+        }
+        HolidayCalendar calendar = loaded.get(index);
+        if (calendar == null) {
+            return load(index);
+        }
+        if (recentlyUsed.get(index) == 0) {
+            recentlyUsed.set(index, 1);
+        }
+        return calendar;
+    }
+
+    private synchronized HolidayCalendar load(int index) {
+        HolidayCalendar calendar = loaded.get(index);
+        if (calendar != null) {
+            return calendar;
+        }
+        int year = firstYear + index;
+        calendar = loader.load(year, yearStarts[index], yearStarts[index + 1] - 1);
+        if (loadedCount == maxCachedYears) {
+            evictColdYear();
+        }
+        recentlyUsed.set(index, 1);
+        loaded.set(index, calendar);
+        loadedCount++;
+        return calendar;
+    }
+
+    //проход "часовой стрелкой": год с поднятым признаком использования получает второй шанс
+    private void evictColdYear() {
+        while (true) {
+            int index = clockHand;
+            clockHand = (clockHand + 1) % available.length;
+            if (loaded.get(index) == null) {
+                continue;
+            }
+            if (recentlyUsed.get(index) == 1) {
+                recentlyUsed.set(index, 0);
+                continue;
+            }
+            loaded.set(index, null);
+            loadedCount--;
+            return;
+        }
+    }
+
+    private static final class VerifiedYears {
+        private final Map<Integer, Long> yearChecksums = new HashMap<>();
+        private long contentHash;
+    }
+
+    @FunctionalInterface
+    private interface YearLoader {
+        HolidayCalendar load(int year, long firstEpochDay, long lastEpochDay);
+    }
+}
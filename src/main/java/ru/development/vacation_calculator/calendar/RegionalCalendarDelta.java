@@ -0,0 +1,39 @@
+package ru.development.vacation_calculator.calendar;
+
+import java.util.Arrays;
+
+/**
+ * Отличия календаря региона от федерального: дополнительные нерабочие дни и федеральные праздники,
+ * которые в регионе рабочие. Хранятся только эти дни, полный календарь региона строится из федерального по запросу.
+ */
+public final class RegionalCalendarDelta {
+    private final String region;
+    private final long[] addedEpochDays;
+    private final long[] removedEpochDays;
+
+    public RegionalCalendarDelta(String region, long[] addedEpochDays, long[] removedEpochDays) {
+        this.region = region;
+        this.addedEpochDays = addedEpochDays.clone();
+        this.removedEpochDays = removedEpochDays.clone();
+        Arrays.sort(this.addedEpochDays);
+        Arrays.sort(this.removedEpochDays);
+    }
+
+    public HolidayCalendar apply(HolidayCalendar federal) {
+        return federal.withChanges(addedEpochDays, removedEpochDays);
+    }
+
+    //хэш регионального календаря: федеральный хэш, код региона и изменения
+    long contentHash(long federalContentHash) {
+        return new CalendarDigest().update(federalContentHash).update(region)
+                .update(addedEpochDays).update(removedEpochDays).finish();
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public int size() {
+        return addedEpochDays.length + removedEpochDays.length;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.development.vacation_calculator.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Производственные календари в виде файлов {@code <год>.txt} в каталоге location, по одной дате dd-MM-yyyy в строке.
+ */
+@Slf4j
+public class ResourceHolidayCalendarSource implements HolidayCalendarSource {
+    private static final String FILE_SUFFIX = ".txt";
+
+    private final Map<Integer, Resource> resourcesByYear = new HashMap<>();
+
+    public ResourceHolidayCalendarSource(ResourcePatternResolver resourceResolver, String location) {
+        try {
+            for (Resource resource : resourceResolver.getResources(location + "*" + FILE_SUFFIX)) {
+                String filename = resource.getFilename();
+                if (filename == null || !filename.matches("\\d{4}\\" + FILE_SUFFIX)) {
+                    continue;
+                }
+                resourcesByYear.put(Integer.parseInt(filename.substring(0, 4)), resource);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать каталог производственных календарей " + location, e);
+        }
+        log.info("Holiday calendars found in {} for years {}", location, resourcesByYear.keySet());
+    }
+
+    @Override
+    public Set<Integer> availableYears() {
+        return resourcesByYear.keySet();
+    }
+
+    @Override
+    public Collection<LocalDate> loadYear(int year) {
+        Resource resource = resourcesByYear.get(year);
+        if (resource == null) {
+            throw new IllegalArgumentException("Производственный календарь на " + year + " год не найден");
+        }
+        List<LocalDate> holidays = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                LocalDate holiday = LocalDate.parse(line, Constants.DATE_PATTERN);
+                if (holiday.getYear() != year) {
+                    throw new IllegalStateException("Дата " + line + " не относится к календарю на " + year + " год");
+                }
+                holidays.add(holiday);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать производственный календарь на " + year + " год", e);
+        }
+        log.debug("Holiday calendar for {} loaded, holidays: {}", year, holidays.size());
+        return holidays;
+    }
+}
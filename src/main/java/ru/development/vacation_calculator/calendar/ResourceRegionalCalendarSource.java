@@ -0,0 +1,80 @@
+package ru.development.vacation_calculator.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Региональные отличия календаря в виде файлов {@code regions/<код региона>.txt} в каталоге location:
+ * по одной дате dd-MM-yyyy в строке - дополнительный нерабочий день, дата с префиксом "-" - рабочий федеральный праздник.
+ */
+@Slf4j
+public class ResourceRegionalCalendarSource {
+    public static final String REGIONS_DIRECTORY = "regions/";
+    private static final String FILE_SUFFIX = ".txt";
+    private static final String REMOVED_PREFIX = "-";
+
+    private final ResourcePatternResolver resourceResolver;
+    private final String location;
+
+    public ResourceRegionalCalendarSource(ResourcePatternResolver resourceResolver, String location) {
+        this.resourceResolver = resourceResolver;
+        this.location = location + REGIONS_DIRECTORY;
+    }
+
+    public Map<String, RegionalCalendarDelta> load() {
+        Map<String, RegionalCalendarDelta> deltas = new HashMap<>();
+        try {
+            for (Resource resource : resourceResolver.getResources(location + "*" + FILE_SUFFIX)) {
+                String filename = resource.getFilename();
+                if (filename == null || !filename.endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+                String region = filename.substring(0, filename.length() - FILE_SUFFIX.length());
+                deltas.put(region, load(region, resource));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать каталог региональных календарей " + location, e);
+        }
+        log.info("Regional holiday calendars found in {}: {}", location, deltas.keySet());
+        return deltas;
+    }
+
+    private RegionalCalendarDelta load(String region, Resource resource) throws IOException {
+        List<LocalDate> added = new ArrayList<>();
+        List<LocalDate> removed = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith(REMOVED_PREFIX)) {
+                    removed.add(LocalDate.parse(line.substring(REMOVED_PREFIX.length()).trim(), Constants.DATE_PATTERN));
+                } else {
+                    added.add(LocalDate.parse(line, Constants.DATE_PATTERN));
+                }
+            }
+        }
+        log.debug("Regional holiday calendar {} loaded, added: {}, removed: {}", region, added.size(), removed.size());
+        return new RegionalCalendarDelta(region, toEpochDays(added), toEpochDays(removed));
+    }
+
+    private static long[] toEpochDays(List<LocalDate> dates) {
+        return dates.stream().mapToLong(LocalDate::toEpochDay).toArray();
+    }
+}
@@ -5,8 +5,9 @@ import java.time.format.DateTimeFormatter;
 public interface Constants {
     DateTimeFormatter TIME_PATTERN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     DateTimeFormatter DATE_PATTERN = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-    Integer NUMBER_OF_MONTHS = 12;
-    Double AVERAGE_NUMBER_OF_DAYS_PER_MONTH = 29.3;
-    Short TAXES = 13;
+    int NUMBER_OF_MONTHS = 12;
+    double AVERAGE_NUMBER_OF_DAYS_PER_MONTH = 29.3;
+    short TAXES = 13;
+    String CALENDAR_VERSION_HEADER = "X-Calendar-Version";
 
 }
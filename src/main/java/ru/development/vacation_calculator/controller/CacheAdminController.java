@@ -0,0 +1,30 @@
+package ru.development.vacation_calculator.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.development.vacation_calculator.model.CacheStats;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
+
+@RestController
+@RequestMapping("/admin/cache")
+@Slf4j
+@RequiredArgsConstructor
+public class CacheAdminController {
+    private final VacationCalculationCache calculationCache;
+
+    @GetMapping
+    public CacheStats getStats() {
+        return calculationCache.getStats();
+    }
+
+    @DeleteMapping
+    public CacheStats clear() {
+        log.debug("'clear' is called");
+        calculationCache.clear();
+        return calculationCache.getStats();
+    }
+}
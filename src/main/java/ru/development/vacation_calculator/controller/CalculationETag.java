@@ -0,0 +1,67 @@
+package ru.development.vacation_calculator.controller;
+
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+
+import java.time.LocalDate;
+
+/**
+ * Сильный ETag результата GET /calculate. Результат зависит только от нормализованных параметров и календаря,
+ * поэтому тег собирается из них без расчета: хэш содержимого календаря (с изменениями региона), зарплата в копейках,
+ * дни и даты в epoch day. Хэш не зависит от процесса, поэтому после рестарта с исправленным календарем и на разных
+ * экземплярах старый тег не совпадет с новым. Одинаковые по смыслу запросы (60000 и 60000.00) получают один тег.
+ */
+final class CalculationETag {
+    private static final char SEPARATOR = '-';
+    private static final char NOT_SET = 'n';
+    private static final String WEAK_PREFIX = "W/";
+
+    private CalculationETag() {
+    }
+
+    static String of(VacationData vacationData, CalendarSnapshot calendar) {
+        StringBuilder etag = new StringBuilder(56).append('"').append(calendar.getContentId());
+        etag.append(SEPARATOR).append(KopeckPaymentCalculator.toKopecks(vacationData.getSalary()));
+        append(etag, vacationData.getVacationDays());
+        append(etag, vacationData.getVacationStart());
+        append(etag, vacationData.getVacationEnd());
+        return etag.append('"').toString();
+    }
+
+    //If-None-Match сравнивается слабо (RFC 7232): W/"x" совпадает с "x", в заголовке может быть список тегов.
+    //"*" для GET не поддерживается: иначе 304 получили бы и запросы с некорректными параметрами
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void append(StringBuilder etag, Integer value) {
+        etag.append(SEPARATOR);
+        if (value == null) {
+            etag.append(NOT_SET);
+        } else {
+            etag.append(value.intValue());
+        }
+    }
+
+    private static void append(StringBuilder etag, LocalDate value) {
+        etag.append(SEPARATOR);
+        if (value == null) {
+            etag.append(NOT_SET);
+        } else {
+            etag.append(value.toEpochDay());
+        }
+    }
+}
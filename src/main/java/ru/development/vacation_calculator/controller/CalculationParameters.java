@@ -0,0 +1,259 @@
+package ru.development.vacation_calculator.controller;
+
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+
+import javax.validation.ConstraintViolationException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Разбор параметров расчета прямо из строки запроса без создания промежуточных строк и проверка тех же ограничений,
+ * что раньше задавались аннотациями @Positive/@Min/@Max. Быстрый путь принимает только обычную запись значений;
+ * все остальное (знак, экспонента, пробелы, некорректные даты) возвращается как "не разобрано", и вызывающий код
+ * отдает значение конвертерам Spring, поэтому результат и ошибки не отличаются от стандартной привязки.
+ * Реактивный режим привязывает параметры через {@link #bind}: те же разбор и ограничения, а отсутствующий или
+ * неразобранный параметр дает то же сообщение "метод.параметр: сообщение", что ErrorHandler в режиме сервлетов.
+ */
+public final class CalculationParameters {
+    public static final String SALARY = "salary";
+    public static final String DAYS = "days";
+    public static final String START = "start";
+    public static final String END = "end";
+    static final String SALARY_MESSAGE = "Неверно указана зарплата сотрудника";
+    static final String DAYS_MESSAGE = "Неверно указано количество дней отпуска";
+    static final String DATE_MESSAGE = "Неверно указана дата отпуска";
+    static final int NOT_PARSED = -1;
+
+    //мантисса до 15 цифр и степень 10 до 22 представимы в double точно: одно деление дает то же, что Double.parseDouble
+    private static final int MAX_MANTISSA_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int MAX_DAYS_DIGITS = 9;
+    private static final int DATE_LENGTH = 10;
+    //даты этих лет создаются один раз на год при первом обращении, остальные разбирает конвертер Spring
+    private static final int FIRST_CACHED_YEAR = 2000;
+    private static final int LAST_CACHED_YEAR = 2099;
+    private static final int DAYS_PER_MONTH_SLOT = 31;
+    private static final AtomicReferenceArray<LocalDate[]> DATES =
+            new AtomicReferenceArray<>(LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1);
+
+    private CalculationParameters() {
+    }
+
+    //начало значения параметра name в строке запроса или -1; параметр без '=' имеет пустое значение
+    static int valueStart(String query, String name) {
+        int length = query.length();
+        int nameLength = name.length();
+        int position = 0;
+        while (position < length) {
+            int end = valueEnd(query, position);
+            if (end - position >= nameLength && query.startsWith(name, position)) {
+                if (end - position == nameLength) {
+                    return end;
+                }
+                if (query.charAt(position + nameLength) == '=') {
+                    return position + nameLength + 1;
+                }
+            }
+            position = end + 1;
+        }
+        return -1;
+    }
+
+    static int valueEnd(String query, int valueStart) {
+        int end = query.indexOf('&', valueStart);
+        return end < 0 ? query.length() : end;
+    }
+
+    //строку без '%' и '+' не нужно декодировать, значения можно читать прямо из нее
+    static boolean isPlain(String query) {
+        return query.indexOf('%') < 0 && query.indexOf('+') < 0;
+    }
+
+    //зарплата вида 600000 или 600000.50, иначе NaN
+    static double parseSalary(CharSequence value, int from, int to) {
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = NOT_PARSED;
+        boolean hasDigits = false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigits = true;
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > MAX_MANTISSA_DIGITS) {
+                        return Double.NaN;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (fractionDigits != NOT_PARSED) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits == NOT_PARSED) {
+                fractionDigits = 0;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!hasDigits || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        return fractionDigits <= 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+    }
+
+    //количество дней из одних цифр, иначе NOT_PARSED
+    static int parseDays(CharSequence value, int from, int to) {
+        return to - from > MAX_DAYS_DIGITS ? NOT_PARSED : digits(value, from, to);
+    }
+
+    //существующая дата в формате dd-MM-yyyy из кэшируемых лет, иначе null
+    static LocalDate parseDate(CharSequence value, int from, int to) {
+        if (to - from != DATE_LENGTH || value.charAt(from + 2) != '-' || value.charAt(from + 5) != '-') {
+            return null;
+        }
+        int day = digits(value, from, from + 2);
+        int month = digits(value, from + 3, from + 5);
+        int year = digits(value, from + 6, to);
+        if (day < 1 || day > DAYS_PER_MONTH_SLOT || month < 1 || month > 12
+                || year < FIRST_CACHED_YEAR || year > LAST_CACHED_YEAR) {
+            return null;
+        }
+        int yearIndex = year - FIRST_CACHED_YEAR;
+        LocalDate[] dates = DATES.get(yearIndex);
+        if (dates == null) {
+            dates = datesOfYear(year);
+            if (!DATES.compareAndSet(yearIndex, null, dates)) {
+                dates = DATES.get(yearIndex);
+            }
+        }
+        return dates[(month - 1) * DAYS_PER_MONTH_SLOT + day - 1];
+    }
+
+    //значения параметров запроса или null для отсутствующих; ошибки - ConstraintViolationException и
+    //InvalidVacationDatesException, как у CalculationQueryArgumentResolver с ErrorHandler
+    public static VacationData bind(String method, String salary, String days, String start, String end) {
+        if (salary == null) {
+            throw invalidParameter(method, SALARY);
+        }
+        double salaryValue = parseSalary(salary, 0, salary.length());
+        if (Double.isNaN(salaryValue)) {
+            salaryValue = convert(method, SALARY, salary, Double::valueOf);
+        }
+        Integer daysValue = null;
+        if (days != null && !days.isEmpty()) {
+            int parsed = parseDays(days, 0, days.length());
+            daysValue = parsed != NOT_PARSED ? parsed : convert(method, DAYS, days, Integer::valueOf);
+        }
+        LocalDate startDate = bindDate(method, START, start);
+        LocalDate endDate = bindDate(method, END, end);
+        checkConstraints(method, salaryValue, daysValue, Integer.MAX_VALUE);
+        return new VacationData(salaryValue, daysValue, startDate, endDate);
+    }
+
+    //параметр не указан или не разобран: то же сообщение, что при нарушении его ограничения
+    public static ConstraintViolationException invalidParameter(String method, String parameter) {
+        return new ConstraintViolationException(method + '.' + parameter + ": " + messageOf(parameter),
+                Collections.emptySet());
+    }
+
+    private static String messageOf(String parameter) {
+        switch (parameter) {
+            case SALARY:
+                return SALARY_MESSAGE;
+            case DAYS:
+                return DAYS_MESSAGE;
+            case START:
+            case END:
+                return DATE_MESSAGE;
+            default:
+                return "Неверно указан параметр " + parameter;
+        }
+    }
+
+    private static <T> T convert(String method, String parameter, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalidParameter(method, parameter);
+        }
+    }
+
+    private static LocalDate bindDate(String method, String parameter, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        LocalDate date = parseDate(value, 0, value.length());
+        if (date != null) {
+            return date;
+        }
+        try {
+            return LocalDate.parse(value.trim(), Constants.DATE_PATTERN);
+        } catch (DateTimeException e) {
+            throw invalidParameter(method, parameter);
+        }
+    }
+
+    //то же сообщение, что у ConstraintViolationException из проверки параметров метода: "метод.параметр: сообщение";
+    //зарплата больше допустимой, при которой отпускные не помещаются в копейки long, - ошибка данных (400)
+    public static void checkConstraints(String method, double salary, Integer days, int maxDays) {
+        boolean salaryValid = salary > 0;
+        boolean daysValid = days == null || days >= 1 && days <= maxDays;
+        if (salaryValid && daysValid) {
+            if (!KopeckPaymentCalculator.isValidSalary(salary)) {
+                throw new InvalidVacationDatesException(SALARY_MESSAGE);
+            }
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        if (!salaryValid) {
+            message.append(method).append('.').append(SALARY).append(": ").append(SALARY_MESSAGE);
+        }
+        if (!daysValid) {
+            if (message.length() > 0) {
+                message.append(", ");
+            }
+            message.append(method).append('.').append(DAYS).append(": ").append(DAYS_MESSAGE);
+        }
+        throw new ConstraintViolationException(message.toString(), Collections.emptySet());
+    }
+
+    //год не указан - последний год загруженного календаря: календаря на текущий год может еще не быть
+    static int calendarYear(Integer year, CalendarSnapshot calendar) {
+        if (year != null) {
+            return year;
+        }
+        return calendar.getLatestYear().orElseThrow(() ->
+                new InvalidVacationDatesException("Производственные календари не загружены, расчет невозможен"));
+    }
+
+    private static int digits(CharSequence value, int from, int to) {
+        if (to <= from) {
+            return NOT_PARSED;
+        }
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_PARSED;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    //слот (месяц - 1) * 31 + (день - 1); для несуществующих дней, например 30 февраля, в слоте null
+    private static LocalDate[] datesOfYear(int year) {
+        LocalDate[] dates = new LocalDate[12 * DAYS_PER_MONTH_SLOT];
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            dates[(date.getMonthValue() - 1) * DAYS_PER_MONTH_SLOT + date.getDayOfMonth() - 1] = date;
+        }
+        return dates;
+    }
+}
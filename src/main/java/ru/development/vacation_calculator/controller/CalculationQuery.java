@@ -0,0 +1,18 @@
+package ru.development.vacation_calculator.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Параметр метода расчета, который привязывает CalculationQueryArgumentResolver: VacationData из параметров salary,
+ * days, start и end или строка - необязательный параметр запроса с именем value.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CalculationQuery {
+    String value() default "";
+}
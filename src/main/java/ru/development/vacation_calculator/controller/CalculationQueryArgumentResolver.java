@@ -0,0 +1,148 @@
+package ru.development.vacation_calculator.controller;
+
+import org.springframework.beans.ConversionNotSupportedException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.MethodArgumentConversionNotSupportedException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import ru.development.vacation_calculator.model.VacationData;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+
+import static ru.development.vacation_calculator.controller.CalculationParameters.DAYS;
+import static ru.development.vacation_calculator.controller.CalculationParameters.END;
+import static ru.development.vacation_calculator.controller.CalculationParameters.NOT_PARSED;
+import static ru.development.vacation_calculator.controller.CalculationParameters.SALARY;
+import static ru.development.vacation_calculator.controller.CalculationParameters.START;
+
+/**
+ * Привязка параметров расчета без общего конвертера Spring и без проверки параметров метода через Bean Validation.
+ * Значения читаются прямо из строки запроса, даты берутся из кэша CalculationParameters, поэтому на обычный
+ * запрос создается только сам VacationData. Необычные значения отдаются WebDataBinder, как при @RequestParam:
+ * ошибки разбора и отсутствия параметра те же, нарушения ограничений - ConstraintViolationException с тем же
+ * сообщением. Если строка запроса закодирована или ее нет (параметры заданы иначе, например в MockMvc),
+ * значения читаются через getParameter.
+ */
+public class CalculationQueryArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CalculationQuery.class)
+                && (parameter.getParameterType() == VacationData.class || parameter.getParameterType() == String.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        String queryString = request != null ? request.getQueryString() : null;
+        String query = queryString != null && CalculationParameters.isPlain(queryString) ? queryString : null;
+        if (parameter.getParameterType() == String.class) {
+            return string(query, webRequest, parameterName(parameter));
+        }
+        double salary = salary(query, parameter, webRequest, binderFactory);
+        Integer days = days(query, parameter, webRequest, binderFactory);
+        LocalDate start = date(query, START, parameter, webRequest, binderFactory);
+        LocalDate end = date(query, END, parameter, webRequest, binderFactory);
+        CalculationParameters.checkConstraints(parameter.getExecutable().getName(), salary, days, Integer.MAX_VALUE);
+        return new VacationData(salary, days, start, end);
+    }
+
+    private static double salary(String query, MethodParameter parameter, NativeWebRequest webRequest,
+                                 WebDataBinderFactory binderFactory) throws Exception {
+        String source = source(query, webRequest, SALARY);
+        int from = from(query, source, SALARY);
+        if (from < 0) {
+            throw new MissingServletRequestParameterException(SALARY, "double");
+        }
+        int to = to(query, source, from);
+        double salary = CalculationParameters.parseSalary(source, from, to);
+        if (!Double.isNaN(salary)) {
+            return salary;
+        }
+        Double converted = convert(source.substring(from, to), SALARY, Double.class, parameter, webRequest,
+                binderFactory);
+        if (converted == null) {
+            throw new MissingServletRequestParameterException(SALARY, "double", true);
+        }
+        return converted;
+    }
+
+    private static Integer days(String query, MethodParameter parameter, NativeWebRequest webRequest,
+                                WebDataBinderFactory binderFactory) throws Exception {
+        String source = source(query, webRequest, DAYS);
+        int from = from(query, source, DAYS);
+        if (from < 0) {
+            return null;
+        }
+        int to = to(query, source, from);
+        int days = CalculationParameters.parseDays(source, from, to);
+        if (days != NOT_PARSED) {
+            return days;
+        }
+        return convert(source.substring(from, to), DAYS, Integer.class, parameter, webRequest, binderFactory);
+    }
+
+    private static LocalDate date(String query, String name, MethodParameter parameter, NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) throws Exception {
+        String source = source(query, webRequest, name);
+        int from = from(query, source, name);
+        if (from < 0) {
+            return null;
+        }
+        int to = to(query, source, from);
+        LocalDate date = CalculationParameters.parseDate(source, from, to);
+        if (date != null) {
+            return date;
+        }
+        return convert(source.substring(from, to), name, LocalDate.class, parameter, webRequest, binderFactory);
+    }
+
+    private static String string(String query, NativeWebRequest webRequest, String name) {
+        String source = source(query, webRequest, name);
+        int from = from(query, source, name);
+        return from < 0 ? null : query != null ? query.substring(from, to(query, source, from)) : source;
+    }
+
+    //значение читается из неизмененной строки запроса или из параметров контейнера
+    private static String source(String query, NativeWebRequest webRequest, String name) {
+        return query != null ? query : webRequest.getParameter(name);
+    }
+
+    private static int from(String query, String source, String name) {
+        if (query != null) {
+            return CalculationParameters.valueStart(query, name);
+        }
+        return source != null ? 0 : -1;
+    }
+
+    private static int to(String query, String source, int from) {
+        return query != null ? CalculationParameters.valueEnd(query, from) : source.length();
+    }
+
+    private static String parameterName(MethodParameter parameter) {
+        String name = parameter.getParameterAnnotation(CalculationQuery.class).value();
+        return name.isEmpty() ? parameter.getParameterName() : name;
+    }
+
+    //преобразование необычного значения так же, как для @RequestParam
+    private static <T> T convert(String value, String name, Class<T> type, MethodParameter parameter,
+                                 NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        WebDataBinder binder = binderFactory.createBinder(webRequest, null, name);
+        try {
+            return binder.convertIfNecessary(value, type);
+        } catch (ConversionNotSupportedException e) {
+            throw new MethodArgumentConversionNotSupportedException(value, e.getRequiredType(), name, parameter,
+                    e.getCause());
+        } catch (TypeMismatchException e) {
+            throw new MethodArgumentTypeMismatchException(value, e.getRequiredType(), name, parameter, e.getCause());
+        }
+    }
+}
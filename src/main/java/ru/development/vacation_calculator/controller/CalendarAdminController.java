@@ -0,0 +1,41 @@
+package ru.development.vacation_calculator.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.CalendarInfo;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static ru.development.vacation_calculator.constants.Constants.TIME_PATTERN;
+
+@RestController
+@RequestMapping("/admin/calendar")
+@Slf4j
+@RequiredArgsConstructor
+public class CalendarAdminController {
+    private final HolidaysChecker holidaysChecker;
+
+    @GetMapping
+    public CalendarInfo getCalendar() {
+        return toCalendarInfo(holidaysChecker.currentCalendar());
+    }
+
+    @PostMapping("/reload")
+    public CalendarInfo reload() {
+        log.debug("'reload' is called");
+        return toCalendarInfo(holidaysChecker.reload());
+    }
+
+    private CalendarInfo toCalendarInfo(CalendarSnapshot calendar) {
+        return new CalendarInfo(calendar.getVersion(), calendar.getContentId(),
+                LocalDateTime.ofInstant(calendar.getLoadedAt(), ZoneId.systemDefault()).format(TIME_PATTERN),
+                calendar.getHolidays().getAvailableYears());
+    }
+}
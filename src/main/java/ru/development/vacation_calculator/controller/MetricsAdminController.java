@@ -0,0 +1,35 @@
+package ru.development.vacation_calculator.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.development.vacation_calculator.admission.AdmissionControl;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/admin/metrics")
+@RequiredArgsConstructor
+public class MetricsAdminController {
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    private final CalculationMetrics calculationMetrics;
+    private final AdmissionControl admissionControl;
+
+    @GetMapping
+    public void getMetrics(HttpServletResponse response) throws IOException {
+        response.setContentType(PROMETHEUS_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = response.getWriter();
+        calculationMetrics.writePrometheus(writer);
+        admissionControl.writePrometheus(writer);
+        writer.flush();
+    }
+}
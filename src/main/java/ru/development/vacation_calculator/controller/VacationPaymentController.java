@@ -2,40 +2,153 @@ package ru.development.vacation_calculator.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.development.vacation_calculator.batch.BinaryBatchService;
+import ru.development.vacation_calculator.batch.VacationBatchService;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.metrics.RequestTimingInterceptor;
 import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.model.YearPaymentMatrix;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.PaymentMatrixService;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
 import ru.development.vacation_calculator.service.VacationService;
 import ru.development.vacation_calculator.validation.VacationDataValidator;
 
-import javax.validation.constraints.Min;
-import javax.validation.constraints.Positive;
-import java.time.LocalDate;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static ru.development.vacation_calculator.constants.Constants.CALENDAR_VERSION_HEADER;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/calculate")
 @Slf4j
 @RequiredArgsConstructor
-@Validated
 public class VacationPaymentController {
+    private static final int MAX_YEAR_VACATION_DAYS = 366;
+
     private final VacationService vacationService;
     private final VacationDataValidator vacationDataValidator;
+    private final HolidaysChecker holidaysChecker;
+    private final VacationBatchService vacationBatchService;
+    private final VacationCalculationCache calculationCache;
+    private final CalculationMetrics calculationMetrics;
+    private final PaymentMatrixService paymentMatrixService;
+    private final BinaryBatchService binaryBatchService;
+    @Value("${http.cache.control:public, max-age=60}")
+    private String cacheControl;
 
+    //ответ кэшируется клиентами и прокси: повторный запрос с If-None-Match получает 304 без расчета
     @GetMapping
-    public ResponseEntity<Double> calculate(@RequestParam(value = "salary")
-                                            @Positive(message = "Неверно указана зарплата сотрудника") double salary,
-                                            @RequestParam(value = "days", required = false)
-                                            @Min(value = (1), message = "Неверно указано количество дней отпуска") Integer days,
-                                            @RequestParam(value = "start", required = false) LocalDate start,
-                                            @RequestParam(value = "end", required = false) LocalDate end) {
-        log.debug("'calculate' is called with salary = {}, days = {}, start = {}, end = {}", salary, days, start, end);
-        VacationData vacationData = new VacationData(salary, days, start, end);
-        vacationDataValidator.validate(vacationData);
-        return new ResponseEntity<>(vacationService.calculateVacationPay(vacationData), HttpStatus.OK);
+    public ResponseEntity<byte[]> calculate(@CalculationQuery VacationData vacationData,
+                                            @CalculationQuery("region") String region,
+                                            HttpServletRequest request) {
+        Object handlerStart = request.getAttribute(RequestTimingInterceptor.HANDLER_START_ATTRIBUTE);
+        long requestStart = handlerStart != null ? (Long) handlerStart : System.nanoTime();
+        if (handlerStart != null) {
+            calculationMetrics.recordStage(CalculationMetrics.Stage.BINDING, requestStart);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("'calculate' is called with salary = {}, days = {}, start = {}, end = {}, region = {}",
+                    vacationData.getSalary(), vacationData.getVacationDays(), vacationData.getVacationStart(),
+                    vacationData.getVacationEnd(), region);
+        }
+        CalendarSnapshot calendar = currentCalendar(region);
+        String etag = CalculationETag.of(vacationData, calendar);
+        //тег выдается только с успешным ответом, поэтому при совпадении проверять данные повторно не нужно
+        if (CalculationETag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            calculationMetrics.countResult(CalculationMetrics.ResultSource.NOT_MODIFIED);
+            calculationMetrics.recordStage(CalculationMetrics.Stage.RESPONSE, requestStart);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+        calculationMetrics.countCalculation(vacationData);
+        //расчет выполняется в этом же потоке только при промахе кэша
+        VacationCalculationCache.Result<byte[]> vacationPayment = calculationCache.getSerialized(vacationData, calendar,
+                () -> {
+                    validate(vacationData, calendar);
+                    return vacationService.calculateVacationPay(vacationData, calendar);
+                });
+        calculationMetrics.countResult(vacationPayment.getSource());
+        calculationMetrics.recordStage(CalculationMetrics.Stage.RESPONSE, requestStart);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(CALENDAR_VERSION_HEADER, String.valueOf(calendar.getVersion()))
+                .body(vacationPayment.getValue());
+    }
+
+    @GetMapping("/year")
+    public ResponseEntity<YearPaymentMatrix> calculateYear(@RequestParam(value = "salary") double salary,
+                                                           @RequestParam(value = "days") int days,
+                                                           @RequestParam(value = "year", required = false) Integer year,
+                                                           @RequestParam(value = "region", required = false) String region) {
+        CalculationParameters.checkConstraints("calculateYear", salary, days, MAX_YEAR_VACATION_DAYS);
+        CalendarSnapshot calendar = currentCalendar(region);
+        int matrixYear = CalculationParameters.calendarYear(year, calendar);
+        log.debug("'calculateYear' is called with days = {}, year = {}, region = {}", days, matrixYear, region);
+        vacationDataValidator.validateCalendarYear(matrixYear, calendar);
+        YearPaymentMatrix matrix = paymentMatrixService.calculateYear(salary, days, matrixYear, calendar);
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(CALENDAR_VERSION_HEADER, String.valueOf(calendar.getVersion()))
+                .body(matrix);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void calculateBatch(@RequestParam(value = "region", required = false) String region,
+                               InputStream requestBody, HttpServletResponse response) throws IOException {
+        log.debug("'calculateBatch' is called with region = {}", region);
+        CalendarSnapshot calendar = currentCalendar(region);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        vacationBatchService.calculate(requestBody, response.getOutputStream(), calendar);
+    }
+
+    //формат записей описан в BinaryRecordCodec, версия календаря - в заголовке ответа
+    @PostMapping(value = "/binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void calculateBinary(@RequestParam(value = "region", required = false) String region,
+                                InputStream requestBody, HttpServletResponse response) throws IOException {
+        log.debug("'calculateBinary' is called with region = {}", region);
+        CalendarSnapshot calendar = currentCalendar(region);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(CALENDAR_VERSION_HEADER, String.valueOf(calendar.getVersion()));
+        binaryBatchService.calculate(requestBody, response.getOutputStream(), calendar);
+    }
+
+    //без региона - федеральный календарь, для региона - его календарь той же версии
+    private CalendarSnapshot currentCalendar(String region) {
+        CalendarSnapshot calendar = holidaysChecker.currentCalendar();
+        return region == null ? calendar : vacationDataValidator.regionalCalendar(region, calendar);
+    }
+
+    private void validate(VacationData vacationData, CalendarSnapshot calendar) {
+        long validationStart = System.nanoTime();
+        try {
+            vacationDataValidator.validate(vacationData, calendar);
+        } catch (InvalidVacationDatesException e) {
+            calculationMetrics.countRejection(e.getValidationResult());
+            throw e;
+        } finally {
+            calculationMetrics.recordStage(CalculationMetrics.Stage.VALIDATION, validationStart);
+        }
     }
 }
@@ -0,0 +1,64 @@
+package ru.development.vacation_calculator.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.VacationPlans;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.VacationPlanner;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import static ru.development.vacation_calculator.constants.Constants.CALENDAR_VERSION_HEADER;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/plan")
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+public class VacationPlannerController {
+    private static final int DEFAULT_TOP = 5;
+
+    private final VacationPlanner vacationPlanner;
+    private final VacationDataValidator vacationDataValidator;
+    private final HolidaysChecker holidaysChecker;
+
+    @GetMapping
+    public ResponseEntity<VacationPlans> plan(@RequestParam(value = "days")
+                                              @Min(value = (1), message = "Неверно указано количество дней отпуска")
+                                              @Max(value = (366), message = "Неверно указано количество дней отпуска") int days,
+                                              @RequestParam(value = "year", required = false) Integer year,
+                                              @RequestParam(value = "parts", defaultValue = "1")
+                                              @Min(value = (1), message = "Неверно указано количество частей отпуска")
+                                              @Max(value = (10), message = "Неверно указано количество частей отпуска") int parts,
+                                              @RequestParam(value = "top", required = false)
+                                              @Min(value = (1), message = "Неверно указано количество вариантов")
+                                              @Max(value = (100), message = "Неверно указано количество вариантов") Integer top,
+                                              @RequestParam(value = "region", required = false) String region) {
+        CalendarSnapshot calendar = holidaysChecker.currentCalendar();
+        if (region != null) {
+            calendar = vacationDataValidator.regionalCalendar(region, calendar);
+        }
+        int planYear = CalculationParameters.calendarYear(year, calendar);
+        //для разбиения на части подбирается один вариант, для одного периода по умолчанию - пять
+        int planTop = top != null ? top : parts == 1 ? DEFAULT_TOP : 1;
+        log.debug("'plan' is called with days = {}, year = {}, parts = {}, top = {}, region = {}",
+                days, planYear, parts, planTop, region);
+        vacationDataValidator.validateCalendarYear(planYear, calendar);
+        VacationPlans plans = vacationPlanner.plan(planYear, days, parts, planTop, calendar);
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(CALENDAR_VERSION_HEADER, String.valueOf(calendar.getVersion()))
+                .body(plans);
+    }
+}
@@ -3,11 +3,16 @@ package ru.development.vacation_calculator.errorhandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.development.vacation_calculator.controller.CalculationParameters;
 import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
 
+import javax.validation.ConstraintViolationException;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 
@@ -16,11 +21,62 @@ import static ru.development.vacation_calculator.constants.Constants.TIME_PATTER
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private volatile FormattedTime lastTime = new FormattedTime(0, "");
 
-    @ExceptionHandler({MethodArgumentNotValidException.class, DateTimeException.class, InvalidVacationDatesException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, DateTimeException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handle(RuntimeException exception) {
         log.warn("Exception message: {}", exception.getMessage());
-        return new ErrorResponse(exception.getMessage(), LocalDateTime.now().format(TIME_PATTERN));
+        return new ErrorResponse(exception.getMessage(), now());
+    }
+
+    //отклоненные данные клиента - штатная ситуация, при потоке таких запросов WARN на каждый из них только мешает
+    @ExceptionHandler(InvalidVacationDatesException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(InvalidVacationDatesException exception) {
+        if (log.isDebugEnabled()) {
+            log.debug("Exception message: {}", exception.getMessage());
+        }
+        return new ErrorResponse(exception.getMessage(), now());
+    }
+
+    //ошибки параметров расчета дают те же ответы, что в реактивном режиме: "метод.параметр: сообщение", 400
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(ConstraintViolationException exception) {
+        if (log.isDebugEnabled()) {
+            log.debug("Exception message: {}", exception.getMessage());
+        }
+        return new ErrorResponse(exception.getMessage(), now());
+    }
+
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(Exception exception, HandlerMethod handlerMethod) {
+        String parameter = exception instanceof MissingServletRequestParameterException
+                ? ((MissingServletRequestParameterException) exception).getParameterName()
+                : ((MethodArgumentTypeMismatchException) exception).getName();
+        return handle(CalculationParameters.invalidParameter(handlerMethod.getMethod().getName(), parameter));
+    }
+
+    //время в ответе с точностью до секунды, поэтому строка форматируется не чаще раза в секунду
+    private String now() {
+        long currentSecond = System.currentTimeMillis() / 1000;
+        FormattedTime time = lastTime;
+        if (time.second != currentSecond) {
+            time = new FormattedTime(currentSecond, LocalDateTime.now().format(TIME_PATTERN));
+            lastTime = time;
+        }
+        return time.formatted;
+    }
+
+    private static class FormattedTime {
+        private final long second;
+        private final String formatted;
+
+        private FormattedTime(long second, String formatted) {
+            this.second = second;
+            this.formatted = formatted;
+        }
     }
 }
@@ -1,7 +1,30 @@
 package ru.development.vacation_calculator.exceptions;
 
+import ru.development.vacation_calculator.validation.ValidationResult;
+
+/**
+ * Ошибка входных данных клиента. Стек вызовов не заполняется: исключение описывает данные запроса,
+ * а не место в коде, и не должно стоить дороже успешного расчета.
+ */
 public class InvalidVacationDatesException extends RuntimeException {
+    private final transient ValidationResult validationResult;
+
     public InvalidVacationDatesException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.validationResult = null;
+    }
+
+    public InvalidVacationDatesException(ValidationResult validationResult) {
+        super(null, null, false, false);
+        this.validationResult = validationResult;
+    }
+
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    @Override
+    public String getMessage() {
+        return validationResult != null ? validationResult.getMessage() : super.getMessage();
     }
 }
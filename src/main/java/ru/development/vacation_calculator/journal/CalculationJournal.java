@@ -0,0 +1,15 @@
+package ru.development.vacation_calculator.journal;
+
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.VacationData;
+
+/**
+ * Журнал расчетов для аудита: входные данные, результат и версия календаря каждого расчета.
+ * Запись не должна блокировать расчет, поэтому реализации пишут на диск асинхронно.
+ */
+public interface CalculationJournal {
+    CalculationJournal DISABLED = (vacationData, calendar, vacationPayment) -> {
+    };
+
+    void append(VacationData vacationData, CalendarSnapshot calendar, double vacationPayment);
+}
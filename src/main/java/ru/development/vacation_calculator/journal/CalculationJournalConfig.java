@@ -0,0 +1,16 @@
+package ru.development.vacation_calculator.journal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CalculationJournalConfig {
+
+    //без журнала расчет работает как раньше, включается свойством journal.enabled=true
+    @Bean
+    @ConditionalOnProperty(name = "journal.enabled", havingValue = "false", matchIfMissing = true)
+    public CalculationJournal disabledCalculationJournal() {
+        return CalculationJournal.DISABLED;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.development.vacation_calculator.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Формат сегмента журнала расчетов. Сегмент - заголовок и записи фиксированной длины по 64 байта, порядок байт
+ * big-endian. Запись заканчивается CRC32 первых 60 байт: после аварийного завершения чтение останавливается
+ * на первой недописанной записи.
+ * <pre>
+ * заголовок, 64 байта: int магическое число | int версия формата | int размер записи | int резерв
+ *                      | long номер первой записи | long время создания (epoch millis) | 32 байта резерв
+ * запись, 64 байта:    long номер | long время (epoch millis) | long зарплата (биты double)
+ *                      | long отпускные (биты double) | long хэш календаря | long регион (до 8 символов ASCII, 0 - федеральный)
+ *                      | int дней отпуска | int начало (epoch day) | int окончание (epoch day) | int CRC32
+ * </pre>
+ * Хэш календаря - {@link ru.development.vacation_calculator.calendar.CalendarSnapshot#getContentHash()}: в отличие
+ * от номера версии он указывает на те же данные календаря и после перезапуска приложения.
+ */
+public final class JournalFormat {
+    public static final int MAGIC = 0x4A524E4C;
+    public static final int FORMAT_VERSION = 2;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 64;
+    //значение необязательного поля (дни, начало, окончание), которое не указано
+    public static final int NOT_SET = Integer.MIN_VALUE;
+    public static final String SEGMENT_PREFIX = "calculations-";
+    public static final String SEGMENT_SUFFIX = ".journal";
+
+    static final int SEQUENCE_OFFSET = 0;
+    static final int TIMESTAMP_OFFSET = 8;
+    static final int SALARY_OFFSET = 16;
+    static final int PAYMENT_OFFSET = 24;
+    static final int CALENDAR_HASH_OFFSET = 32;
+    static final int REGION_OFFSET = 40;
+    static final int DAYS_OFFSET = 48;
+    static final int START_OFFSET = 52;
+    static final int END_OFFSET = 56;
+    static final int CRC_OFFSET = 60;
+
+    private static final int HEADER_RECORD_SIZE_OFFSET = 8;
+    private static final int HEADER_FIRST_SEQUENCE_OFFSET = 16;
+    private static final int HEADER_CREATED_AT_OFFSET = 24;
+    private static final int REGION_MAX_LENGTH = 8;
+
+    private JournalFormat() {
+    }
+
+    public static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    public static boolean isSegmentName(String fileName) {
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static void putHeader(ByteBuffer segment, long firstSequence, long createdAtMillis) {
+        segment.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putInt(HEADER_RECORD_SIZE_OFFSET, RECORD_SIZE)
+                .putLong(HEADER_FIRST_SEQUENCE_OFFSET, firstSequence)
+                .putLong(HEADER_CREATED_AT_OFFSET, createdAtMillis);
+    }
+
+    //номер первой записи сегмента
+    static long checkHeader(ByteBuffer segment, String name) {
+        if (segment.limit() < HEADER_SIZE || segment.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Файл " + name + " не является сегментом журнала расчетов");
+        }
+        if (segment.getInt(4) != FORMAT_VERSION || segment.getInt(HEADER_RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+            throw new IllegalArgumentException("Неподдерживаемая версия формата сегмента журнала " + name);
+        }
+        return segment.getLong(HEADER_FIRST_SEQUENCE_OFFSET);
+    }
+
+    //запись по смещению целая и имеет ожидаемый номер
+    static boolean isValid(ByteBuffer segment, int offset, long expectedSequence, CRC32 crc) {
+        if (offset + RECORD_SIZE > segment.limit() || segment.getLong(offset + SEQUENCE_OFFSET) != expectedSequence) {
+            return false;
+        }
+        return segment.getInt(offset + CRC_OFFSET) == checksum(segment, offset, crc);
+    }
+
+    static int checksum(ByteBuffer buffer, int offset, CRC32 crc) {
+        crc.reset();
+        crc.update(buffer.duplicate().limit(offset + CRC_OFFSET).position(offset));
+        return (int) crc.getValue();
+    }
+
+    static long encodeRegion(String region) {
+        if (region == null) {
+            return 0;
+        }
+        byte[] bytes = region.getBytes(StandardCharsets.US_ASCII);
+        long encoded = 0;
+        for (int i = 0; i < REGION_MAX_LENGTH; i++) {
+            encoded = encoded << 8 | (i < bytes.length ? bytes[i] & 0xFF : 0);
+        }
+        return encoded;
+    }
+
+    static String decodeRegion(long encoded) {
+        if (encoded == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[REGION_MAX_LENGTH];
+        int length = 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            byte value = (byte) (encoded >>> shift);
+            if (value == 0) {
+                break;
+            }
+            bytes[length++] = value;
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    static int encodeDate(LocalDate date) {
+        return date == null ? NOT_SET : (int) date.toEpochDay();
+    }
+
+    static LocalDate decodeDate(int epochDay) {
+        return epochDay == NOT_SET ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
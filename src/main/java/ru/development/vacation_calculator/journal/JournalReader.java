@@ -0,0 +1,96 @@
+package ru.development.vacation_calculator.journal;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Чтение сегментов журнала расчетов. Запуск как утилиты выводит записи в CSV:
+ * {@code java -cp vacation-calculator.jar -Dloader.main=ru.development.vacation_calculator.journal.JournalReader
+ * org.springframework.boot.loader.PropertiesLauncher <каталог журнала или файлы сегментов>}
+ */
+public final class JournalReader {
+    private static final String CSV_HEADER =
+            "sequence,timestamp,salary,vacation_days,vacation_start,vacation_end,region,calendar,vacation_payment";
+
+    private JournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Использование: JournalReader <каталог журнала или файлы сегментов>");
+        }
+        PrintStream out = System.out;
+        out.println(CSV_HEADER);
+        for (String arg : args) {
+            Path path = Paths.get(arg);
+            for (Path segment : Files.isDirectory(path) ? segments(path) : List.of(path)) {
+                read(segment, record -> out.println(toCsv(record)));
+            }
+        }
+        out.flush();
+    }
+
+    //сегменты каталога в порядке номеров записей
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> JournalFormat.isSegmentName(file.getFileName().toString()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public static long readAll(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path segment : segments(directory)) {
+            count += read(segment, consumer);
+        }
+        return count;
+    }
+
+    //число прочитанных записей; чтение останавливается на первой недописанной записи
+    public static long read(Path segment, Consumer<JournalRecord> consumer) throws IOException {
+        JournalSegment journalSegment = JournalSegment.open(segment);
+        CRC32 crc = new CRC32();
+        int index = 0;
+        while (journalSegment.isValid(index, crc)) {
+            consumer.accept(journalSegment.get(index));
+            index++;
+        }
+        return index;
+    }
+
+    //номер записи, следующей за последней целой записью сегмента
+    static long nextSequence(Path segment) throws IOException {
+        JournalSegment journalSegment = JournalSegment.open(segment);
+        return journalSegment.getFirstSequence() + journalSegment.count();
+    }
+
+    private static String toCsv(JournalRecord record) {
+        return record.getSequence() + ","
+                + Instant.ofEpochMilli(record.getTimestampMillis()) + ","
+                + record.getSalary() + ","
+                + nullToEmpty(record.getVacationDays()) + ","
+                + nullToEmpty(record.getVacationStart()) + ","
+                + nullToEmpty(record.getVacationEnd()) + ","
+                + nullToEmpty(record.getRegion()) + ","
+                + record.getCalendarId() + ","
+                + record.getVacationPayment();
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
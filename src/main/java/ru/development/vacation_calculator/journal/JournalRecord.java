@@ -0,0 +1,46 @@
+package ru.development.vacation_calculator.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.VacationData;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalRecord {
+    private long sequence;
+    private long timestampMillis;
+    private double salary;
+    private Integer vacationDays;
+    private LocalDate vacationStart;
+    private LocalDate vacationEnd;
+    private String region;
+    private long calendarHash;
+    private double vacationPayment;
+
+    public String getCalendarId() {
+        return CalendarSnapshot.contentId(calendarHash);
+    }
+
+    public VacationData toVacationData() {
+        return new VacationData(salary, vacationDays, vacationStart, vacationEnd);
+    }
+
+    static JournalRecord read(ByteBuffer segment, int offset) {
+        int vacationDays = segment.getInt(offset + JournalFormat.DAYS_OFFSET);
+        return new JournalRecord(segment.getLong(offset + JournalFormat.SEQUENCE_OFFSET),
+                segment.getLong(offset + JournalFormat.TIMESTAMP_OFFSET),
+                Double.longBitsToDouble(segment.getLong(offset + JournalFormat.SALARY_OFFSET)),
+                vacationDays == JournalFormat.NOT_SET ? null : vacationDays,
+                JournalFormat.decodeDate(segment.getInt(offset + JournalFormat.START_OFFSET)),
+                JournalFormat.decodeDate(segment.getInt(offset + JournalFormat.END_OFFSET)),
+                JournalFormat.decodeRegion(segment.getLong(offset + JournalFormat.REGION_OFFSET)),
+                segment.getLong(offset + JournalFormat.CALENDAR_HASH_OFFSET),
+                Double.longBitsToDouble(segment.getLong(offset + JournalFormat.PAYMENT_OFFSET)));
+    }
+}
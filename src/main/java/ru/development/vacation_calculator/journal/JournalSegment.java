@@ -0,0 +1,68 @@
+package ru.development.vacation_calculator.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Сегмент журнала, отображенный в память только для чтения. Записи доступны по индексу без копирования буфера,
+ * поэтому разные потоки могут читать разные диапазоны одного сегмента одновременно (у каждого свой CRC32).
+ * Целые записи идут подряд с начала сегмента: первая недописанная запись - конец данных.
+ */
+public class JournalSegment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long firstSequence;
+    private final int capacity;
+
+    private JournalSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.firstSequence = JournalFormat.checkHeader(buffer, path.toString());
+        this.capacity = (buffer.limit() - JournalFormat.HEADER_SIZE) / JournalFormat.RECORD_SIZE;
+    }
+
+    public static JournalSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new JournalSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+
+    //число мест под записи; целых записей может быть меньше
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isValid(int index, CRC32 crc) {
+        return index < capacity && JournalFormat.isValid(buffer, offset(index), firstSequence + index, crc);
+    }
+
+    public JournalRecord get(int index) {
+        return JournalRecord.read(buffer, offset(index));
+    }
+
+    //число целых записей с начала сегмента
+    public int count() {
+        CRC32 crc = new CRC32();
+        int index = 0;
+        while (isValid(index, crc)) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int offset(int index) {
+        return JournalFormat.HEADER_SIZE + index * JournalFormat.RECORD_SIZE;
+    }
+}
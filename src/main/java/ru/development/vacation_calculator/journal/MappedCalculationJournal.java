@@ -0,0 +1,302 @@
+package ru.development.vacation_calculator.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.VacationData;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал расчетов с отложенной записью. Потоки расчета занимают слот в кольцевом буфере CAS-ом и копируют в него
+ * запись фиксированной длины; единственный поток записи переносит готовые записи в отображенный в память сегмент
+ * и вызывает fsync группами.
+ * <p>
+ * Журнал не гарантирует запись каждого расчета. Если кольцо заполнено, поток расчета будит поток записи и ждет
+ * освобождения слота не дольше journal.full-wait-micros; если диск не успевает и за это время, запись отбрасывается.
+ * При длительной перегрузке диска теряется доля записей, равная превышению потока расчетов над скоростью записи,
+ * и эта потеря ничем не ограничена сверху - ограничена только задержка расчета. Записанные и отброшенные записи
+ * видны на /admin/metrics как vacation_journal_written_total и vacation_journal_dropped_total. После остановки
+ * потока записи из-за ошибки записи отбрасываются сразу, без ожидания.
+ * При аварийном завершении теряется не больше ring-capacity записей из кольца и записей, накопленных после
+ * последнего fsync (не больше fsync.batch-records и не дольше fsync.interval-millis).
+ */
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+@Slf4j
+public class MappedCalculationJournal implements CalculationJournal {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_DRAIN_BATCH = 1024;
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final ByteBuffer ring;
+    //номер записи + 1 в слоте означает, что производитель закончил ее копирование
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final CalculationMetrics calculationMetrics;
+    private final long fullWaitNanos;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long fsyncIntervalNanos;
+    private final int fsyncBatchRecords;
+    private final long baseSequence;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    //состояние потока записи
+    private final ByteBuffer ringView;
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer segment;
+    private int segmentPosition;
+    private int unforcedRecords;
+    private long lastForceNanos = System.nanoTime();
+    private long lastDropLogNanos = System.nanoTime();
+    private long loggedDropped;
+
+    @Autowired
+    public MappedCalculationJournal(CalculationMetrics calculationMetrics,
+                                    @Value("${journal.directory}") String directory,
+                                    @Value("${journal.ring-capacity:65536}") int ringCapacity,
+                                    @Value("${journal.segment-records:1048576}") int segmentRecords,
+                                    @Value("${journal.fsync.interval-millis:100}") long fsyncIntervalMillis,
+                                    @Value("${journal.fsync.batch-records:8192}") int fsyncBatchRecords,
+                                    @Value("${journal.full-wait-micros:1000}") long fullWaitMicros) {
+        this(calculationMetrics, absoluteDirectory(directory), ringCapacity, segmentRecords,
+                TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis), fsyncBatchRecords,
+                TimeUnit.MICROSECONDS.toNanos(fullWaitMicros), true);
+    }
+
+    MappedCalculationJournal(CalculationMetrics calculationMetrics, Path directory, int ringCapacity,
+                             int segmentRecords, long fsyncIntervalNanos, int fsyncBatchRecords, long fullWaitNanos,
+                             boolean startWriter) {
+        if (ringCapacity < 1 || segmentRecords < 1) {
+            throw new IllegalArgumentException("Размер кольца и сегмента журнала должен быть положительным");
+        }
+        if (fullWaitNanos < 0) {
+            throw new IllegalArgumentException("Ожидание места в журнале не может быть отрицательным");
+        }
+        this.calculationMetrics = calculationMetrics;
+        this.fullWaitNanos = fullWaitNanos;
+        int capacity = ringCapacity == 1 ? 1 : Integer.highestOneBit(ringCapacity - 1) << 1;
+        this.ring = ByteBuffer.allocateDirect(capacity * JournalFormat.RECORD_SIZE);
+        this.ringView = ring.duplicate();
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.fsyncIntervalNanos = fsyncIntervalNanos;
+        this.fsyncBatchRecords = fsyncBatchRecords;
+        try {
+            Files.createDirectories(directory);
+            this.baseSequence = recoverNextSequence(directory);
+            openSegment(baseSequence);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось открыть журнал расчетов в " + directory, e);
+        }
+        this.writer = new Thread(this::writeLoop, "calculation-journal-writer");
+        writer.setDaemon(true);
+        if (startWriter) {
+            writer.start();
+        }
+        log.info("Calculation journal opened in {}: next record {}, ring of {} records, segment of {} records, "
+                        + "fsync every {} records or {} ms", directory.toAbsolutePath(), baseSequence, capacity,
+                segmentRecords, fsyncBatchRecords, TimeUnit.NANOSECONDS.toMillis(fsyncIntervalNanos));
+    }
+
+    //относительный каталог зависел бы от рабочего каталога процесса, например каталога сборки при запуске тестов
+    private static Path absoluteDirectory(String directory) {
+        Path path = Paths.get(directory);
+        if (!path.isAbsolute()) {
+            throw new IllegalArgumentException("Каталог журнала расчетов journal.directory должен быть абсолютным путем: "
+                    + directory);
+        }
+        return path;
+    }
+
+    @Override
+    public void append(VacationData vacationData, CalendarSnapshot calendar, double vacationPayment) {
+        long slot = claimSlot();
+        if (slot < 0) {
+            calculationMetrics.countJournalDropped();
+            return;
+        }
+        int index = (int) (slot & mask);
+        int offset = index * JournalFormat.RECORD_SIZE;
+        Integer vacationDays = vacationData.getVacationDays();
+        ring.putLong(offset + JournalFormat.SEQUENCE_OFFSET, baseSequence + slot)
+                .putLong(offset + JournalFormat.TIMESTAMP_OFFSET, System.currentTimeMillis())
+                .putLong(offset + JournalFormat.SALARY_OFFSET, Double.doubleToRawLongBits(vacationData.getSalary()))
+                .putLong(offset + JournalFormat.PAYMENT_OFFSET, Double.doubleToRawLongBits(vacationPayment))
+                .putLong(offset + JournalFormat.CALENDAR_HASH_OFFSET, calendar.getContentHash())
+                .putLong(offset + JournalFormat.REGION_OFFSET, JournalFormat.encodeRegion(calendar.getRegion()))
+                .putInt(offset + JournalFormat.DAYS_OFFSET, vacationDays == null ? JournalFormat.NOT_SET : vacationDays)
+                .putInt(offset + JournalFormat.START_OFFSET, JournalFormat.encodeDate(vacationData.getVacationStart()))
+                .putInt(offset + JournalFormat.END_OFFSET, JournalFormat.encodeDate(vacationData.getVacationEnd()));
+        published.lazySet(index, slot + 1);
+    }
+
+    //номер занятого слота или -1, если кольцо осталось заполненным дольше fullWaitNanos
+    private long claimSlot() {
+        long deadline = 0;
+        boolean waiting = false;
+        while (true) {
+            long slot = tail.get();
+            if (slot - head <= mask) {
+                if (tail.compareAndSet(slot, slot + 1)) {
+                    return slot;
+                }
+            } else if (!running || fullWaitNanos == 0) {
+                return -1;
+            } else if (!waiting) {
+                waiting = true;
+                deadline = System.nanoTime() + fullWaitNanos;
+                LockSupport.unpark(writer);
+            } else if (System.nanoTime() - deadline >= 0) {
+                return -1;
+            } else {
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        }
+    }
+
+    public long getWritten() {
+        return calculationMetrics.getJournalWritten();
+    }
+
+    public long getDropped() {
+        return calculationMetrics.getJournalDropped();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+        log.info("Calculation journal closed: {} records written, {} dropped", getWritten(), getDropped());
+    }
+
+    private void writeLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    forceIfDue(System.nanoTime());
+                    logDropped();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            //остаток кольца после остановки; записи, которые производители не успели дописать, теряются
+            while (drain() > 0) {
+                //продолжаем, пока есть готовые записи
+            }
+            force();
+        } catch (IOException | RuntimeException e) {
+            running = false;
+            log.error("Calculation journal writer stopped, new records will be dropped", e);
+        }
+    }
+
+    //переносит в сегмент подряд идущие готовые записи, возвращает их число
+    int drain() throws IOException {
+        long next = head;
+        int count = 0;
+        while (count < MAX_DRAIN_BATCH) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next + 1) {
+                break;
+            }
+            if (segmentPosition + JournalFormat.RECORD_SIZE > segment.limit()) {
+                force();
+                openSegment(baseSequence + next);
+            }
+            int offset = index * JournalFormat.RECORD_SIZE;
+            ringView.limit(offset + JournalFormat.RECORD_SIZE).position(offset);
+            segment.position(segmentPosition);
+            segment.put(ringView);
+            segment.putInt(segmentPosition + JournalFormat.CRC_OFFSET,
+                    JournalFormat.checksum(segment, segmentPosition, crc));
+            segmentPosition += JournalFormat.RECORD_SIZE;
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            head = next;
+            calculationMetrics.countJournalWritten(count);
+            unforcedRecords += count;
+            if (unforcedRecords >= fsyncBatchRecords) {
+                force();
+            }
+        }
+        return count;
+    }
+
+    private void forceIfDue(long nowNanos) {
+        if (unforcedRecords > 0 && nowNanos - lastForceNanos >= fsyncIntervalNanos) {
+            force();
+        }
+    }
+
+    private void force() {
+        if (unforcedRecords > 0) {
+            segment.force();
+            unforcedRecords = 0;
+        }
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void logDropped() {
+        long now = System.nanoTime();
+        if (now - lastDropLogNanos < DROP_LOG_INTERVAL_NANOS) {
+            return;
+        }
+        lastDropLogNanos = now;
+        long total = getDropped();
+        if (total != loggedDropped) {
+            log.warn("Calculation journal ring is full: {} records dropped since start", total);
+            loggedDropped = total;
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(firstSequence));
+        long size = JournalFormat.HEADER_SIZE + (long) segmentRecords * JournalFormat.RECORD_SIZE;
+        //существующий файл бывает только пустым сегментом прошлого запуска, его остатки затираются
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        JournalFormat.putHeader(segment, firstSequence, System.currentTimeMillis());
+        segmentPosition = JournalFormat.HEADER_SIZE;
+        log.debug("Calculation journal segment {} opened", file);
+    }
+
+    //номер, с которого продолжится журнал: следующий за последней целой записью последнего сегмента
+    private static long recoverNextSequence(Path directory) throws IOException {
+        List<Path> segments = JournalReader.segments(directory);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        return JournalReader.nextSequence(segments.get(segments.size() - 1));
+    }
+}
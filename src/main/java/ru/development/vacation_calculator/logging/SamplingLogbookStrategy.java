@@ -0,0 +1,116 @@
+package ru.development.vacation_calculator.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.Sink;
+import org.zalando.logbook.Strategy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Стратегия Logbook для эксплуатационного режима: запрос и ответ пишутся одной записью после завершения запроса
+ * и только если запрос попал в выборку своего эндпоинта, выполнялся дольше порога или завершился ошибкой.
+ * Решение о выборке принимается по correlation id, поэтому оно одинаково на всех этапах обработки запроса.
+ * Correlation id появляется только после обработки запроса, а тело нужно начать буферизовать до этого, поэтому
+ * у потоковых эндпоинтов тела не буферизуются вообще: их запросы пишутся в журнал без тел.
+ */
+@Component
+@ConditionalOnProperty(name = "logbook.sampling.enabled", havingValue = "true")
+@Slf4j
+public class SamplingLogbookStrategy implements Strategy {
+    private static final int RATE_SCALE = 1_000_000;
+
+    private final String[] streamingPrefixes;
+    private final String[] pathPrefixes;
+    private final int[] pathThresholds;
+    private final int defaultThreshold;
+    private final long slowThresholdMillis;
+    private final int failedStatus;
+
+    public SamplingLogbookStrategy(@Value("#{${logbook.sampling.rates:{:}}}") Map<String, Double> rates,
+                                   @Value("${logbook.sampling.default-rate:1.0}") double defaultRate,
+                                   @Value("${logbook.tail.slow-threshold-millis:500}") long slowThresholdMillis,
+                                   @Value("${logbook.tail.failed-status:400}") int failedStatus,
+                                   @Value("${logbook.sampling.streaming-paths:/calculate/batch,/calculate/binary}")
+                                   String[] streamingPrefixes) {
+        this.streamingPrefixes = streamingPrefixes.clone();
+        //самый длинный префикс проверяется первым, чтобы /calculate/batch не попадал под правило /calculate
+        this.pathPrefixes = rates.keySet().stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toArray(String[]::new);
+        this.pathThresholds = new int[pathPrefixes.length];
+        for (int i = 0; i < pathPrefixes.length; i++) {
+            pathThresholds[i] = toThreshold(rates.get(pathPrefixes[i]));
+        }
+        this.defaultThreshold = toThreshold(defaultRate);
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.failedStatus = failedStatus;
+        log.info("Logbook sampling: default rate {}, per-endpoint rates {}, slow threshold {} ms, failed status >= {}, "
+                        + "streaming endpoints without bodies {}",
+                defaultRate, rates, slowThresholdMillis, failedStatus, Arrays.toString(streamingPrefixes));
+    }
+
+    //тела буферизуются только для непотоковых эндпоинтов, которые вообще могут попасть в выборку,
+    //медленные и ошибочные запросы остальных эндпоинтов пишутся без тел
+    @Override
+    public HttpRequest process(HttpRequest request) throws IOException {
+        return isBodyLogged(request.getPath()) ? request.withBody() : request.withoutBody();
+    }
+
+    //запрос пишется вместе с ответом, когда уже известны статус и длительность
+    @Override
+    public void write(Precorrelation precorrelation, HttpRequest request, Sink sink) {
+    }
+
+    @Override
+    public HttpResponse process(HttpRequest request, HttpResponse response) throws IOException {
+        return isBodyLogged(request.getPath()) ? response.withBody() : response.withoutBody();
+    }
+
+    @Override
+    public void write(Correlation correlation, HttpRequest request, HttpResponse response, Sink sink) throws IOException {
+        if (response.getStatus() >= failedStatus
+                || correlation.getDuration().toMillis() >= slowThresholdMillis
+                || isSampled(correlation.getId(), thresholdFor(request.getPath()))) {
+            sink.writeBoth(correlation, request, response);
+        }
+    }
+
+    boolean isSampled(String correlationId, int threshold) {
+        return threshold >= RATE_SCALE || (threshold > 0 && Math.floorMod(correlationId.hashCode(), RATE_SCALE) < threshold);
+    }
+
+    boolean isBodyLogged(String path) {
+        for (String prefix : streamingPrefixes) {
+            if (path.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return thresholdFor(path) > 0;
+    }
+
+    int thresholdFor(String path) {
+        for (int i = 0; i < pathPrefixes.length; i++) {
+            if (path.startsWith(pathPrefixes[i])) {
+                return pathThresholds[i];
+            }
+        }
+        return defaultThreshold;
+    }
+
+    private static int toThreshold(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Доля логируемых запросов должна быть в диапазоне от 0 до 1: " + rate);
+        }
+        return (int) Math.round(rate * RATE_SCALE);
+    }
+}
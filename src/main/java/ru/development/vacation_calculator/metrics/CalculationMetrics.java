@@ -0,0 +1,211 @@
+package ru.development.vacation_calculator.metrics;
+
+import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.validation.ValidationError;
+import ru.development.vacation_calculator.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики конвейера расчета: задержки по этапам, число расчетов по режиму, источники результатов и отказы проверки
+ * по причинам. Это собственная реализация без Micrometer: задержки - в {@link LatencyHistogram}, счетчики -
+ * в LongAdder. Значения накапливаются с момента запуска приложения и отдаются в текстовом формате Prometheus.
+ * Этапы validation, holidays и payment выполняются только при промахе кэша расчетов, поэтому задержку ответа
+ * целиком, с попаданиями в кэш и ответами 304, показывает отдельный этап response. Счетчики журнала расчетов
+ * остаются нулевыми, пока журнал выключен.
+ */
+@Component
+public class CalculationMetrics {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final LatencyHistogram[] stageLatencies = new LatencyHistogram[Stage.values().length];
+    private final LongAdder[] calculationsByMode = new LongAdder[CalculationMode.values().length];
+    private final LongAdder[] rejectionsByReason = new LongAdder[ValidationError.values().length];
+    private final LongAdder[] resultsBySource = new LongAdder[ResultSource.values().length];
+    private final LongAdder journalWritten = new LongAdder();
+    private final LongAdder journalDropped = new LongAdder();
+
+    public CalculationMetrics() {
+        for (int i = 0; i < stageLatencies.length; i++) {
+            stageLatencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < calculationsByMode.length; i++) {
+            calculationsByMode[i] = new LongAdder();
+        }
+        for (int i = 0; i < rejectionsByReason.length; i++) {
+            rejectionsByReason[i] = new LongAdder();
+        }
+        for (int i = 0; i < resultsBySource.length; i++) {
+            resultsBySource[i] = new LongAdder();
+        }
+    }
+
+    //startNanos - значение System.nanoTime() в начале этапа
+    public void recordStage(Stage stage, long startNanos) {
+        stageLatencies[stage.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void countCalculation(VacationData vacationData) {
+        CalculationMode mode = vacationData.getVacationStart() == null || vacationData.getVacationEnd() == null
+                ? CalculationMode.DAYS : CalculationMode.PERIOD;
+        calculationsByMode[mode.ordinal()].increment();
+    }
+
+    public void countRejection(ValidationResult validationResult) {
+        if (validationResult != null && !validationResult.isValid()) {
+            rejectionsByReason[validationResult.getError().ordinal()].increment();
+        }
+    }
+
+    public void countResult(ResultSource source) {
+        resultsBySource[source.ordinal()].increment();
+    }
+
+    public void countJournalWritten(long records) {
+        journalWritten.add(records);
+    }
+
+    public void countJournalDropped() {
+        journalDropped.increment();
+    }
+
+    public LatencyHistogram getStageLatency(Stage stage) {
+        return stageLatencies[stage.ordinal()];
+    }
+
+    public long getCalculations(CalculationMode mode) {
+        return calculationsByMode[mode.ordinal()].sum();
+    }
+
+    public long getRejections(ValidationError reason) {
+        return rejectionsByReason[reason.ordinal()].sum();
+    }
+
+    public long getResults(ResultSource source) {
+        return resultsBySource[source.ordinal()].sum();
+    }
+
+    public long getJournalWritten() {
+        return journalWritten.sum();
+    }
+
+    public long getJournalDropped() {
+        return journalDropped.sum();
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        writer.write("# HELP vacation_calculation_stage_seconds Latency of the calculation pipeline stages\n");
+        writer.write("# TYPE vacation_calculation_stage_seconds summary\n");
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = getStageLatency(stage);
+            String label = "stage=\"" + stage.getLabel() + "\"";
+            long[] values = histogram.getValuesAtQuantiles(QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                writeSample(writer, "vacation_calculation_stage_seconds",
+                        label + ",quantile=\"" + QUANTILES[i] + "\"", seconds(values[i]));
+            }
+            writeSample(writer, "vacation_calculation_stage_seconds_count", label, Long.toString(histogram.getCount()));
+            writeSample(writer, "vacation_calculation_stage_seconds_sum", label, seconds(histogram.getSum()));
+        }
+        writer.write("# HELP vacation_calculation_stage_seconds_max Maximum latency of the calculation pipeline stages\n");
+        writer.write("# TYPE vacation_calculation_stage_seconds_max gauge\n");
+        for (Stage stage : Stage.values()) {
+            writeSample(writer, "vacation_calculation_stage_seconds_max", "stage=\"" + stage.getLabel() + "\"",
+                    seconds(getStageLatency(stage).getMax()));
+        }
+        writer.write("# HELP vacation_calculations_total Calculations by mode\n");
+        writer.write("# TYPE vacation_calculations_total counter\n");
+        for (CalculationMode mode : CalculationMode.values()) {
+            writeSample(writer, "vacation_calculations_total", "mode=\"" + mode.getLabel() + "\"",
+                    Long.toString(getCalculations(mode)));
+        }
+        writer.write("# HELP vacation_calculation_results_total Successful calculation results by source\n");
+        writer.write("# TYPE vacation_calculation_results_total counter\n");
+        for (ResultSource source : ResultSource.values()) {
+            writeSample(writer, "vacation_calculation_results_total", "source=\"" + source.getLabel() + "\"",
+                    Long.toString(getResults(source)));
+        }
+        writer.write("# HELP vacation_validation_failures_total Rejected calculations by validation failure reason\n");
+        writer.write("# TYPE vacation_validation_failures_total counter\n");
+        for (ValidationError reason : ValidationError.values()) {
+            writeSample(writer, "vacation_validation_failures_total",
+                    "reason=\"" + reason.name().toLowerCase(Locale.ROOT) + "\"", Long.toString(getRejections(reason)));
+        }
+        writer.write("# HELP vacation_journal_written_total Calculation journal records written to segments\n");
+        writer.write("# TYPE vacation_journal_written_total counter\n");
+        writer.write("vacation_journal_written_total " + getJournalWritten() + "\n");
+        writer.write("# HELP vacation_journal_dropped_total Calculation journal records dropped because the ring stayed full\n");
+        writer.write("# TYPE vacation_journal_dropped_total counter\n");
+        writer.write("vacation_journal_dropped_total " + getJournalDropped() + "\n");
+    }
+
+    private static void writeSample(Writer writer, String name, String labels, String value) throws IOException {
+        writer.write(name);
+        writer.write('{');
+        writer.write(labels);
+        writer.write("} ");
+        writer.write(value);
+        writer.write('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+
+    public enum Stage {
+        BINDING("binding"),
+        VALIDATION("validation"),
+        HOLIDAYS("holidays"),
+        PAYMENT("payment"),
+        //от начала обработки запроса до готового ответа, включая попадания в кэш и ответы 304
+        RESPONSE("response");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum ResultSource {
+        CALCULATED("calculated"),
+        //дождались такого же расчета, начатого другим запросом
+        JOINED("joined"),
+        CACHE("cache"),
+        NOT_MODIFIED("not_modified");
+
+        private final String label;
+
+        ResultSource(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum CalculationMode {
+        DAYS("days"),
+        PERIOD("period");
+
+        private final String label;
+
+        CalculationMode(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+}
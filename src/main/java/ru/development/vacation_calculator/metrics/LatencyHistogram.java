@@ -0,0 +1,90 @@
+package ru.development.vacation_calculator.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек в наносекундах с лог-линейными корзинами, как в HdrHistogram: каждая степень двойки
+ * делится на 32 равные части, поэтому относительная погрешность квантилей не превышает ~3%.
+ * Запись - одно атомарное увеличение счетчика корзины без блокировок и без создания объектов.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    //значения больше 2^40 нс (~18 минут) попадают в последнюю корзину
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_TRACKABLE_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.getAndIncrement(indexOf(Math.min(value, MAX_TRACKABLE_VALUE)));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Значения для нескольких квантилей за один проход по корзинам; квантили должны идти по возрастанию.
+     * Возвращается верхняя граница корзины, в которую попал квантиль.
+     */
+    public long[] getValuesAtQuantiles(double... quantiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long[] values = new long[quantiles.length];
+        if (total == 0) {
+            return values;
+        }
+        long seen = 0;
+        int bucket = 0;
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            while (bucket < BUCKET_COUNT - 1 && seen + counts[bucket] < rank) {
+                seen += counts[bucket];
+                bucket++;
+            }
+            values[q] = upperBoundOf(bucket);
+        }
+        return values;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
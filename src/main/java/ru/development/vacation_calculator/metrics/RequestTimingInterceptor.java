@@ -0,0 +1,20 @@
+package ru.development.vacation_calculator.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Запоминает момент перед разбором параметров запроса, чтобы контроллер мог измерить время привязки и
+ * проверки аргументов Spring MVC.
+ */
+public class RequestTimingInterceptor implements HandlerInterceptor {
+    public static final String HANDLER_START_ATTRIBUTE = RequestTimingInterceptor.class.getName() + ".START";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(HANDLER_START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+}
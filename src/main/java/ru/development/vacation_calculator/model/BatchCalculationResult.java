@@ -0,0 +1,25 @@
+package ru.development.vacation_calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchCalculationResult {
+    private long line;
+    private Double payment;
+    private Long calendarVersion;
+    private String error;
+
+    public static BatchCalculationResult success(long line, double payment, long calendarVersion) {
+        return new BatchCalculationResult(line, payment, calendarVersion, null);
+    }
+
+    public static BatchCalculationResult failure(long line, String error) {
+        return new BatchCalculationResult(line, null, null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.development.vacation_calculator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
@@ -0,0 +1,18 @@
+package ru.development.vacation_calculator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarInfo {
+    private long version;
+    //хэш содержимого календаря, одинаков на всех экземплярах с одними данными
+    private String contentId;
+    private String loadedAt;
+    private List<Integer> years;
+}
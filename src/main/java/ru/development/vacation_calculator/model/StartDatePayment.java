@@ -0,0 +1,20 @@
+package ru.development.vacation_calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartDatePayment {
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate vacationStart;
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate vacationEnd;
+    private int paidDays;
+    private double payment;
+}
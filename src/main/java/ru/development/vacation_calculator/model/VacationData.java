@@ -1,12 +1,15 @@
 package ru.development.vacation_calculator.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class VacationData {
@@ -14,7 +17,9 @@ public class VacationData {
 
     private Integer vacationDays;
 
+    @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate vacationStart;
 
+    @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate vacationEnd;
 }
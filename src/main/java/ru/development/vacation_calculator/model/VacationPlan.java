@@ -0,0 +1,15 @@
+package ru.development.vacation_calculator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VacationPlan {
+    private int daysOff;
+    private List<VacationWindow> windows;
+}
@@ -0,0 +1,18 @@
+package ru.development.vacation_calculator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VacationPlans {
+    private int year;
+    private int paidDays;
+    private int parts;
+    private long calendarVersion;
+    private List<VacationPlan> plans;
+}
@@ -0,0 +1,18 @@
+package ru.development.vacation_calculator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class YearPaymentMatrix {
+    private double salary;
+    private int vacationLength;
+    private int year;
+    private long calendarVersion;
+    private List<StartDatePayment> payments;
+}
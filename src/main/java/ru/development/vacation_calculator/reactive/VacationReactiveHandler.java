@@ -0,0 +1,152 @@
+package ru.development.vacation_calculator.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.development.vacation_calculator.batch.VacationBatchService;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.controller.CalculationParameters;
+import ru.development.vacation_calculator.errorhandler.ErrorResponse;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import javax.validation.ConstraintViolationException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static ru.development.vacation_calculator.constants.Constants.CALENDAR_VERSION_HEADER;
+import static ru.development.vacation_calculator.constants.Constants.TIME_PATTERN;
+import static ru.development.vacation_calculator.controller.CalculationParameters.DAYS;
+import static ru.development.vacation_calculator.controller.CalculationParameters.END;
+import static ru.development.vacation_calculator.controller.CalculationParameters.SALARY;
+import static ru.development.vacation_calculator.controller.CalculationParameters.START;
+
+/**
+ * Обработчики реактивного режима. Параметры привязываются так же, как в режиме сервлетов, и ошибки дают те же
+ * сообщения. Расчет и записи пакета считаются на параллельном планировщике, а не в потоке event loop: расчет может
+ * ждать такой же расчет в другом потоке, записей пакета одновременно обрабатывается ограниченное число.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class VacationReactiveHandler {
+    private static final MediaType PROMETHEUS_CONTENT_TYPE = MediaType.parseMediaType("text/plain; version=0.0.4");
+
+    private final HolidaysChecker holidaysChecker;
+    private final VacationDataValidator vacationDataValidator;
+    private final VacationBatchService vacationBatchService;
+    private final CalculationMetrics calculationMetrics;
+    private final int concurrency;
+    private final int prefetch;
+
+    public VacationReactiveHandler(HolidaysChecker holidaysChecker,
+                                   VacationDataValidator vacationDataValidator,
+                                   VacationBatchService vacationBatchService,
+                                   CalculationMetrics calculationMetrics,
+                                   @Value("${batch.threads:0}") int threads,
+                                   @Value("${batch.window-size:256}") int windowSize) {
+        this.holidaysChecker = holidaysChecker;
+        this.vacationDataValidator = vacationDataValidator;
+        this.vacationBatchService = vacationBatchService;
+        this.calculationMetrics = calculationMetrics;
+        this.concurrency = threads > 0 ? threads : Schedulers.DEFAULT_POOL_SIZE;
+        this.prefetch = windowSize;
+    }
+
+    public Mono<ServerResponse> calculate(ServerRequest request) {
+        long bindingStart = System.nanoTime();
+        VacationData vacationData;
+        CalendarSnapshot calendar;
+        try {
+            vacationData = CalculationParameters.bind("calculate", param(request, SALARY), param(request, DAYS),
+                    param(request, START), param(request, END));
+            calendar = currentCalendar(request);
+        } catch (ConstraintViolationException | InvalidVacationDatesException | DateTimeException e) {
+            return badRequest(e.getMessage());
+        }
+        calculationMetrics.recordStage(CalculationMetrics.Stage.BINDING, bindingStart);
+        if (log.isDebugEnabled()) {
+            log.debug("'calculate' is called with {}, region = {}", vacationData, calendar.getRegion());
+        }
+        //при совпадении ключа с расчетом в другом потоке кэш ждет его результата, поэтому не в потоке event loop
+        return Mono.fromCallable(() -> vacationBatchService.calculate(vacationData, 0, calendar))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(result -> result.getError() != null
+                        ? badRequest(result.getError())
+                        : ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(CALENDAR_VERSION_HEADER, String.valueOf(result.getCalendarVersion()))
+                        .bodyValue(result.getPayment()));
+    }
+
+    //строки запрашиваются у Netty по мере расчета: в работе не больше concurrency записей и prefetch строк в очереди
+    public Mono<ServerResponse> calculateBatch(ServerRequest request) {
+        log.debug("'calculateBatch' is called");
+        CalendarSnapshot calendar;
+        try {
+            calendar = currentCalendar(request);
+        } catch (InvalidVacationDatesException e) {
+            return badRequest(e.getMessage());
+        }
+        Flux<BatchCalculationResult> results = request.bodyToFlux(String.class)
+                .index((index, json) -> new BatchLine(index + 1, json))
+                .filter(line -> !line.json.isBlank())
+                .flatMapSequential(line -> Mono.fromCallable(
+                                        () -> vacationBatchService.calculate(line.number, line.json, calendar))
+                                .subscribeOn(Schedulers.parallel()),
+                        concurrency, prefetch);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, BatchCalculationResult.class);
+    }
+
+    public Mono<ServerResponse> metrics(ServerRequest request) {
+        StringWriter writer = new StringWriter();
+        try {
+            calculationMetrics.writePrometheus(writer);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+        return ServerResponse.ok().contentType(PROMETHEUS_CONTENT_TYPE).bodyValue(writer.toString());
+    }
+
+    private CalendarSnapshot currentCalendar(ServerRequest request) {
+        CalendarSnapshot calendar = holidaysChecker.currentCalendar();
+        Optional<String> region = request.queryParam("region");
+        return region.isEmpty() ? calendar : vacationDataValidator.regionalCalendar(region.get(), calendar);
+    }
+
+    private static String param(ServerRequest request, String name) {
+        return request.queryParam(name).orElse(null);
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(message, LocalDateTime.now().format(TIME_PATTERN)));
+    }
+
+    private static class BatchLine {
+        private final long number;
+        private final String json;
+
+        private BatchLine(long number, String json) {
+            this.number = number;
+            this.json = json;
+        }
+    }
+}
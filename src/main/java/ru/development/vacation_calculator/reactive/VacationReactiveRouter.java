@@ -0,0 +1,29 @@
+package ru.development.vacation_calculator.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+/**
+ * Маршруты реактивного режима (spring.main.web-application-type=reactive, профиль reactive).
+ * В режиме сервлетов те же адреса обслуживают VacationPaymentController и MetricsAdminController.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class VacationReactiveRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> vacationRoutes(VacationReactiveHandler handler) {
+        return RouterFunctions.route(GET("/calculate"), handler::calculate)
+                .andRoute(POST("/calculate/batch").and(contentType(MediaType.APPLICATION_NDJSON)), handler::calculateBatch)
+                .andRoute(GET("/admin/metrics"), handler::metrics);
+    }
+}
@@ -0,0 +1,205 @@
+package ru.development.vacation_calculator.recalculation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.journal.CalculationJournal;
+import ru.development.vacation_calculator.journal.JournalReader;
+import ru.development.vacation_calculator.journal.JournalRecord;
+import ru.development.vacation_calculator.journal.JournalSegment;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.VacationService;
+import ru.development.vacation_calculator.service.VacationServiceImpl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+
+/**
+ * Пересчет сохраненных в журнале расчетов по новому календарю. Сегменты обрабатываются по очереди, записи сегмента
+ * делятся между потоками fork-join пула; в вывод попадают только записи, результат которых изменился, в порядке
+ * номеров записей. Задачи не разделяют изменяемого состояния: у пересчета свои метрики и нет журнала,
+ * поэтому производительность растет с числом ядер.
+ */
+@Service
+@Slf4j
+public class RecalculationJob {
+    public static final String CSV_HEADER = "sequence,timestamp,salary,vacation_days,vacation_start,vacation_end,region,"
+            + "old_calendar,old_payment,new_calendar,new_payment,error";
+    //записей на одну задачу: достаточно, чтобы накладные расходы fork-join были незаметны
+    private static final int LEAF_SIZE = 2048;
+
+    private final VacationService vacationService;
+    private final int parallelism;
+
+    public RecalculationJob(HolidaysChecker holidaysChecker, @Value("${recalculation.parallelism:0}") int parallelism) {
+        //пересчет не должен попадать в журнал аудита и в метрики рабочих запросов
+        this.vacationService = new VacationServiceImpl(holidaysChecker, new CalculationMetrics(),
+                CalculationJournal.DISABLED);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public Summary run(Path journalDirectory, CalendarSnapshot calendar, Writer output) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long startedAt = System.nanoTime();
+        Summary summary = new Summary();
+        try {
+            output.write(CSV_HEADER);
+            output.write('\n');
+            for (Path path : JournalReader.segments(journalDirectory)) {
+                JournalSegment segment = JournalSegment.open(path);
+                Chunk result = pool.invoke(new RecalculationTask(segment, calendar, 0, segment.getCapacity()));
+                for (String changes : result.output) {
+                    output.write(changes);
+                }
+                output.flush();
+                summary.records += result.records;
+                summary.changed += result.changed;
+                log.debug("Journal segment {} recalculated: {} records, {} changed", path, result.records,
+                        result.changed);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        summary.nanos = System.nanoTime() - startedAt;
+        log.info("Recalculation with calendar {} finished: {} records, {} changed, {} threads, {} records/sec",
+                calendar.getContentId(), summary.records, summary.changed, parallelism,
+                String.format("%.0f", summary.records / Math.max(summary.nanos / 1_000_000_000.0, 1e-9)));
+        return summary;
+    }
+
+    //пересчет одной записи: строка CSV, если результат изменился, иначе null
+    private String recalculate(JournalRecord record, CalendarSnapshot calendar) {
+        String region = record.getRegion();
+        if (region != null && !calendar.hasRegion(region)) {
+            return toCsv(record, calendar, null, "Производственный календарь региона " + region + " не загружен");
+        }
+        //проверка соответствия дней и дат не повторяется: при изменении календаря она отклонила бы именно те
+        //записи, для которых нужна новая сумма
+        double payment;
+        try {
+            payment = vacationService.calculateVacationPay(record.toVacationData(), calendar.forRegion(region));
+        } catch (InvalidVacationDatesException | DateTimeException e) {
+            return toCsv(record, calendar, null, e.getMessage());
+        }
+        return Double.compare(payment, record.getVacationPayment()) == 0 ? null : toCsv(record, calendar, payment, null);
+    }
+
+    private static String toCsv(JournalRecord record, CalendarSnapshot calendar, Double newPayment, String error) {
+        return record.getSequence() + ","
+                + Instant.ofEpochMilli(record.getTimestampMillis()) + ","
+                + record.getSalary() + ","
+                + nullToEmpty(record.getVacationDays()) + ","
+                + nullToEmpty(record.getVacationStart()) + ","
+                + nullToEmpty(record.getVacationEnd()) + ","
+                + nullToEmpty(record.getRegion()) + ","
+                + record.getCalendarId() + ","
+                + record.getVacationPayment() + ","
+                + calendar.getContentId() + ","
+                + nullToEmpty(newPayment) + ","
+                + (error == null ? "" : "\"" + error.replace("\"", "\"\"") + "\"")
+                + "\n";
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    public static class Summary {
+        private long records;
+        private long changed;
+        private long nanos;
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getChanged() {
+            return changed;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    //результат диапазона записей; truncated - в диапазоне встретилась недописанная запись, дальше данных нет
+    private static class Chunk {
+        private final List<String> output;
+        private long records;
+        private long changed;
+        private boolean truncated;
+
+        private Chunk(List<String> output) {
+            this.output = output;
+        }
+    }
+
+    private class RecalculationTask extends RecursiveTask<Chunk> {
+        private final JournalSegment segment;
+        private final CalendarSnapshot calendar;
+        private final int from;
+        private final int to;
+
+        private RecalculationTask(JournalSegment segment, CalendarSnapshot calendar, int from, int to) {
+            this.segment = segment;
+            this.calendar = calendar;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (to - from <= LEAF_SIZE) {
+                return computeLeaf();
+            }
+            int middle = (from + to) >>> 1;
+            RecalculationTask right = new RecalculationTask(segment, calendar, middle, to);
+            right.fork();
+            Chunk left = new RecalculationTask(segment, calendar, from, middle).compute();
+            if (left.truncated) {
+                //записи после недописанной - остатки прошлого запуска или пустое место, их результат не нужен
+                right.cancel(false);
+                return left;
+            }
+            Chunk rightResult = right.join();
+            left.output.addAll(rightResult.output);
+            left.records += rightResult.records;
+            left.changed += rightResult.changed;
+            left.truncated = rightResult.truncated;
+            return left;
+        }
+
+        private Chunk computeLeaf() {
+            CRC32 crc = new CRC32();
+            StringBuilder changes = new StringBuilder();
+            Chunk chunk = new Chunk(new ArrayList<>());
+            for (int index = from; index < to; index++) {
+                if (!segment.isValid(index, crc)) {
+                    chunk.truncated = true;
+                    break;
+                }
+                String change = recalculate(segment.get(index), calendar);
+                chunk.records++;
+                if (change != null) {
+                    changes.append(change);
+                    chunk.changed++;
+                }
+            }
+            if (changes.length() > 0) {
+                chunk.output.add(changes.toString());
+            }
+            return chunk;
+        }
+    }
+}
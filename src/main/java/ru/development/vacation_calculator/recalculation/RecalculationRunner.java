@@ -0,0 +1,58 @@
+package ru.development.vacation_calculator.recalculation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.startup.CommandLineModeListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Консольный режим пересчета журнала расчетов по текущему календарю после его исправления.
+ * Пример: {@code --recalculation.journal=/var/lib/vacation-calculator/journal --recalculation.output=diff.csv
+ * --logging.level.ru.development.vacation_calculator=INFO} (отладочный лог каждого расчета замедлит пересчет).
+ * Журнал расчетов в этом режиме выключен независимо от настроек, см. {@link CommandLineModeListener}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty("recalculation.journal")
+public class RecalculationRunner implements ApplicationRunner {
+    public static final String JOURNAL_PROPERTY = "recalculation.journal";
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+
+    private final RecalculationJob recalculationJob;
+    private final HolidaysChecker holidaysChecker;
+
+    @Value("${recalculation.journal}")
+    private String journal;
+
+    @Value("${recalculation.output:}")
+    private String output;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path journalPath = Paths.get(journal);
+        CalendarSnapshot calendar = holidaysChecker.currentCalendar();
+        Path outputPath = output.isEmpty()
+                ? journalPath.resolve("recalculation-" + calendar.getContentId() + ".csv")
+                : Paths.get(output);
+        try (BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8),
+                IO_BUFFER_SIZE)) {
+            RecalculationJob.Summary summary = recalculationJob.run(journalPath, calendar, writer);
+            log.info("Journal {} recalculated: {} records, {} changed, result written to {}", journalPath,
+                    summary.getRecords(), summary.getChanged(), outputPath);
+        }
+    }
+}
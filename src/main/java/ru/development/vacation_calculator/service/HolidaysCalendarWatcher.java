@@ -0,0 +1,103 @@
+package ru.development.vacation_calculator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Следит за каталогом производственных календарей на файловой системе и перезагружает календарь при изменении файлов.
+ * Несколько событий подряд (редактор сохраняет файл в несколько приемов) схлопываются в одну перезагрузку.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "holidays.calendar.watch", havingValue = "true")
+//на бин никто не ссылается, при ленивой инициализации он бы так и не запустился
+@Lazy(false)
+public class HolidaysCalendarWatcher {
+    private final HolidaysChecker holidaysChecker;
+    private final Path directory;
+    private final long debounceMillis;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public HolidaysCalendarWatcher(HolidaysChecker holidaysChecker,
+                                   ResourceLoader resourceLoader,
+                                   @Value("${holidays.calendar.location}") String location,
+                                   @Value("${holidays.calendar.watch-debounce-millis:500}") long debounceMillis) throws IOException {
+        this.holidaysChecker = holidaysChecker;
+        this.directory = resourceLoader.getResource(location).getFile().toPath();
+        this.debounceMillis = debounceMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watcherThread = new Thread(this::watch, "holidays-calendar-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching holiday calendars in {}", directory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        watchService.close();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean calendarChanged = drain(key);
+                //ждем, пока файлы перестанут меняться
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    calendarChanged |= drain(key);
+                }
+                if (calendarChanged) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Holiday calendar watcher stopped");
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean calendarChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && context.toString().endsWith(".txt"))) {
+                calendarChanged = true;
+            }
+        }
+        key.reset();
+        return calendarChanged;
+    }
+
+    private void reload() {
+        try {
+            holidaysChecker.reload();
+        } catch (RuntimeException e) {
+            log.error("Holiday calendar reload failed, previous version is kept: {}", e.getMessage());
+        }
+    }
+}
@@ -1,32 +1,119 @@
 package ru.development.vacation_calculator.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
 import org.springframework.stereotype.Component;
-import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.calendar.BinaryHolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.CalendarReloadedEvent;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.calendar.RegionalCalendarDelta;
+import ru.development.vacation_calculator.calendar.ResourceHolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.ResourceRegionalCalendarSource;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
 public class HolidaysChecker {
-    private final Set<LocalDate> holidays;
+    //собирается при сборке из текстовых календарей того же каталога, см. HolidayCalendarCompiler
+    public static final String COMPILED_CALENDAR_FILE = "holidays.bin";
 
-    public HolidaysChecker(@Value("#{'${listOfHolidays}'.split(',')}") Set<String> holidays) {
-        this.holidays = holidays.stream().map(date -> LocalDate.parse(date, Constants.DATE_PATTERN)).collect(Collectors.toSet());
+    //календарь для перезагрузки; в режиме собранного календаря это текстовые файлы, а не holidays.bin со сборки
+    private final Supplier<HolidayCalendarStore> storeFactory;
+    private final Supplier<Map<String, RegionalCalendarDelta>> regionsFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<CalendarSnapshot> current;
+
+    @Autowired
+    public HolidaysChecker(ResourceLoader resourceLoader,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${holidays.calendar.location}") String location,
+                           @Value("${holidays.calendar.max-cached-years}") int maxCachedYears,
+                           @Value("${holidays.calendar.compiled:false}") boolean compiled) {
+        this(() -> new HolidayCalendarStore(createSource(resourceLoader, location, compiled), maxCachedYears),
+                () -> new HolidayCalendarStore(createSource(resourceLoader, location, false), maxCachedYears),
+                () -> new ResourceRegionalCalendarSource(ResourcePatternUtils.getResourcePatternResolver(resourceLoader),
+                        location).load(), eventPublisher);
+    }
+
+    public HolidaysChecker(HolidayCalendarStore holidays) {
+        this(() -> holidays, event -> {
+        });
+    }
+
+    public HolidaysChecker(Supplier<HolidayCalendarStore> storeFactory, ApplicationEventPublisher eventPublisher) {
+        this(storeFactory, Map::of, eventPublisher);
+    }
+
+    public HolidaysChecker(Supplier<HolidayCalendarStore> storeFactory,
+                           Supplier<Map<String, RegionalCalendarDelta>> regionsFactory,
+                           ApplicationEventPublisher eventPublisher) {
+        this(storeFactory, storeFactory, regionsFactory, eventPublisher);
+    }
+
+    //initialStoreFactory - календарь при старте, storeFactory - при перезагрузке
+    HolidaysChecker(Supplier<HolidayCalendarStore> initialStoreFactory,
+                    Supplier<HolidayCalendarStore> storeFactory,
+                    Supplier<Map<String, RegionalCalendarDelta>> regionsFactory,
+                    ApplicationEventPublisher eventPublisher) {
+        this.storeFactory = storeFactory;
+        this.regionsFactory = regionsFactory;
+        this.eventPublisher = eventPublisher;
+        this.current = new AtomicReference<>(new CalendarSnapshot(1, Instant.now(), initialStoreFactory.get(),
+                regionsFactory.get()));
+    }
+
+    private static HolidayCalendarSource createSource(ResourceLoader resourceLoader, String location, boolean compiled) {
+        if (compiled) {
+            return new BinaryHolidayCalendarSource(resourceLoader.getResource(location + COMPILED_CALENDAR_FILE));
+        }
+        return new ResourceHolidayCalendarSource(ResourcePatternUtils.getResourcePatternResolver(resourceLoader), location);
+    }
+
+    public CalendarSnapshot currentCalendar() {
+        return current.get();
+    }
+
+    //новый снимок собирается целиком до подмены, читатели продолжают работать со старым без блокировок
+    public synchronized CalendarSnapshot reload() {
+        CalendarSnapshot previous = current.get();
+        HolidayCalendarStore holidays = storeFactory.get();
+        for (int year : previous.getHolidays().getLoadedYears()) {
+            if (holidays.isYearAvailable(year)) {
+                holidays.preload(year);
+            }
+        }
+        CalendarSnapshot reloaded = new CalendarSnapshot(previous.getVersion() + 1, Instant.now(), holidays, regionsFactory.get());
+        current.set(reloaded);
+        log.info("Holiday calendar reloaded, version {} -> {}, content {}, years {}", previous.getVersion(),
+                reloaded.getVersion(), reloaded.getContentId(), holidays.getAvailableYears());
+        eventPublisher.publishEvent(new CalendarReloadedEvent(previous, reloaded));
+        return reloaded;
     }
 
     public int checkNumberOfHolidays(LocalDate start, LocalDate end) {
-        long count = holidays.stream()
-                .filter(element -> (element.isBefore(end) || element.isEqual(end)) && element.isAfter(start))
-                .count();
-        log.debug("Number of holidays in period: {}", count);
-        return (int) count;
+        int count = currentCalendar().checkNumberOfHolidays(start, end);
+        if (log.isDebugEnabled()) {
+            log.debug("Number of holidays in period: {}", count);
+        }
+        return count;
     }
 
     public boolean checkIfAHoliday(LocalDate date) {
-        return holidays.contains(date);
+        return currentCalendar().checkIfAHoliday(date);
+    }
+
+    public boolean checkIfCalendarIsAvailable(int year) {
+        return currentCalendar().checkIfCalendarIsAvailable(year);
     }
 }
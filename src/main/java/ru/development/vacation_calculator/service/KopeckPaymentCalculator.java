@@ -0,0 +1,75 @@
+package ru.development.vacation_calculator.service;
+
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+
+import static ru.development.vacation_calculator.constants.Constants.AVERAGE_NUMBER_OF_DAYS_PER_MONTH;
+import static ru.development.vacation_calculator.constants.Constants.NUMBER_OF_MONTHS;
+import static ru.development.vacation_calculator.constants.Constants.TAXES;
+
+/**
+ * Расчет отпускных в целых копейках: та же формула, что в PaymentCalculator, но без двоичных дробей,
+ * поэтому копейки отбрасываются точно, а не теряются на значениях вроде 0,29 * 100 = 28,999...
+ */
+public final class KopeckPaymentCalculator {
+    //границы входа calculatePayments: при них промежуточные произведения гарантированно помещаются в long
+    public static final long MAX_BULK_SALARY_KOPECKS = 10_000_000_000_000L;
+    public static final int MAX_BULK_VACATION_DAYS = 100_000;
+    //наибольшая допустимая зарплата за год: 100 млрд рублей, проверяется на всех входах расчета
+    public static final long MAX_SALARY_KOPECKS = MAX_BULK_SALARY_KOPECKS;
+    public static final String PAYMENT_TOO_LARGE_MESSAGE = "Сумма отпускных превышает допустимое значение";
+    private static final long KOPECKS_PER_RUBLE = 100;
+    //12 месяцев * 29,3 дня = 351,6 дня: деление на 351,6 выполняется как деление на 3516 десятых
+    private static final long TENTHS = 10;
+    private static final long TENTHS_OF_DAYS_PER_YEAR = Math.round(NUMBER_OF_MONTHS * AVERAGE_NUMBER_OF_DAYS_PER_MONTH * TENTHS);
+    private static final long PERCENT_AFTER_TAXES = 100 - TAXES;
+
+    private KopeckPaymentCalculator() {
+    }
+
+    public static double calculatePayment(double salaryForThePastYear, long vacationDays) {
+        return toRubles(calculatePayment(toKopecks(salaryForThePastYear), vacationDays));
+    }
+
+    //все значения в копейках, дробная часть копеек на каждом шаге отбрасывается;
+    //сумма, не помещающаяся в long (допустимая зарплата и миллиарды дней), - ошибка входных данных, а не сервера
+    public static long calculatePayment(long salaryForThePastYearKopecks, long vacationDays) {
+        try {
+            long finalPaymentBeforeTaxes = Math.multiplyExact(averageDailyIncome(salaryForThePastYearKopecks), vacationDays);
+            return Math.multiplyExact(finalPaymentBeforeTaxes, PERCENT_AFTER_TAXES) / 100;
+        } catch (ArithmeticException e) {
+            throw new InvalidVacationDatesException(PAYMENT_TOO_LARGE_MESSAGE);
+        }
+    }
+
+    //положительная зарплата не больше MAX_SALARY_KOPECKS; NaN и бесконечность не проходят
+    public static boolean isValidSalary(double salaryForThePastYear) {
+        return salaryForThePastYear > 0 && salaryForThePastYear * KOPECKS_PER_RUBLE <= MAX_SALARY_KOPECKS;
+    }
+
+    public static boolean isValidSalary(long salaryForThePastYearKopecks) {
+        return salaryForThePastYearKopecks > 0 && salaryForThePastYearKopecks <= MAX_SALARY_KOPECKS;
+    }
+
+    //та же формула над столбцами для индексов [from, to): без проверок переполнения и вызовов в теле цикла,
+    //чтобы JIT мог его развернуть; вызывающий код гарантирует MAX_BULK_SALARY_KOPECKS и MAX_BULK_VACATION_DAYS
+    public static void calculatePayments(long[] salaryForThePastYearKopecks, int[] vacationDays, long[] payments,
+                                         int from, int to) {
+        for (int i = from; i < to; i++) {
+            long averageDailyIncome = salaryForThePastYearKopecks[i] * TENTHS / TENTHS_OF_DAYS_PER_YEAR;
+            payments[i] = averageDailyIncome * vacationDays[i] * PERCENT_AFTER_TAXES / 100;
+        }
+    }
+
+    //Средний дневной заработок = Доходы за расчетный период / (Кол-во полных месяцев * Среднемесячное число календарных дней (29,3))
+    public static long averageDailyIncome(long salaryForThePastYearKopecks) {
+        return Math.multiplyExact(salaryForThePastYearKopecks, TENTHS) / TENTHS_OF_DAYS_PER_YEAR;
+    }
+
+    public static long toKopecks(double rubles) {
+        return Math.round(rubles * KOPECKS_PER_RUBLE);
+    }
+
+    public static double toRubles(long kopecks) {
+        return (double) kopecks / KOPECKS_PER_RUBLE;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.development.vacation_calculator.service;
+
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+
+/**
+ * Подсчет оплачиваемых дней отпуска на примитивах: без упаковки, логирования и создания объектов на вызов,
+ * чтобы пакетные и потоковые расчеты не нагружали сборщик мусора. Сумму считает KopeckPaymentCalculator.
+ */
+public final class PaymentCalculator {
+
+    private PaymentCalculator() {
+    }
+
+    //праздники внутри периода отпуска не оплачиваются и не входят в число дней отпуска
+    public static long countVacationDays(long startEpochDay, long endEpochDay, CalendarSnapshot calendar) {
+        return endEpochDay - startEpochDay + 1 - calendar.countHolidays(startEpochDay, endEpochDay);
+    }
+}
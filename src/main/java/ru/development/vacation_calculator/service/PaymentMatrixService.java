@@ -0,0 +1,72 @@
+package ru.development.vacation_calculator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.StartDatePayment;
+import ru.development.vacation_calculator.model.YearPaymentMatrix;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Отпускные для каждой допустимой даты начала отпуска в году при заданной длительности отпуска в календарных днях.
+ * Число праздников в окне считается скользящим окном за один проход по календарю: при сдвиге начала на день
+ * из окна уходит один день и добавляется один, поэтому год считается за O(365 + длительность).
+ */
+@Service
+@Slf4j
+public class PaymentMatrixService {
+
+    public YearPaymentMatrix calculateYear(double salary, int vacationLength, int year, CalendarSnapshot calendar) {
+        long firstStart = LocalDate.of(year, 1, 1).toEpochDay();
+        //окно последних дат начала уходит в следующие годы, считаем только те, что целиком покрыты календарем
+        long lastStart = Math.min(LocalDate.of(year, 12, 31).toEpochDay(),
+                lastCoveredEpochDay(year, calendar) - vacationLength + 1);
+        long salaryKopecks = KopeckPaymentCalculator.toKopecks(salary);
+        //сумма зависит только от числа оплачиваемых дней, а их в окне не больше vacationLength
+        long[] paymentByPaidDays = new long[vacationLength + 1];
+        List<StartDatePayment> payments = new ArrayList<>((int) Math.max(0, lastStart - firstStart + 1));
+
+        //праздники в окне [start, start + vacationLength - 1] включительно
+        int holidaysInWindow = 0;
+        for (long day = firstStart; day < firstStart + vacationLength; day++) {
+            if (calendar.isHoliday(day)) {
+                holidaysInWindow++;
+            }
+        }
+        for (long start = firstStart; start <= lastStart; start++) {
+            boolean startsWithHoliday = calendar.isHoliday(start);
+            if (!startsWithHoliday) { //отпуск не может начинаться с праздника
+                int paidDays = vacationLength - holidaysInWindow;
+                if (paidDays > 0) {
+                    if (paymentByPaidDays[paidDays] == 0) {
+                        paymentByPaidDays[paidDays] = KopeckPaymentCalculator.calculatePayment(salaryKopecks, paidDays);
+                    }
+                    payments.add(new StartDatePayment(LocalDate.ofEpochDay(start),
+                            LocalDate.ofEpochDay(start + vacationLength - 1), paidDays,
+                            KopeckPaymentCalculator.toRubles(paymentByPaidDays[paidDays])));
+                }
+            }
+            if (startsWithHoliday) {
+                holidaysInWindow--;
+            }
+            if (calendar.isHoliday(start + vacationLength)) {
+                holidaysInWindow++;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Payment matrix for {} calculated: length {}, start dates {}", year, vacationLength, payments.size());
+        }
+        return new YearPaymentMatrix(salary, vacationLength, year, calendar.getVersion(), payments);
+    }
+
+    private static long lastCoveredEpochDay(int year, CalendarSnapshot calendar) {
+        int lastYear = year;
+        while (calendar.checkIfCalendarIsAvailable(lastYear + 1)) {
+            lastYear++;
+        }
+        return LocalDate.of(lastYear, 12, 31).toEpochDay();
+    }
+}
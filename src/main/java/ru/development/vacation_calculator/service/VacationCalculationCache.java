@@ -0,0 +1,284 @@
+package ru.development.vacation_calculator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.calendar.CalendarReloadedEvent;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.metrics.CalculationMetrics.ResultSource;
+import ru.development.vacation_calculator.model.CacheStats;
+import ru.development.vacation_calculator.model.VacationData;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Кэш результатов расчета по нормализованным входным данным и версии календаря.
+ * Одновременные промахи по одному ключу схлопываются: считает первый запрос, остальные ждут его результат.
+ * Вместе со значением возвращается его источник: посчитано этим запросом, дождались чужого расчета или взято из кэша.
+ * Ошибки валидации не кэшируются. Размер ограничен maxSize (вытесняются самые старые записи), время жизни - ttl.
+ * В очередь вытеснения попадают только успешно посчитанные записи; позиции замененных записей пропускаются,
+ * а сама очередь не длиннее 2 * maxSize.
+ */
+@Component
+@Slf4j
+public class VacationCalculationCache {
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public VacationCalculationCache(@Value("${calculation.cache.max-size:10000}") int maxSize,
+                                    @Value("${calculation.cache.ttl-seconds:600}") long ttlSeconds) {
+        this(maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    VacationCalculationCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    public Result<Double> get(VacationData vacationData, CalendarSnapshot calendar, DoubleSupplier calculation) {
+        if (maxSize <= 0) {
+            return new Result<>(calculation.getAsDouble(), ResultSource.CALCULATED);
+        }
+        Lookup lookup = lookup(vacationData, calendar, calculation);
+        return new Result<>(await(lookup.entry.value), lookup.source);
+    }
+
+    //тело JSON-ответа с результатом: сериализуется один раз на запись кэша, повторные попадания отдают готовый массив
+    public Result<byte[]> getSerialized(VacationData vacationData, CalendarSnapshot calendar,
+                                        DoubleSupplier calculation) {
+        if (maxSize <= 0) {
+            return new Result<>(serialize(calculation.getAsDouble()), ResultSource.CALCULATED);
+        }
+        Lookup lookup = lookup(vacationData, calendar, calculation);
+        Entry entry = lookup.entry;
+        byte[] serialized = entry.serialized;
+        if (serialized == null) {
+            serialized = serialize(await(entry.value));
+            entry.serialized = serialized;
+        }
+        return new Result<>(serialized, lookup.source);
+    }
+
+    //запись с готовым значением; при ошибке расчета запись удаляется, а исключение пробрасывается.
+    //Запись, значение которой еще считает другой поток, - JOINED: этот запрос ждал расчета, но сам его не выполнял
+    private Lookup lookup(VacationData vacationData, CalendarSnapshot calendar, DoubleSupplier calculation) {
+        Key key = new Key(vacationData, calendar.getVersion(), calendar.getRegion());
+        Entry entry = entries.get(key);
+        long now = clock.getAsLong();
+        if (entry != null && now - entry.createdAt <= ttlNanos) {
+            hits.increment();
+            return new Lookup(entry, sourceOf(entry));
+        }
+        Entry created = new Entry(now);
+        Entry existing = entry == null ? entries.putIfAbsent(key, created) : replaceExpired(key, entry, created);
+        if (existing != null) {
+            hits.increment();
+            return new Lookup(existing, sourceOf(existing));
+        }
+        misses.increment();
+        try {
+            created.value.complete(calculation.getAsDouble());
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.value.completeExceptionally(e);
+            throw e;
+        }
+        insertionOrder.add(new Node(key, created));
+        queued.incrementAndGet();
+        evictOverflow();
+        return new Lookup(created, ResultSource.CALCULATED);
+    }
+
+    private static ResultSource sourceOf(Entry entry) {
+        return entry.value.isDone() ? ResultSource.CACHE : ResultSource.JOINED;
+    }
+
+    @EventListener
+    public void onCalendarReloaded(CalendarReloadedEvent event) {
+        log.debug("Calculation cache is cleared after calendar reload to version {}", event.getCurrent().getVersion());
+        clear();
+    }
+
+    public void clear() {
+        int size = entries.size();
+        entries.clear();
+        while (insertionOrder.poll() != null) {
+            queued.decrementAndGet();
+        }
+        evictions.add(size);
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    //просроченная запись заменяется только одним из конкурирующих потоков, остальные получают новую
+    private Entry replaceExpired(Key key, Entry expired, Entry created) {
+        if (entries.replace(key, expired, created)) {
+            evictions.increment();
+            return null;
+        }
+        return entries.putIfAbsent(key, created);
+    }
+
+    int queuedEntries() {
+        return queued.get();
+    }
+
+    //позиция устарела, если по ключу уже другая запись (после замены просроченной) или записи нет;
+    //лишние позиции выбираются, даже когда кэш не переполнен, живая запись при этом возвращается в конец очереди
+    private void evictOverflow() {
+        while (entries.size() > maxSize || queued.get() > 2 * maxSize) {
+            Node eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (entries.size() > maxSize) {
+                queued.decrementAndGet();
+                if (entries.remove(eldest.key, eldest.entry)) {
+                    evictions.increment();
+                }
+            } else if (entries.get(eldest.key) == eldest.entry) {
+                insertionOrder.add(eldest);
+            } else {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    //так же, как Jackson записывает double
+    private static byte[] serialize(double value) {
+        return Double.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static double await(CompletableFuture<Double> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    //результат запроса к кэшу и его источник для метрик
+    public static final class Result<T> {
+        private final T value;
+        private final ResultSource source;
+
+        private Result(T value, ResultSource source) {
+            this.value = value;
+            this.source = source;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public ResultSource getSource() {
+            return source;
+        }
+    }
+
+    private static final class Lookup {
+        private final Entry entry;
+        private final ResultSource source;
+
+        private Lookup(Entry entry, ResultSource source) {
+            this.entry = entry;
+            this.source = source;
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Double> value = new CompletableFuture<>();
+        private final long createdAt;
+        //гонка при заполнении безопасна: все потоки получают одинаковые массивы
+        private volatile byte[] serialized;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class Node {
+        private final Key key;
+        private final Entry entry;
+
+        private Node(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+    private static final class Key {
+        private final long salaryBits;
+        private final int vacationDays;
+        private final long vacationStart;
+        private final long vacationEnd;
+        private final long calendarVersion;
+        //null - федеральный календарь
+        private final String region;
+
+        private Key(VacationData vacationData, long calendarVersion, String region) {
+            this.salaryBits = Double.doubleToLongBits(vacationData.getSalary());
+            this.vacationDays = vacationData.getVacationDays() == null ? -1 : vacationData.getVacationDays();
+            this.vacationStart = toEpochDay(vacationData.getVacationStart());
+            this.vacationEnd = toEpochDay(vacationData.getVacationEnd());
+            this.calendarVersion = calendarVersion;
+            this.region = region;
+        }
+
+        private static long toEpochDay(LocalDate date) {
+            return date == null ? Long.MIN_VALUE : date.toEpochDay();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return salaryBits == key.salaryBits && vacationDays == key.vacationDays
+                    && vacationStart == key.vacationStart && vacationEnd == key.vacationEnd
+                    && calendarVersion == key.calendarVersion && Objects.equals(region, key.region);
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = salaryBits;
+            hash = 31 * hash + vacationDays;
+            hash = 31 * hash + vacationStart;
+            hash = 31 * hash + vacationEnd;
+            hash = 31 * hash + calendarVersion;
+            hash = 31 * hash + Objects.hashCode(region);
+            return Long.hashCode(hash);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package ru.development.vacation_calculator.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.model.VacationPlan;
+import ru.development.vacation_calculator.model.VacationPlans;
+import ru.development.vacation_calculator.model.VacationWindow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Подбор периодов отпуска, захватывающих больше всего праздников: праздники внутри периода не входят
+ * в число оплачиваемых дней, поэтому те же K дней отпуска дают больше дней отдыха.
+ * <p>
+ * Год сводится к массиву рабочих дней W (дни, с которых можно начать отпуск) и массиву gap, где gap[j] -
+ * число праздников между W[j] и W[j + 1]. Отпуск на k дней с началом W[i] продлевается до дня перед W[i + k]
+ * и захватывает gap[i] + ... + gap[i + k - 1] праздников. Один период ищется скользящим окном за O(n),
+ * разбиение на M частей - динамикой за O(n * M * K); для разбиения возвращается один лучший вариант.
+ */
+@Service
+@Slf4j
+public class VacationPlanner {
+    private static final int OUTSIDE = 0;
+    private static final int INSIDE = 1;
+    private static final int IMPOSSIBLE = Integer.MIN_VALUE;
+
+    public VacationPlans plan(int year, int paidDays, int parts, int top, CalendarSnapshot calendar) {
+        if (parts > 1 && top > 1) {
+            throw new InvalidVacationDatesException("Для отпуска из нескольких частей подбирается только один вариант");
+        }
+        YearIndex index = YearIndex.of(year, calendar);
+        List<VacationPlan> plans = parts == 1
+                ? findBestWindows(index, paidDays, top)
+                : findBestSplit(index, paidDays, parts);
+        if (log.isDebugEnabled()) {
+            log.debug("Vacation plans for {} calculated: paid days {}, parts {}, plans {}", year, paidDays, parts, plans.size());
+        }
+        return new VacationPlans(year, paidDays, parts, calendar.getVersion(), plans);
+    }
+
+    private List<VacationPlan> findBestWindows(YearIndex index, int paidDays, int top) {
+        if (paidDays > index.size()) {
+            return Collections.emptyList();
+        }
+        //в куче top лучших окон, на вершине худшее из них: меньше праздников, при равенстве - более позднее начало
+        PriorityQueue<int[]> best = new PriorityQueue<>(top + 1, (first, second) -> first[1] != second[1]
+                ? Integer.compare(first[1], second[1]) : Integer.compare(second[0], first[0]));
+        int captured = 0;
+        for (int j = 0; j < paidDays; j++) {
+            captured += index.gap[j];
+        }
+        for (int start = 0; start + paidDays <= index.size(); start++) {
+            if (start > 0) {
+                captured += index.gap[start + paidDays - 1] - index.gap[start - 1];
+            }
+            if (best.size() < top || captured > best.peek()[1]) {
+                best.offer(new int[]{start, captured});
+                if (best.size() > top) {
+                    best.poll();
+                }
+            }
+        }
+        List<VacationPlan> plans = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int[] window = best.poll();
+            VacationWindow vacationWindow = index.window(window[0], paidDays);
+            plans.add(new VacationPlan(vacationWindow.getDaysOff(), List.of(vacationWindow)));
+        }
+        Collections.reverse(plans);
+        return plans;
+    }
+
+    /**
+     * dp[m][b][state] - наибольшее число праздников после очередного рабочего дня, если начато m частей,
+     * оплачено b дней, а state показывает, идет ли сейчас часть. Рабочий день между частями пропускается,
+     * иначе две соседние части были бы одним периодом. Считаются только b, из которых оставшихся рабочих дней
+     * хватает до paidDays, а для восстановления ответа на каждом шаге хранится один бит - прежнее состояние:
+     * состояние INSIDE само означает, что день оплачен.
+     */
+    private List<VacationPlan> findBestSplit(YearIndex index, int paidDays, int parts) {
+        int n = index.size();
+        if (paidDays + parts - 1 > n) {
+            return Collections.emptyList();
+        }
+        //ячейки одного b лежат подряд: внутренний цикл по m идет по памяти последовательно
+        int stride = (parts + 1) * 2;
+        int cells = (paidDays + 1) * stride;
+        int[] current = new int[cells];
+        int[] next = new int[cells];
+        long[] choices = new long[(n * cells + Long.SIZE - 1) / Long.SIZE];
+        Arrays.fill(current, IMPOSSIBLE);
+        current[OUTSIDE] = 0;
+        for (int j = 0; j < n; j++) {
+            //после j рабочих дней оплачено не больше j, а оставшихся n - j дней должно хватить до paidDays
+            int low = Math.max(0, paidDays - (n - j));
+            int high = Math.min(paidDays, j);
+            int nextHigh = Math.min(paidDays, high + 1);
+            Arrays.fill(next, low * stride, (nextHigh + 1) * stride, IMPOSSIBLE);
+            int offset = j * cells;
+            int gap = index.gap[j];
+            for (int b = low; b <= high; b++) {
+                //в каждой начатой части есть оплаченный день, и на каждую оставшуюся часть нужен хотя бы один день
+                int lastPart = Math.min(parts, b);
+                for (int m = Math.max(0, parts - (paidDays - b)); m <= lastPart; m++) {
+                    int base = b * stride + m * 2;
+                    int outside = current[base + OUTSIDE];
+                    int inside = current[base + INSIDE];
+                    //день пропущен: часть, если шла, заканчивается
+                    int skipped = Math.max(outside, inside);
+                    if (skipped != IMPOSSIBLE && skipped > next[base + OUTSIDE]) {
+                        next[base + OUTSIDE] = skipped;
+                        setChoice(choices, offset + base + OUTSIDE, outside >= inside ? OUTSIDE : INSIDE);
+                    }
+                    if (b == paidDays) {
+                        continue;
+                    }
+                    int target = base + stride + INSIDE;
+                    //день оплачен и продолжает текущую часть
+                    if (inside != IMPOSSIBLE && inside + gap > next[target]) {
+                        next[target] = inside + gap;
+                        setChoice(choices, offset + target, INSIDE);
+                    }
+                    //день оплачен и начинает новую часть
+                    if (m < parts && outside != IMPOSSIBLE) {
+                        int started = base + stride + 2 + INSIDE;
+                        if (outside + gap > next[started]) {
+                            next[started] = outside + gap;
+                            setChoice(choices, offset + started, OUTSIDE);
+                        }
+                    }
+                }
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+        }
+        int finalBase = paidDays * stride + parts * 2;
+        int state = current[finalBase + OUTSIDE] >= current[finalBase + INSIDE] ? OUTSIDE : INSIDE;
+        if (current[finalBase + state] == IMPOSSIBLE) {
+            return Collections.emptyList();
+        }
+        return List.of(restore(index, choices, cells, parts, paidDays, stride, state));
+    }
+
+    private static VacationPlan restore(YearIndex index, long[] choices, int cells,
+                                        int parts, int paidDays, int stride, int finalState) {
+        List<VacationWindow> windows = new ArrayList<>(parts);
+        int m = parts;
+        int b = paidDays;
+        int state = finalState;
+        int windowEnd = -1;
+        for (int j = index.size() - 1; j >= 0; j--) {
+            int previousState = choice(choices, j * cells + b * stride + m * 2 + state);
+            if (state == INSIDE) {
+                if (windowEnd < 0) {
+                    windowEnd = j;
+                }
+                if (previousState == OUTSIDE) { //здесь часть началась
+                    windows.add(index.window(j, windowEnd - j + 1));
+                    windowEnd = -1;
+                    m--;
+                }
+                b--;
+            }
+            state = previousState;
+        }
+        Collections.reverse(windows);
+        int daysOff = 0;
+        for (VacationWindow window : windows) {
+            daysOff += window.getDaysOff();
+        }
+        return new VacationPlan(daysOff, windows);
+    }
+
+    private static void setChoice(long[] choices, int cell, int previousState) {
+        long mask = 1L << cell;
+        int word = cell / Long.SIZE;
+        choices[word] = choices[word] & ~mask | -(long) previousState & mask;
+    }
+
+    private static int choice(long[] choices, int cell) {
+        return (int) (choices[cell / Long.SIZE] >>> cell) & 1;
+    }
+
+    private static class YearIndex {
+        private final long[] workdays;
+        private final int[] gap;
+
+        private YearIndex(long[] workdays, int[] gap) {
+            this.workdays = workdays;
+            this.gap = gap;
+        }
+
+        static YearIndex of(int year, CalendarSnapshot calendar) {
+            long first = LocalDate.of(year, 1, 1).toEpochDay();
+            long last = LocalDate.of(year, 12, 31).toEpochDay();
+            long[] workdays = new long[(int) (last - first + 1)];
+            int count = 0;
+            for (long day = first; day <= last; day++) {
+                if (!calendar.isHoliday(day)) {
+                    workdays[count++] = day;
+                }
+            }
+            int[] gap = new int[count];
+            for (int j = 0; j < count; j++) {
+                long nextWorkday = j + 1 < count ? workdays[j + 1] : last + 1;
+                gap[j] = (int) (nextWorkday - workdays[j] - 1);
+            }
+            return new YearIndex(Arrays.copyOf(workdays, count), gap);
+        }
+
+        int size() {
+            return gap.length;
+        }
+
+        //окно из paidDays рабочих дней с началом в workdays[start] вместе с праздниками до следующего рабочего дня
+        VacationWindow window(int start, int paidDays) {
+            int lastPaid = start + paidDays - 1;
+            long end = workdays[lastPaid] + gap[lastPaid];
+            int daysOff = (int) (end - workdays[start] + 1);
+            return new VacationWindow(LocalDate.ofEpochDay(workdays[start]), LocalDate.ofEpochDay(end), paidDays, daysOff);
+        }
+    }
+}
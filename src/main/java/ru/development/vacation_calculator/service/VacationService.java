@@ -1,7 +1,10 @@
 package ru.development.vacation_calculator.service;
 
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
 import ru.development.vacation_calculator.model.VacationData;
 
 public interface VacationService {
     double calculateVacationPay(VacationData vacationData);
+
+    double calculateVacationPay(VacationData vacationData, CalendarSnapshot calendar);
 }
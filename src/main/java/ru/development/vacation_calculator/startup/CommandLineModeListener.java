@@ -0,0 +1,46 @@
+package ru.development.vacation_calculator.startup;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import ru.development.vacation_calculator.batch.CsvPayrollRunner;
+import ru.development.vacation_calculator.recalculation.RecalculationRunner;
+
+import java.util.Map;
+
+/**
+ * Консольные режимы (пакетный расчет CSV, пересчет журнала) включаются свойствами payroll.csv.input
+ * и recalculation.journal из любого источника: аргументов, переменных окружения или файлов настроек.
+ * Для них добавляются свойства, которые нельзя переопределить: веб-сервер не запускается, а журнал расчетов
+ * выключается всегда - пересчет читает каталог журнала, и открытый в нем новый сегмент с номерами следующих
+ * записей сбил бы нумерацию работающего сервера при его перезапуске.
+ */
+public class CommandLineModeListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+    static final String PROPERTY_SOURCE_NAME = "commandLineMode";
+    private static final Map<String, Object> PROPERTIES = Map.of(
+            "spring.main.web-application-type", "none",
+            "journal.enabled", "false");
+
+    public static boolean isCommandLineMode(Environment environment) {
+        return environment.containsProperty(CsvPayrollRunner.INPUT_PROPERTY)
+                || environment.containsProperty(RecalculationRunner.JOURNAL_PROPERTY);
+    }
+
+    //тип приложения берется из spring.main.* уже после этого события, поэтому веб-сервер еще можно отключить
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        ConfigurableEnvironment environment = event.getEnvironment();
+        if (isCommandLineMode(environment)) {
+            environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, PROPERTIES));
+        }
+    }
+
+    //после загрузки application.properties и профилей, чтобы учитывались и свойства из файлов настроек
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.development.vacation_calculator.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Отчет о запуске: сколько времени заняло создание каждого бина. Подключается из main,
+ * если приложение запущено с {@value #ENABLED_PROPERTY}=true, и печатает отчет один раз после старта.
+ */
+@Slf4j
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+    public static final String ENABLED_PROPERTY = "startup.report.enabled";
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+    private static final String BEAN_NAME_TAG = "beanName";
+    private static final int CAPACITY = 10_000;
+    private static final int REPORTED_BEANS = 30;
+
+    private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(CAPACITY);
+
+    public BufferingApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        StartupTimeline timeline = applicationStartup.drainBufferedTimeline();
+        //время бина включает время создания его зависимостей, поэтому суммировать строки отчета нельзя
+        List<StartupTimeline.TimelineEvent> beans = timeline.getEvents().stream()
+                .filter(timelineEvent -> BEAN_INSTANTIATION_STEP.equals(timelineEvent.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .collect(Collectors.toList());
+        StringBuilder report = new StringBuilder();
+        report.append("Startup timeline: ready in ")
+                .append(Duration.between(timeline.getStartTime(), Instant.now()).toMillis())
+                .append(" ms, beans instantiated: ").append(beans.size());
+        beans.stream().limit(REPORTED_BEANS).forEach(bean -> report.append(System.lineSeparator())
+                .append(String.format("%8d ms  %s", bean.getDuration().toMillis(), beanName(bean.getStartupStep()))));
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (BEAN_NAME_TAG.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
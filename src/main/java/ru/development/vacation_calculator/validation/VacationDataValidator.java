@@ -1,124 +1,100 @@
 package ru.development.vacation_calculator.validation;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
 import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
 import ru.development.vacation_calculator.model.VacationData;
 import ru.development.vacation_calculator.service.HolidaysChecker;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+
+import static ru.development.vacation_calculator.validation.ValidationResult.epochDay;
 
 @Component
 @Slf4j
 public class VacationDataValidator {
     private final HolidaysChecker holidaysChecker;
-    private final short currentYear;
 
-    public VacationDataValidator(HolidaysChecker holidaysChecker, @Value("${currentYear}") short currentYear) {
+    public VacationDataValidator(HolidaysChecker holidaysChecker) {
         this.holidaysChecker = holidaysChecker;
-        this.currentYear = currentYear;
     }
 
     public void validate(VacationData vacationData) {
-        Integer vacationDays = vacationData.getVacationDays();
-        LocalDate start = vacationData.getVacationStart();
-        LocalDate end = vacationData.getVacationEnd();
-
-        validateIfYearIsCurrent(start, end, vacationDays);
-        checkIfStartsWithHoliday(start);
-        checkIfDaysOrPeriodIsSet(vacationDays, start, end);
-
-        if (vacationDays != null && start != null && end != null) {
-            validateStartAndEndDates(start, end);
-            long numberOfDaysInPeriod = ChronoUnit.DAYS.between(start, end.plusDays(1));
-            int numberOfHolidaysInPeriod = holidaysChecker.checkNumberOfHolidays(start, end);
+        validate(vacationData, holidaysChecker.currentCalendar());
+    }
 
-            if (vacationDays > numberOfDaysInPeriod) {
-                processIfVacationDaysMoreThanDaysInPeriod(vacationDays, numberOfDaysInPeriod);
-            } else if (vacationDays < numberOfDaysInPeriod && numberOfHolidaysInPeriod == 0) {
-                processIfVacationDaysFewerThanInPeriod(vacationDays, numberOfDaysInPeriod);
-            } else if ((vacationData.getVacationDays() + numberOfHolidaysInPeriod) != numberOfDaysInPeriod) {
-                processIfNumberOfVacationDaysIsNotEqualToDaysInPeriodWithHolidays(vacationData.getVacationDays(),
-                        vacationData.getVacationStart(),
-                        vacationData.getVacationEnd());
-            }
+    public void validate(VacationData vacationData, CalendarSnapshot calendar) {
+        ValidationResult result = check(vacationData, calendar);
+        if (!result.isValid()) {
+            throw new InvalidVacationDatesException(result);
         }
     }
 
-    private void checkIfDaysOrPeriodIsSet(Integer vacationDays, LocalDate start, LocalDate end) {
-        if (vacationDays == null && (start == null || end == null)) { //не указана длительность и точные даты отпуска
-            log.warn("Пожалуйста, укажите количество дней отпуска или дату начала и окончания отпуска");
-            throw new InvalidVacationDatesException("Пожалуйста, укажите количество дней отпуска " +
-                    "или дату начала и окончания отпуска");
-        }
+    public ValidationResult check(VacationData vacationData, CalendarSnapshot calendar) {
+        return check(vacationData, calendar, null);
     }
 
-    private void validateIfYearIsCurrent(LocalDate start, LocalDate end, Integer days) {
+    //при ошибке заполняет переданный result (или новый, если result == null), при успехе возвращает ValidationResult.valid()
+    public ValidationResult check(VacationData vacationData, CalendarSnapshot calendar, ValidationResult result) {
+        Integer vacationDays = vacationData.getVacationDays();
+        LocalDate start = vacationData.getVacationStart();
+        LocalDate end = vacationData.getVacationEnd();
+
         if (start != null) {
-            if (start.getYear() != currentYear) {
-                log.warn("Обратите внимание, что калькулятор работает только для текущего года");
-                throw new InvalidVacationDatesException("Обратите внимание, что калькулятор работает только для текущего года");
-            }
-            if (end != null) {
-                if (end.getYear() != currentYear) {
-                    log.warn("Обратите внимание, что калькулятор работает только для текущего года");
-                    throw new InvalidVacationDatesException("Обратите внимание, что калькулятор работает только для текущего года");
-                }
-                if (start.plusDays(days).getYear() != currentYear) {
-                    log.warn("Обратите внимание, что калькулятор работает только для текущего года");
-                    throw new InvalidVacationDatesException("Обратите внимание, что калькулятор работает только для текущего года");
+            int lastYear = end != null ? Math.max(start.getYear(), end.getYear()) : start.getYear();
+            for (int year = start.getYear(); year <= lastYear; year++) {
+                if (!calendar.checkIfCalendarIsAvailable(year)) {
+                    return reject(result, ValidationError.CALENDAR_NOT_AVAILABLE, year, 0, 0);
                 }
             }
+            if (calendar.checkIfAHoliday(start)) {
+                return reject(result, ValidationError.STARTS_WITH_HOLIDAY, epochDay(start), 0, 0);
+            }
+        }
+        if (vacationDays == null && (start == null || end == null)) { //не указана длительность и точные даты отпуска
+            return reject(result, ValidationError.DAYS_OR_PERIOD_NOT_SET, 0, 0, 0);
         }
-    }
 
-    private void processIfNumberOfVacationDaysIsNotEqualToDaysInPeriodWithHolidays(Integer vacationDays, LocalDate vacationStart, LocalDate vacationEnd) {
-        log.warn("Проверьте правильность переданных данных, количество дней отпуска с учетом праздников " +
-                        "отличается от общего количества дней в указанном промежутке. " +
-                        "Количество дней отпуска: {}, начало отпуска - {}, окончание отпуска- {}",
-                vacationDays, vacationStart, vacationEnd);
-        throw new InvalidVacationDatesException(String.format("Проверьте правильность переданных данных, " +
-                        "количество дней отпуска с учетом праздников отличается от общего количества дней в указанном промежутке. " +
-                        "Количество дней отпуска: %d, начало отпуска - %td-%tm-%tY, окончание отпуска- %td-%tm-%tY",
-                vacationDays, vacationStart, vacationStart, vacationStart, vacationEnd, vacationEnd, vacationEnd));
-    }
+        if (vacationDays != null && start != null && end != null) {
+            if (end.isBefore(start)) { //не корректно указаны точные даты отпуска
+                return reject(result, ValidationError.INVALID_PERIOD, epochDay(start), epochDay(end), 0);
+            }
+            long numberOfDaysInPeriod = epochDay(end) - epochDay(start) + 1;
+            int numberOfHolidaysInPeriod = calendar.checkNumberOfHolidays(start, end);
 
-    private void processIfVacationDaysFewerThanInPeriod(Integer vacationDays, long numberOfDaysInPeriod) {
-        log.warn("Количество дней отпуска меньше, чем общее количество дней в указанном промежутке. " +
-                "Дней отпуска {}, общее число дней {}", vacationDays, numberOfDaysInPeriod);
-        throw new InvalidVacationDatesException(String.format("Количество дней отпуска меньше, чем общее количество дней " +
-                "в указанном промежутке. Дней отпуска %d, общее число дней %d", vacationDays, numberOfDaysInPeriod));
+            if (vacationDays > numberOfDaysInPeriod) {
+                return reject(result, ValidationError.DAYS_MORE_THAN_PERIOD, vacationDays, numberOfDaysInPeriod, 0);
+            } else if (vacationDays < numberOfDaysInPeriod && numberOfHolidaysInPeriod == 0) {
+                return reject(result, ValidationError.DAYS_FEWER_THAN_PERIOD, vacationDays, numberOfDaysInPeriod, 0);
+            } else if ((vacationDays + numberOfHolidaysInPeriod) != numberOfDaysInPeriod) {
+                return reject(result, ValidationError.DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS,
+                        vacationDays, epochDay(start), epochDay(end));
+            }
+        }
+        return ValidationResult.valid();
     }
 
-    private void processIfVacationDaysMoreThanDaysInPeriod(Integer vacationDays, long numberOfDaysInPeriod) {
-        log.warn("Количество дней отпуска выходит за рамки указанного периода. " +
-                "Дней отпуска {}, общее число дней {}", vacationDays, numberOfDaysInPeriod);
-        throw new InvalidVacationDatesException(String.format("Количество дней отпуска выходит за рамки указанного периода. " +
-                "Дней отпуска %d, общее число дней %d", vacationDays, numberOfDaysInPeriod));
+    public void validateCalendarYear(int year, CalendarSnapshot calendar) {
+        if (!calendar.checkIfCalendarIsAvailable(year)) {
+            throw new InvalidVacationDatesException(reject(null, ValidationError.CALENDAR_NOT_AVAILABLE, year, 0, 0));
+        }
     }
 
-
-    private void checkIfStartsWithHoliday(LocalDate start) {
-        if (start != null) {
-            boolean isAHoliday = holidaysChecker.checkIfAHoliday(start);
-            if (isAHoliday) {
-                log.warn("Отпуск не может начинаться с выходного дня, пожалуйста, " +
-                        "измените дату начала отпуска. Текущая дата начала отпуска - {}", start);
-                throw new InvalidVacationDatesException(String.format("Отпуск не может начинаться с выходного дня, пожалуйста, " +
-                        "измените дату начала отпуска. Текущая дата начала отпуска - %td-%tm-%tY", start, start, start));
-            }
+    //null - федеральный календарь, он же возвращается без изменений
+    public CalendarSnapshot regionalCalendar(String region, CalendarSnapshot calendar) {
+        if (!calendar.hasRegion(region)) {
+            throw new InvalidVacationDatesException("Производственный календарь региона " + region
+                    + " не загружен, расчет для указанного региона невозможен");
         }
+        return calendar.forRegion(region);
     }
 
-    private void validateStartAndEndDates(LocalDate start, LocalDate end) {
-        if (end.isBefore(start) && end.isEqual(start)) {  //не корректно указаны точные даты отпуска
-            log.warn("Пожалуйста, проверьте правильность указанных дат начала " +
-                    "и окончания отпуска, начало отпуска - {}, окончание отпуска- {}", start, end);
-            throw new InvalidVacationDatesException(String.format("Пожалуйста, проверьте правильность указанных дат начала " +
-                            "и окончания отпуска, начало отпуска - %tY-%tm-%td, окончание отпуска- %td-%tm-%tY",
-                    start, start, start, end, end, end));
+    private ValidationResult reject(ValidationResult result, ValidationError error, long first, long second, long third) {
+        ValidationResult rejected = (result == null ? new ValidationResult() : result).reject(error, first, second, third);
+        if (log.isDebugEnabled()) {
+            log.debug("Validation failed: {}", rejected.getMessage());
         }
+        return rejected;
     }
 }
@@ -0,0 +1,50 @@
+package ru.development.vacation_calculator.validation;
+
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.time.LocalDate;
+
+public enum ValidationError {
+    DAYS_OR_PERIOD_NOT_SET("Пожалуйста, укажите количество дней отпуска или дату начала и окончания отпуска"),
+    CALENDAR_NOT_AVAILABLE("Производственный календарь на %d год не загружен, расчет для указанных дат невозможен",
+            ArgumentType.NUMBER),
+    STARTS_WITH_HOLIDAY("Отпуск не может начинаться с выходного дня, пожалуйста, " +
+            "измените дату начала отпуска. Текущая дата начала отпуска - %s", ArgumentType.DATE),
+    INVALID_PERIOD("Пожалуйста, проверьте правильность указанных дат начала и окончания отпуска, " +
+            "начало отпуска - %s, окончание отпуска- %s", ArgumentType.DATE, ArgumentType.DATE),
+    DAYS_MORE_THAN_PERIOD("Количество дней отпуска выходит за рамки указанного периода. " +
+            "Дней отпуска %d, общее число дней %d", ArgumentType.NUMBER, ArgumentType.NUMBER),
+    DAYS_FEWER_THAN_PERIOD("Количество дней отпуска меньше, чем общее количество дней в указанном промежутке. " +
+            "Дней отпуска %d, общее число дней %d", ArgumentType.NUMBER, ArgumentType.NUMBER),
+    DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS("Проверьте правильность переданных данных, " +
+            "количество дней отпуска с учетом праздников отличается от общего количества дней в указанном промежутке. " +
+            "Количество дней отпуска: %d, начало отпуска - %s, окончание отпуска- %s",
+            ArgumentType.NUMBER, ArgumentType.DATE, ArgumentType.DATE);
+
+    private final String template;
+    private final ArgumentType[] argumentTypes;
+
+    ValidationError(String template, ArgumentType... argumentTypes) {
+        this.template = template;
+        this.argumentTypes = argumentTypes;
+    }
+
+    //сообщение собирается только когда оно действительно нужно: в ответе клиенту или в логе
+    public String render(long[] arguments) {
+        if (argumentTypes.length == 0) {
+            return template;
+        }
+        Object[] values = new Object[argumentTypes.length];
+        for (int i = 0; i < argumentTypes.length; i++) {
+            values[i] = argumentTypes[i] == ArgumentType.DATE
+                    ? LocalDate.ofEpochDay(arguments[i]).format(Constants.DATE_PATTERN)
+                    : arguments[i];
+        }
+        return String.format(template, values);
+    }
+
+    private enum ArgumentType {
+        NUMBER,
+        DATE
+    }
+}
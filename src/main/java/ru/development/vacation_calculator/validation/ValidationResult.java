@@ -0,0 +1,64 @@
+package ru.development.vacation_calculator.validation;
+
+import java.time.LocalDate;
+
+/**
+ * Результат проверки входных данных: код ошибки и ее аргументы (числа и даты в виде epoch day).
+ * Текст сообщения формируется лениво. Успешный результат - общий неизменяемый экземпляр {@link #valid()},
+ * для расчета без создания объектов вызывающий код может переиспользовать собственный экземпляр.
+ */
+public final class ValidationResult {
+    private static final int MAX_ARGUMENTS = 3;
+    private static final ValidationResult VALID = new ValidationResult();
+
+    private final long[] arguments = new long[MAX_ARGUMENTS];
+    private ValidationError error;
+    private String message;
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+
+    public long getArgument(int index) {
+        return arguments[index];
+    }
+
+    public String getMessage() {
+        if (error == null) {
+            return null;
+        }
+        if (message == null) {
+            message = error.render(arguments);
+        }
+        return message;
+    }
+
+    ValidationResult reject(ValidationError error, long first, long second, long third) {
+        if (this == VALID) {
+            throw new IllegalStateException("Общий успешный результат проверки не может быть изменен");
+        }
+        this.error = error;
+        this.message = null;
+        arguments[0] = first;
+        arguments[1] = second;
+        arguments[2] = third;
+        return this;
+    }
+
+    static long epochDay(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult{valid}" : "ValidationResult{" + error + ": " + getMessage() + "}";
+    }
+}
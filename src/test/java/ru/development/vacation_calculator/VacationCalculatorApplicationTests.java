@@ -3,7 +3,7 @@ package ru.development.vacation_calculator;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "journal.enabled=false")
 class VacationCalculatorApplicationTests {
 
     @Test
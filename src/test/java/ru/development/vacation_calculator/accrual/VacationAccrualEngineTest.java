@@ -0,0 +1,129 @@
+package ru.development.vacation_calculator.accrual;
+
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VacationAccrualEngineTest {
+    private static final LocalDate AS_OF = LocalDate.of(2024, Month.JANUARY, 15);
+
+    @Test
+    void add_whenFullMonthsWorked_thenAccruedDaysAreRoundedDown() {
+        VacationAccrualEngine engine = new VacationAccrualEngine(AS_OF, 4);
+
+        int year = engine.add(LocalDate.of(2023, Month.JANUARY, 15), 0, 600000.0);
+        int elevenMonths = engine.add(LocalDate.of(2023, Month.JANUARY, 16), 0, 600000.0);
+        int notStarted = engine.add(LocalDate.of(2024, Month.FEBRUARY, 1), 0, 600000.0);
+
+        assertEquals(28, engine.getAccruedDays(year));
+        assertEquals(25, engine.getAccruedDays(elevenMonths));
+        assertEquals(0, engine.getAccruedDays(notStarted));
+        assertEquals(0, engine.getLiability(notStarted));
+    }
+
+    @Test
+    void add_whenDaysTaken_thenLiabilityIsPaymentForUnusedDays() {
+        VacationAccrualEngine engine = new VacationAccrualEngine(AS_OF, 4);
+
+        int employee = engine.add(LocalDate.of(2023, Month.JANUARY, 15), 18, 600000.0);
+        int overused = engine.add(LocalDate.of(2023, Month.JANUARY, 15), 40, 600000.0);
+
+        assertEquals(10, engine.getUnusedDays(employee));
+        assertEquals(KopeckPaymentCalculator.calculatePayment(600000.0, 10), engine.getLiability(employee));
+        assertEquals(0, engine.getUnusedDays(overused));
+        assertEquals(10, engine.getTotalUnusedDays());
+        assertEquals(KopeckPaymentCalculator.calculatePayment(600000.0, 10), engine.getTotalLiability());
+    }
+
+    @Test
+    void update_whenEmployeesChange_thenTotalsMatchFullRecalculation() {
+        SplittableRandom random = new SplittableRandom(42);
+        VacationAccrualEngine engine = new VacationAccrualEngine(AS_OF, 16);
+        for (int i = 0; i < 10_000; i++) {
+            engine.add(randomHireDate(random), random.nextInt(0, 60), randomIncome(random));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int employee = random.nextInt(engine.size());
+            switch (random.nextInt(3)) {
+                case 0:
+                    engine.updateDaysTaken(employee, random.nextInt(0, 60));
+                    break;
+                case 1:
+                    engine.updateIncome(employee, randomIncome(random));
+                    break;
+                default:
+                    engine.update(employee, randomHireDate(random), random.nextInt(0, 60), randomIncome(random));
+            }
+        }
+        long incrementalDays = engine.getTotalUnusedDays();
+        double incrementalLiability = engine.getTotalLiability();
+
+        engine.recalculate(AS_OF);
+
+        assertEquals(engine.getTotalUnusedDays(), incrementalDays);
+        assertEquals(engine.getTotalLiability(), incrementalLiability);
+        double sum = 0;
+        for (int i = 0; i < engine.size(); i++) {
+            sum += engine.getLiability(i);
+        }
+        assertEquals(sum, engine.getTotalLiability(), 0.01 * engine.size());
+    }
+
+    @Test
+    void recalculate_whenMonthIsShorterThanHireDay_thenMonthIsFullOnItsLastDay() {
+        VacationAccrualEngine engine = new VacationAccrualEngine(LocalDate.of(2023, Month.FEBRUARY, 27), 4);
+        int employee = engine.add(LocalDate.of(2023, Month.JANUARY, 31), 0, 600000.0);
+        int leapYear = engine.add(LocalDate.of(2024, Month.JANUARY, 30), 0, 600000.0);
+
+        assertEquals(0, engine.getAccruedDays(employee));
+
+        engine.recalculate(LocalDate.of(2023, Month.FEBRUARY, 28));
+        assertEquals(2, engine.getAccruedDays(employee));
+
+        engine.recalculate(LocalDate.of(2023, Month.APRIL, 30));
+        assertEquals(7, engine.getAccruedDays(employee));
+
+        engine.recalculate(LocalDate.of(2024, Month.FEBRUARY, 28));
+        assertEquals(0, engine.getAccruedDays(leapYear));
+
+        engine.recalculate(LocalDate.of(2024, Month.FEBRUARY, 29));
+        assertEquals(2, engine.getAccruedDays(leapYear));
+    }
+
+    @Test
+    void recalculate_whenDateMovesForward_thenDaysAccrueForNewMonths() {
+        VacationAccrualEngine engine = new VacationAccrualEngine(AS_OF, 4);
+        int employee = engine.add(LocalDate.of(2023, Month.JANUARY, 15), 28, 600000.0);
+
+        engine.recalculate(LocalDate.of(2024, Month.JULY, 15));
+
+        assertEquals(42, engine.getAccruedDays(employee));
+        assertEquals(14, engine.getUnusedDays(employee));
+        assertEquals(KopeckPaymentCalculator.calculatePayment(600000.0, 14), engine.getTotalLiability());
+    }
+
+    @Test
+    void add_whenInputIsInvalid_thenExceptionIsThrownAndEmployeeIsNotAdded() {
+        VacationAccrualEngine engine = new VacationAccrualEngine(AS_OF, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.add(AS_OF, -1, 600000.0));
+        assertThrows(IllegalArgumentException.class, () -> engine.add(AS_OF, 0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> engine.add(LocalDate.of(1812, Month.JUNE, 24), 0, 1.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.updateDaysTaken(0, 1));
+        assertEquals(0, engine.size());
+    }
+
+    private static LocalDate randomHireDate(SplittableRandom random) {
+        return AS_OF.minusDays(random.nextInt(-30, 15_000));
+    }
+
+    private static double randomIncome(SplittableRandom random) {
+        return random.nextLong(0, 100_000_000_000L) / 100.0;
+    }
+}
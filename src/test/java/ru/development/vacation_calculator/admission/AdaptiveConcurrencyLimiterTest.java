@@ -0,0 +1,78 @@
+package ru.development.vacation_calculator.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_whenLimitIsReached_thenRequestIsRejectedUntilRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(TARGET / 2);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_whenLatencyIsWithinTargetAndLimitIsUsed_thenLimitGrowsByOnePerLimitCompletions() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, TARGET, 0.5);
+        fill(limiter);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.release(TARGET / 2);
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(4, limiter.getLimit());
+        limiter.release(TARGET / 2);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void release_whenLimitIsNotUsed_thenLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, TARGET, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(TARGET / 2);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void release_whenLatencyExceedsTarget_thenLimitDecreasesOncePerTargetInterval() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 3, 10, TARGET, 0.5);
+        fill(limiter);
+        long now = System.nanoTime() + TARGET;
+
+        limiter.release(TARGET * 2, now);
+        assertEquals(4, limiter.getLimit());
+        limiter.release(TARGET * 2, now + TARGET / 2);
+        assertEquals(4, limiter.getLimit());
+        limiter.release(TARGET * 2, now + TARGET);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_whenLimitsAreInconsistent_thenExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 10, TARGET, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET, 1));
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            //занимаем весь лимит
+        }
+    }
+}
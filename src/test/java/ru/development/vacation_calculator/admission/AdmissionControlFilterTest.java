@@ -0,0 +1,142 @@
+package ru.development.vacation_calculator.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    @Test
+    void doFilter_whenClientExceedsRate_thenPreallocatedTooManyRequestsIsReturnedWithoutCallingChain()
+            throws Exception {
+        AdmissionControl admissionControl = admissionControl(1, 8);
+        AdmissionControlFilter filter = new AdmissionControlFilter(admissionControl);
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(request("payroll-job"), accepted, new MockFilterChain());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        filter.doFilter(request("payroll-job"), rejected, rejectedChain);
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        filter.doFilter(request("hr-portal"), otherClient, new MockFilterChain());
+
+        assertEquals(200, accepted.getStatus());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(new String(rejected.getContentAsByteArray(), StandardCharsets.UTF_8).contains("частота запросов"));
+        assertNull(rejectedChain.getRequest());
+        assertEquals(200, otherClient.getStatus());
+        assertEquals(2, admissionControl.getDecisions(AdmissionControl.Decision.ACCEPTED));
+        assertEquals(1, admissionControl.getDecisions(AdmissionControl.Decision.RATE_LIMITED));
+    }
+
+    @Test
+    void doFilter_whenConcurrencyLimitIsReached_thenRequestIsRejectedAsOverloaded() throws Exception {
+        AdmissionControl admissionControl = admissionControl(1000, 1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(admissionControl);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    filter.doFilter(request("second"), nested, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        filter.doFilter(request("first"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(429, nested.getStatus());
+        assertTrue(new String(nested.getContentAsByteArray(), StandardCharsets.UTF_8).contains("перегружен"));
+        assertEquals(1, admissionControl.getDecisions(AdmissionControl.Decision.OVERLOADED));
+    }
+
+    @Test
+    void writePrometheus_whenRequestsAreAdmitted_thenDecisionsAndLimitAreExported() throws Exception {
+        AdmissionControl admissionControl = admissionControl(1000, 8);
+        new AdmissionControlFilter(admissionControl)
+                .doFilter(request("client"), new MockHttpServletResponse(), new MockFilterChain());
+        StringWriter writer = new StringWriter();
+
+        admissionControl.writePrometheus(writer);
+
+        String metrics = writer.toString();
+        assertTrue(metrics.contains("vacation_admission_requests_total{decision=\"accepted\"} 1\n"));
+        assertTrue(metrics.contains("vacation_admission_requests_total{decision=\"rate_limited\"} 0\n"));
+        assertTrue(metrics.contains("vacation_admission_concurrency_limit 8\n"));
+        assertTrue(metrics.contains("vacation_admission_in_flight 0\n"));
+    }
+
+    @Test
+    void doFilter_whenStreamingRequestIsSlow_thenAdaptiveLimitIsNotDecreased() throws Exception {
+        //любая задержка больше целевой в 1 нс
+        AdmissionControl admissionControl = new AdmissionControl(API_KEY_HEADER,
+                new TokenBucketRateLimiter(0.001, 1000, 1024), new AdaptiveConcurrencyLimiter(8, 1, 8, 1, 0.5), 1);
+
+        new AdmissionControlFilter(admissionControl, true)
+                .doFilter(request("payroll-job"), new MockHttpServletResponse(), new MockFilterChain());
+        assertEquals(8, admissionControl.getConcurrencyLimit());
+
+        new AdmissionControlFilter(admissionControl, false)
+                .doFilter(request("hr-portal"), new MockHttpServletResponse(), new MockFilterChain());
+        assertEquals(4, admissionControl.getConcurrencyLimit());
+    }
+
+    @Test
+    void doFilter_whenStreamingLimitIsReached_thenOnlyStreamingRequestsAreRejected() throws Exception {
+        AdmissionControl admissionControl = admissionControl(1000, 8);
+        AdmissionControlFilter streamingFilter = new AdmissionControlFilter(admissionControl, true);
+        MockHttpServletResponse nestedStreaming = new MockHttpServletResponse();
+        MockHttpServletResponse nestedInteractive = new MockHttpServletResponse();
+
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    streamingFilter.doFilter(request("second"), nestedStreaming, new MockFilterChain());
+                    new AdmissionControlFilter(admissionControl)
+                            .doFilter(request("third"), nestedInteractive, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        streamingFilter.doFilter(request("first"), new MockHttpServletResponse(), chain);
+
+        assertEquals(429, nestedStreaming.getStatus());
+        assertEquals(200, nestedInteractive.getStatus());
+        assertEquals(1, admissionControl.getDecisions(AdmissionControl.Decision.OVERLOADED));
+        StringWriter writer = new StringWriter();
+        admissionControl.writePrometheus(writer);
+        assertTrue(writer.toString().contains("vacation_admission_streaming_in_flight 0\n"));
+    }
+
+    private static AdmissionControl admissionControl(int burst, int concurrencyLimit) {
+        return new AdmissionControl(API_KEY_HEADER, new TokenBucketRateLimiter(0.001, burst, 1024),
+                new AdaptiveConcurrencyLimiter(concurrencyLimit, 1, concurrencyLimit,
+                        TimeUnit.SECONDS.toNanos(1), 0.9), 1);
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/calculate");
+        request.addHeader(API_KEY_HEADER, apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.development.vacation_calculator.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_whenBurstIsExhausted_thenRequestIsRejectedUntilTokenIsRefilled() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 3, 16);
+        long now = SECOND;
+
+        assertTrue(rateLimiter.tryAcquire(1, now));
+        assertTrue(rateLimiter.tryAcquire(1, now));
+        assertTrue(rateLimiter.tryAcquire(1, now));
+        assertFalse(rateLimiter.tryAcquire(1, now));
+        assertFalse(rateLimiter.tryAcquire(1, now + SECOND / 20));
+        assertTrue(rateLimiter.tryAcquire(1, now + SECOND / 10));
+    }
+
+    @Test
+    void tryAcquire_whenClientsAreInDifferentBuckets_thenLimitsAreIndependent() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, 1, 1024);
+
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1".hashCode(), SECOND));
+        assertFalse(rateLimiter.tryAcquire("10.0.0.1".hashCode(), SECOND));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.2".hashCode(), SECOND));
+    }
+
+    @Test
+    void tryAcquire_whenCalledConcurrently_thenExactlyBurstIsAccepted() throws Exception {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(0.001, 1000, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    int accepted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (rateLimiter.tryAcquire(42, SECOND)) {
+                            accepted++;
+                        }
+                    }
+                    return accepted;
+                }));
+            }
+            int accepted = 0;
+            for (Future<Integer> result : results) {
+                accepted += result.get();
+            }
+
+            assertEquals(1000, accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_whenBucketCountIsNotPowerOfTwo_thenItIsRoundedUp() {
+        assertEquals(4096, new TokenBucketRateLimiter(1, 1, 4000).getBucketCount());
+        assertEquals(1, new TokenBucketRateLimiter(1, 1, 1).getBucketCount());
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 1));
+    }
+}
@@ -0,0 +1,170 @@
+package ru.development.vacation_calculator.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.journal.CalculationJournal;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.service.KopeckPaymentCalculator;
+import ru.development.vacation_calculator.service.VacationServiceImpl;
+import ru.development.vacation_calculator.validation.ValidationError;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.NOT_SET;
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.REQUEST_SIZE;
+import static ru.development.vacation_calculator.batch.BinaryRecordCodec.RESPONSE_SIZE;
+
+class BinaryBatchServiceTest {
+    private static final long SALARY_KOPECKS = 60_000_000;
+
+    private CalendarSnapshot calendar;
+    private CalculationMetrics calculationMetrics;
+    private BinaryBatchService binaryBatchService;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new CalendarSnapshot(5, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return Set.of(LocalDate.of(2024, Month.MAY, 1), LocalDate.of(2024, Month.MAY, 9),
+                        LocalDate.of(2024, Month.MAY, 10));
+            }
+        }, 1));
+        calculationMetrics = new CalculationMetrics();
+        //маленькая порция, чтобы записи гарантированно обрабатывались в несколько заходов
+        binaryBatchService = new BinaryBatchService(new VacationServiceImpl(null, calculationMetrics,
+                CalculationJournal.DISABLED),
+                new VacationDataValidator(null), calculationMetrics, 3, 1);
+    }
+
+    @Test
+    void calculate_whenRecordsSpanSeveralChunks_thenResultsAreWrittenInInputOrder() throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(20 * REQUEST_SIZE);
+        for (int i = 0; i < 20; i++) {
+            BinaryRecordCodec.putRequest(input, i * REQUEST_SIZE, SALARY_KOPECKS + i, i + 1, NOT_SET, NOT_SET);
+        }
+
+        ByteBuffer output = calculate(input.array());
+
+        assertEquals(20 * RESPONSE_SIZE, output.limit());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(BinaryRecordCodec.STATUS_OK, BinaryRecordCodec.status(output, i * RESPONSE_SIZE));
+            assertEquals(KopeckPaymentCalculator.calculatePayment(SALARY_KOPECKS + i, i + 1),
+                    BinaryRecordCodec.paymentKopecks(output, i * RESPONSE_SIZE));
+        }
+        assertEquals(20, calculationMetrics.getCalculations(CalculationMetrics.CalculationMode.DAYS));
+    }
+
+    @Test
+    void calculate_whenPeriodContainsHolidays_thenHolidaysAreNotPaid() throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(REQUEST_SIZE);
+        BinaryRecordCodec.putRequest(input, 0, SALARY_KOPECKS, 7,
+                (int) LocalDate.of(2024, Month.MAY, 2).toEpochDay(), (int) LocalDate.of(2024, Month.MAY, 10).toEpochDay());
+
+        ByteBuffer output = calculate(input.array());
+
+        assertEquals(BinaryRecordCodec.STATUS_OK, BinaryRecordCodec.status(output, 0));
+        assertEquals(KopeckPaymentCalculator.calculatePayment(SALARY_KOPECKS, 7), BinaryRecordCodec.paymentKopecks(output, 0));
+    }
+
+    @Test
+    void calculate_whenSomeRecordsAreInvalid_thenErrorsAreReportedPerRecord() throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(5 * REQUEST_SIZE);
+        BinaryRecordCodec.putRequest(input, 0, 0, 10, NOT_SET, NOT_SET);
+        BinaryRecordCodec.putRequest(input, REQUEST_SIZE, SALARY_KOPECKS, 0, NOT_SET, NOT_SET);
+        BinaryRecordCodec.putRequest(input, 2 * REQUEST_SIZE, SALARY_KOPECKS, NOT_SET,
+                (int) LocalDate.of(2024, Month.MAY, 1).toEpochDay(), (int) LocalDate.of(2024, Month.MAY, 5).toEpochDay());
+        BinaryRecordCodec.putRequest(input, 3 * REQUEST_SIZE, SALARY_KOPECKS, NOT_SET,
+                (int) LocalDate.of(2030, Month.MAY, 6).toEpochDay(), NOT_SET);
+        BinaryRecordCodec.putRequest(input, 4 * REQUEST_SIZE, SALARY_KOPECKS, 10, NOT_SET, NOT_SET);
+
+        ByteBuffer output = calculate(input.array());
+
+        assertEquals(BinaryRecordCodec.STATUS_INVALID_SALARY, BinaryRecordCodec.status(output, 0));
+        assertEquals(BinaryRecordCodec.STATUS_INVALID_DAYS, BinaryRecordCodec.status(output, RESPONSE_SIZE));
+        assertEquals(BinaryRecordCodec.STATUS_STARTS_WITH_HOLIDAY, BinaryRecordCodec.status(output, 2 * RESPONSE_SIZE));
+        assertEquals(LocalDate.of(2024, Month.MAY, 1).toEpochDay(), BinaryRecordCodec.detail(output, 2 * RESPONSE_SIZE));
+        assertEquals(BinaryRecordCodec.STATUS_CALENDAR_NOT_AVAILABLE, BinaryRecordCodec.status(output, 3 * RESPONSE_SIZE));
+        assertEquals(2030, BinaryRecordCodec.detail(output, 3 * RESPONSE_SIZE));
+        assertEquals(BinaryRecordCodec.STATUS_OK, BinaryRecordCodec.status(output, 4 * RESPONSE_SIZE));
+    }
+
+    @Test
+    void statusOf_whenValidationErrorPassed_thenDocumentedCodeIsReturned() {
+        //коды - часть формата ответа, клиенты сравнивают их с числами из документации
+        assertEquals(16, BinaryRecordCodec.statusOf(ValidationError.DAYS_OR_PERIOD_NOT_SET));
+        assertEquals(17, BinaryRecordCodec.statusOf(ValidationError.CALENDAR_NOT_AVAILABLE));
+        assertEquals(18, BinaryRecordCodec.statusOf(ValidationError.STARTS_WITH_HOLIDAY));
+        assertEquals(19, BinaryRecordCodec.statusOf(ValidationError.INVALID_PERIOD));
+        assertEquals(20, BinaryRecordCodec.statusOf(ValidationError.DAYS_MORE_THAN_PERIOD));
+        assertEquals(21, BinaryRecordCodec.statusOf(ValidationError.DAYS_FEWER_THAN_PERIOD));
+        assertEquals(22, BinaryRecordCodec.statusOf(ValidationError.DAYS_NOT_EQUAL_TO_PERIOD_WITH_HOLIDAYS));
+        assertEquals(ValidationError.values().length, Arrays.stream(ValidationError.values())
+                .mapToInt(BinaryRecordCodec::statusOf).distinct().count());
+    }
+
+    @Test
+    void calculate_whenSalaryIsTooLargeOrPaymentOverflows_thenErrorIsReportedAndNextRecordsAreCalculated()
+            throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(3 * REQUEST_SIZE);
+        BinaryRecordCodec.putRequest(input, 0, Long.MAX_VALUE, 10, NOT_SET, NOT_SET);
+        BinaryRecordCodec.putRequest(input, REQUEST_SIZE, KopeckPaymentCalculator.MAX_SALARY_KOPECKS, Integer.MAX_VALUE,
+                NOT_SET, NOT_SET);
+        BinaryRecordCodec.putRequest(input, 2 * REQUEST_SIZE, SALARY_KOPECKS, 10, NOT_SET, NOT_SET);
+
+        ByteBuffer output = calculate(input.array());
+
+        assertEquals(BinaryRecordCodec.STATUS_INVALID_SALARY, BinaryRecordCodec.status(output, 0));
+        assertEquals(BinaryRecordCodec.STATUS_PAYMENT_TOO_LARGE, BinaryRecordCodec.status(output, RESPONSE_SIZE));
+        assertEquals(BinaryRecordCodec.STATUS_OK, BinaryRecordCodec.status(output, 2 * RESPONSE_SIZE));
+    }
+
+    @Test
+    void calculate_whenBodyEndsWithIncompleteRecord_thenTruncatedRecordIsReported() throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(4 * REQUEST_SIZE - 5);
+        for (int i = 0; i < 3; i++) {
+            BinaryRecordCodec.putRequest(input, i * REQUEST_SIZE, SALARY_KOPECKS, 10, NOT_SET, NOT_SET);
+        }
+
+        ByteBuffer output = calculate(input.array());
+
+        assertEquals(4 * RESPONSE_SIZE, output.limit());
+        assertEquals(BinaryRecordCodec.STATUS_OK, BinaryRecordCodec.status(output, 2 * RESPONSE_SIZE));
+        assertEquals(BinaryRecordCodec.STATUS_TRUNCATED_RECORD, BinaryRecordCodec.status(output, 3 * RESPONSE_SIZE));
+        assertEquals(REQUEST_SIZE - 5, BinaryRecordCodec.detail(output, 3 * RESPONSE_SIZE));
+    }
+
+    private ByteBuffer calculate(byte[] input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        //поток отдает данные маленькими кусками, как медленный клиент
+        InputStream slowInput = new FilterInputStream(new ByteArrayInputStream(input)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+        binaryBatchService.calculate(slowInput, output, calendar);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.development.vacation_calculator.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void next_whenStreamIsReadInSmallParts_thenLinesAreAssembledAndLongLineIsSkipped() throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(
+                slow("первая\r\n\n0123456789ABCDEFGHIJK\nпоследняя"), 20);
+
+        assertTrue(reader.next());
+        assertEquals("первая", reader.line());
+        assertTrue(reader.next());
+        assertEquals("", reader.line());
+        assertTrue(reader.next());
+        assertTrue(reader.isTooLong());
+        assertEquals(3, reader.getLineNumber());
+        assertTrue(reader.next());
+        assertFalse(reader.isTooLong());
+        assertEquals("последняя", reader.line());
+        assertEquals(4, reader.getLineNumber());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void next_whenInputEndsWithNewLine_thenNoEmptyLineIsAdded() throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(slow("a\nb\n"), 16);
+
+        assertTrue(reader.next());
+        assertTrue(reader.next());
+        assertEquals("b", reader.line());
+        assertFalse(reader.next());
+        assertEquals(2, reader.getLineNumber());
+    }
+
+    //поток отдает не больше трех байт за чтение, строки и символы UTF-8 разрезаются между чтениями
+    private static InputStream slow(String text) {
+        return new FilterInputStream(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+}
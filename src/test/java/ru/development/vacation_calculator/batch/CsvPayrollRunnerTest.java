@@ -0,0 +1,83 @@
+package ru.development.vacation_calculator.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class CsvPayrollRunnerTest {
+    @TempDir
+    Path directory;
+
+    private OrderedBatchExecutor batchExecutor;
+    private CsvPayrollRunner csvPayrollRunner;
+
+    @BeforeEach
+    void setUp() {
+        VacationBatchService vacationBatchService = Mockito.mock(VacationBatchService.class);
+        HolidaysChecker holidaysChecker = Mockito.mock(HolidaysChecker.class);
+        when(holidaysChecker.currentCalendar()).thenReturn(Mockito.mock(CalendarSnapshot.class));
+        when(vacationBatchService.calculate(any(VacationData.class), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    VacationData vacationData = invocation.getArgument(0);
+                    long line = invocation.getArgument(1);
+                    return vacationData.getVacationStart() == null
+                            ? BatchCalculationResult.success(line, vacationData.getVacationDays() * 10.0, 1)
+                            : BatchCalculationResult.failure(line, "Отпуск не может начинаться с выходного дня, \"04-11-2024\"");
+                });
+        batchExecutor = new OrderedBatchExecutor(4, 2);
+        csvPayrollRunner = new CsvPayrollRunner(vacationBatchService, holidaysChecker, batchExecutor);
+        ReflectionTestUtils.setField(csvPayrollRunner, "chunkSize", 3);
+        ReflectionTestUtils.setField(csvPayrollRunner, "windowRows", 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.shutdown();
+    }
+
+    @Test
+    void run_whenFileHasValidAndInvalidRows_thenResultIsWrittenInInputOrder() throws Exception {
+        Path input = directory.resolve("payroll.csv");
+        Path output = directory.resolve("result.csv");
+        StringBuilder rows = new StringBuilder("salary,days,start,end\n");
+        for (int days = 1; days <= 10; days++) {
+            rows.append("600000,").append(days).append(",,\n");
+        }
+        rows.append("600000,6,04-11-2024,10-11-2024\n")
+                .append("abc,10,,\n")
+                .append("-600000,10,,\n");
+        Files.writeString(input, rows.toString());
+        ReflectionTestUtils.setField(csvPayrollRunner, "input", input.toString());
+        ReflectionTestUtils.setField(csvPayrollRunner, "output", output.toString());
+
+        csvPayrollRunner.run(null);
+
+        List<String> result = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(14, result.size());
+        assertEquals("salary,days,start,end,payment,error", result.get(0));
+        for (int days = 1; days <= 10; days++) {
+            assertEquals("600000," + days + ",,," + days * 10.0 + ",", result.get(days));
+        }
+        assertEquals("600000,6,04-11-2024,10-11-2024,,\"Отпуск не может начинаться с выходного дня, \"\"04-11-2024\"\"\"",
+                result.get(11));
+        assertEquals("abc,10,,,,\"Некорректная запись: For input string: \"\"abc\"\"\"", result.get(12));
+        assertEquals("-600000,10,,,,\"Неверно указана зарплата сотрудника\"", result.get(13));
+    }
+}
@@ -0,0 +1,181 @@
+package ru.development.vacation_calculator.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
+import ru.development.vacation_calculator.service.VacationService;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+class VacationBatchServiceTest {
+    private static final int MAX_LINE_BYTES = 4096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private VacationService vacationService;
+    private VacationDataValidator vacationDataValidator;
+    private OrderedBatchExecutor batchExecutor;
+    private VacationBatchService vacationBatchService;
+    private final CalculationMetrics calculationMetrics = new CalculationMetrics();
+
+    @BeforeEach
+    void setUp() {
+        vacationService = Mockito.mock(VacationService.class);
+        HolidaysChecker holidaysChecker = Mockito.mock(HolidaysChecker.class);
+        CalendarSnapshot calendar = Mockito.mock(CalendarSnapshot.class);
+        when(calendar.getVersion()).thenReturn(3L);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+        vacationDataValidator = new VacationDataValidator(holidaysChecker);
+        when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+        //маленькое окно, чтобы записи гарантированно обрабатывались в несколько заходов;
+        //третья запись отправляется в работу только после записи результата первой
+        batchExecutor = new OrderedBatchExecutor(4, 2);
+        vacationBatchService = new VacationBatchService(vacationService, vacationDataValidator, holidaysChecker,
+                new VacationCalculationCache(1000, 600), batchExecutor, objectMapper, calculationMetrics, MAX_LINE_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.shutdown();
+    }
+
+    @Test
+    void calculate_whenRecordsAreValid_thenResultsAreWrittenInInputOrder() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any()))
+                .thenAnswer(invocation -> invocation.<VacationData>getArgument(0).getVacationDays() * 100.0);
+        StringBuilder input = new StringBuilder();
+        for (int days = 1; days <= 50; days++) {
+            input.append("{\"salary\":600000.0,\"vacationDays\":").append(days).append("}\n");
+        }
+
+        List<BatchCalculationResult> results = calculate(input.toString());
+
+        assertEquals(50, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).getLine());
+            assertEquals((i + 1) * 100.0, results.get(i).getPayment());
+            assertEquals(3L, results.get(i).getCalendarVersion());
+        }
+    }
+
+    @Test
+    void calculate_whenLineIsLongerThanLimit_thenItIsReportedAndNextLinesAreCalculated() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(14846.37);
+
+        List<BatchCalculationResult> results = calculate("{\"salary\":600000.0,\"vacationDays\":10}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":10,\"comment\":\"" + "x".repeat(100_000) + "\"}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":10}\n");
+
+        assertEquals(3, results.size());
+        assertEquals(14846.37, results.get(0).getPayment());
+        assertEquals(2, results.get(1).getLine());
+        assertEquals("Запись длиннее " + MAX_LINE_BYTES + " байт", results.get(1).getError());
+        assertEquals(3, results.get(2).getLine());
+        assertEquals(14846.37, results.get(2).getPayment());
+    }
+
+    @Test
+    void calculate_whenSomeRecordsAreInvalid_thenErrorsAreReportedPerRecord() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(14846.37);
+
+        List<BatchCalculationResult> results = calculate("{\"salary\":600000.0,\"vacationDays\":10}\n" +
+                "\n" +
+                "{not a json\n" +
+                "{\"salary\":-600000.0,\"vacationDays\":10}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":11,\"vacationStart\":\"01-09-2024\",\"vacationEnd\":\"10-09-2024\"}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":10}");
+
+        assertEquals(5, results.size());
+        assertEquals(1, results.get(0).getLine());
+        assertEquals(14846.37, results.get(0).getPayment());
+        assertEquals(3, results.get(1).getLine());
+        assertNull(results.get(1).getPayment());
+        assertEquals("Неверно указана зарплата сотрудника", results.get(2).getError());
+        assertEquals("Количество дней отпуска выходит за рамки указанного периода. " +
+                "Дней отпуска 11, общее число дней 10", results.get(3).getError());
+        assertEquals(6, results.get(4).getLine());
+        assertEquals(14846.37, results.get(4).getPayment());
+    }
+
+    @Test
+    void calculate_whenRecordRepeats_thenSecondResultIsCountedAsCacheHit() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(14846.37);
+
+        List<BatchCalculationResult> results = calculate("{\"salary\":600000.0,\"vacationDays\":10}\n" +
+                "{\"salary\":480000.0,\"vacationDays\":10}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":10}");
+
+        assertEquals(3, results.size());
+        assertEquals(3, calculationMetrics.getCalculations(CalculationMetrics.CalculationMode.DAYS));
+        assertEquals(2, calculationMetrics.getResults(CalculationMetrics.ResultSource.CALCULATED));
+        assertEquals(1, calculationMetrics.getResults(CalculationMetrics.ResultSource.CACHE));
+        assertEquals(0, calculationMetrics.getResults(CalculationMetrics.ResultSource.JOINED));
+    }
+
+    @Test
+    void calculate_whenSalaryIsAboveLimit_thenRecordIsRejectedAndNextRecordsAreCalculated() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(14846.37);
+
+        List<BatchCalculationResult> results = calculate("{\"salary\":1.0E16,\"vacationDays\":10}\n" +
+                "{\"salary\":600000.0,\"vacationDays\":10}");
+
+        assertEquals(2, results.size());
+        assertEquals("Неверно указана зарплата сотрудника", results.get(0).getError());
+        assertEquals(14846.37, results.get(1).getPayment());
+    }
+
+    @Test
+    void calculate_whenCalculationOfRecordFailsUnexpectedly_thenErrorIsReportedAndNextRecordsAreCalculated() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any()))
+                .thenAnswer(invocation -> {
+                    if (invocation.<VacationData>getArgument(0).getVacationDays() == 2) {
+                        throw new IllegalStateException("calendar is broken");
+                    }
+                    return invocation.<VacationData>getArgument(0).getVacationDays() * 100.0;
+                });
+        StringBuilder input = new StringBuilder();
+        for (int days = 1; days <= 5; days++) {
+            input.append("{\"salary\":600000.0,\"vacationDays\":").append(days).append("}\n");
+        }
+
+        List<BatchCalculationResult> results = calculate(input.toString());
+
+        assertEquals(5, results.size());
+        assertEquals(100.0, results.get(0).getPayment());
+        assertEquals(2, results.get(1).getLine());
+        assertNull(results.get(1).getPayment());
+        assertEquals("Внутренняя ошибка при расчете записи", results.get(1).getError());
+        for (int i = 2; i < results.size(); i++) {
+            assertEquals((i + 1) * 100.0, results.get(i).getPayment());
+        }
+    }
+
+    private List<BatchCalculationResult> calculate(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        vacationBatchService.calculate(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        List<BatchCalculationResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BatchCalculationResult.class));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.development.vacation_calculator.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HolidayCalendarCompilerTest {
+
+    @Test
+    void compile_whenTextCalendarsCompiled_thenBinarySourceReturnsSameHolidays() throws IOException {
+        ResourceHolidayCalendarSource textSource = new ResourceHolidayCalendarSource(
+                new PathMatchingResourcePatternResolver(), "classpath:holidays/");
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+
+        HolidayCalendarCompiler.compile(textSource, compiled);
+        BinaryHolidayCalendarSource binarySource = new BinaryHolidayCalendarSource(new ByteArrayResource(compiled.toByteArray()));
+
+        assertEquals(textSource.availableYears(), binarySource.availableYears());
+        for (int year : textSource.availableYears()) {
+            assertEquals(new HashSet<LocalDate>(textSource.loadYear(year)), new HashSet<>(binarySource.loadYear(year)),
+                    "year = " + year);
+        }
+    }
+
+    @Test
+    void binarySource_whenFileIsNotCompiledCalendar_thenThrowException() {
+        ByteArrayResource resource = new ByteArrayResource("01-01-2024\n02-01-2024\n".getBytes());
+
+        assertThrows(IllegalStateException.class, () -> new BinaryHolidayCalendarSource(resource));
+    }
+}
@@ -0,0 +1,212 @@
+package ru.development.vacation_calculator.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolidayCalendarStoreTest {
+    private static final Map<Integer, List<LocalDate>> HOLIDAYS = Map.of(
+            2023, List.of(LocalDate.of(2023, Month.JANUARY, 2), LocalDate.of(2023, Month.DECEMBER, 29)),
+            2024, List.of(LocalDate.of(2024, Month.JANUARY, 1), LocalDate.of(2024, Month.JANUARY, 2)),
+            2025, List.of(LocalDate.of(2025, Month.JANUARY, 1)),
+            2027, List.of(LocalDate.of(2027, Month.JANUARY, 1)));
+
+    //источник после создания хранилища начинает отдавать другие данные, как измененный на диске файл
+    private final AtomicBoolean changedOnDisk = new AtomicBoolean();
+
+    private List<Integer> loadedYears;
+    private HolidayCalendarStore store;
+
+    @BeforeEach
+    void setUp() {
+        loadedYears = new ArrayList<>();
+        store = new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return HOLIDAYS.keySet();
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                loadedYears.add(year);
+                return changedOnDisk.get() ? List.of() : HOLIDAYS.get(year);
+            }
+        }, 2);
+    }
+
+    private static List<Integer> sorted(List<Integer> years) {
+        List<Integer> copy = new ArrayList<>(years);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void countHolidays_whenPeriodCrossesNewYear_thenHolidaysOfBothYearsAreCounted() {
+        assertEquals(3, store.countHolidays(LocalDate.of(2023, Month.DECEMBER, 28), LocalDate.of(2024, Month.JANUARY, 10)));
+        assertEquals(2, store.countHolidays(LocalDate.of(2023, Month.DECEMBER, 29), LocalDate.of(2024, Month.JANUARY, 2)));
+        assertEquals(4, store.countHolidays(LocalDate.of(2023, Month.JANUARY, 2), LocalDate.of(2025, Month.JANUARY, 1)));
+    }
+
+    @Test
+    void countHolidays_whenPeriodIsOutsideOfCalendars_thenHolidaysAreNotCounted() {
+        assertEquals(0, store.countHolidays(LocalDate.of(2020, Month.JANUARY, 1), LocalDate.of(2022, Month.DECEMBER, 31)));
+        assertEquals(1, store.countHolidays(LocalDate.of(2025, Month.DECEMBER, 1), LocalDate.of(2030, Month.JANUARY, 1)));
+        assertEquals(0, store.countHolidays(LocalDate.of(2024, Month.JANUARY, 10), LocalDate.of(2024, Month.JANUARY, 1)));
+    }
+
+    @Test
+    void isYearAvailable_whenYearHasNoCalendar_thenReturnFalse() {
+        assertTrue(store.isYearAvailable(2023));
+        assertFalse(store.isYearAvailable(2026));
+        assertFalse(store.isYearAvailable(2028));
+        assertFalse(store.isHoliday(LocalDate.of(2026, Month.JANUARY, 1)));
+    }
+
+    @Test
+    void isHoliday_whenYearsAreRequested_thenEveryYearIsValidatedAtCreationAndLoadedLazily() {
+        assertEquals(List.of(2023, 2024, 2025, 2027), sorted(loadedYears));
+        assertEquals(0, store.getLoadedCount());
+        loadedYears.clear();
+
+        assertTrue(store.isHoliday(LocalDate.of(2024, Month.JANUARY, 1)));
+        assertFalse(store.isHoliday(LocalDate.of(2024, Month.JANUARY, 3)));
+
+        assertEquals(List.of(2024), loadedYears);
+        assertEquals(List.of(2024), store.getLoadedYears());
+    }
+
+    @Test
+    void isHoliday_whenSourceChangedAfterCreation_thenYearIsNotReplacedSilently() {
+        changedOnDisk.set(true);
+
+        assertThrows(IllegalStateException.class, () -> store.isHoliday(LocalDate.of(2024, Month.JANUARY, 1)));
+        assertEquals(0, store.getLoadedCount());
+    }
+
+    @Test
+    void constructor_whenYearOfSourceIsMalformed_thenStoreIsNotCreated() {
+        HolidayCalendarSource source = new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024, 2025);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return year == 2025 ? List.of(LocalDate.of(2024, Month.JANUARY, 1)) : HOLIDAYS.get(year);
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> new HolidayCalendarStore(source, 2));
+    }
+
+    @Test
+    void isHoliday_whenMoreYearsRequestedThanCacheHolds_thenColdYearIsEvicted() {
+        store.isHoliday(LocalDate.of(2023, Month.JANUARY, 2));
+        store.isHoliday(LocalDate.of(2024, Month.JANUARY, 1));
+        store.isHoliday(LocalDate.of(2025, Month.JANUARY, 1));
+        store.isHoliday(LocalDate.of(2027, Month.JANUARY, 1));
+
+        assertEquals(2, store.getLoadedCount());
+        assertFalse(store.getLoadedYears().contains(2023));
+        loadedYears.clear();
+        assertTrue(store.isHoliday(LocalDate.of(2023, Month.JANUARY, 2)));
+        assertEquals(List.of(2023), loadedYears);
+        assertTrue(store.getLoadedYears().contains(2023));
+        assertEquals(2, store.getLoadedCount());
+    }
+
+    @Test
+    void withDelta_whenRegionAddsAndRemovesDays_thenOnlyRegionalCalendarChanges() {
+        HolidayCalendarStore regional = store.withDelta(new RegionalCalendarDelta("RU-TA",
+                new long[]{LocalDate.of(2024, Month.JANUARY, 3).toEpochDay(), LocalDate.of(2024, Month.JANUARY, 4).toEpochDay()},
+                new long[]{LocalDate.of(2024, Month.JANUARY, 2).toEpochDay()}));
+
+        assertTrue(regional.isHoliday(LocalDate.of(2024, Month.JANUARY, 3)));
+        assertFalse(regional.isHoliday(LocalDate.of(2024, Month.JANUARY, 2)));
+        assertEquals(3, regional.countHolidays(LocalDate.of(2023, Month.DECEMBER, 31), LocalDate.of(2024, Month.JANUARY, 10)));
+        assertEquals(2, store.countHolidays(LocalDate.of(2023, Month.DECEMBER, 31), LocalDate.of(2024, Month.JANUARY, 10)));
+        assertTrue(store.isHoliday(LocalDate.of(2024, Month.JANUARY, 2)));
+    }
+
+    @Test
+    void withDelta_whenRegionalYearRequested_thenFederalYearIsLoadedOnceAndShared() {
+        HolidayCalendarStore regional = store.withDelta(new RegionalCalendarDelta("RU-BA",
+                new long[]{LocalDate.of(2024, Month.OCTOBER, 11).toEpochDay()}, new long[0]));
+
+        assertEquals(List.of(), store.getLoadedYears());
+        assertTrue(regional.isHoliday(LocalDate.of(2025, Month.JANUARY, 1)));
+        assertTrue(store.isHoliday(LocalDate.of(2025, Month.JANUARY, 1)));
+
+        assertEquals(List.of(2025), store.getLoadedYears());
+        assertEquals(1, regional.getLoadedCount());
+    }
+
+    @Test
+    void forRegion_whenRegionRequested_thenSnapshotOfSameVersionIsCachedPerRegion() {
+        CalendarSnapshot federal = new CalendarSnapshot(7, Instant.now(), store, Map.of("RU-TA",
+                new RegionalCalendarDelta("RU-TA", new long[]{LocalDate.of(2024, Month.JANUARY, 3).toEpochDay()}, new long[0])));
+
+        CalendarSnapshot regional = federal.forRegion("RU-TA");
+
+        assertSame(regional, federal.forRegion("RU-TA"));
+        assertSame(federal, federal.forRegion(null));
+        assertEquals(7, regional.getVersion());
+        assertEquals("RU-TA", regional.getRegion());
+        assertTrue(regional.checkIfAHoliday(LocalDate.of(2024, Month.JANUARY, 3)));
+        assertFalse(federal.checkIfAHoliday(LocalDate.of(2024, Month.JANUARY, 3)));
+        assertFalse(federal.hasRegion("RU-BA"));
+        assertThrows(IllegalArgumentException.class, () -> federal.forRegion("RU-BA"));
+    }
+
+    @Test
+    void getContentHash_whenStoresHaveSameHolidays_thenHashIsSameAndChangesWithData() {
+        HolidayCalendarStore sameData = new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return HOLIDAYS.keySet();
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return HOLIDAYS.get(year);
+            }
+        }, 1);
+        HolidayCalendarStore changedData = new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return HOLIDAYS.keySet();
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return year == 2025 ? List.of(LocalDate.of(2025, Month.JANUARY, 2)) : HOLIDAYS.get(year);
+            }
+        }, 2);
+        RegionalCalendarDelta delta = new RegionalCalendarDelta("RU-TA",
+                new long[]{LocalDate.of(2024, Month.JANUARY, 3).toEpochDay()}, new long[0]);
+
+        assertEquals(store.getContentHash(), sameData.getContentHash());
+        assertNotEquals(store.getContentHash(), changedData.getContentHash());
+        assertNotEquals(store.getContentHash(), store.withDelta(delta).getContentHash());
+        assertEquals(store.withDelta(delta).getContentHash(), sameData.withDelta(delta).getContentHash());
+        assertEquals(16, new CalendarSnapshot(1, Instant.now(), store).getContentId().length());
+    }
+}
@@ -0,0 +1,144 @@
+package ru.development.vacation_calculator.controller;
+
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+
+import javax.validation.ConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalculationParametersTest {
+
+    @Test
+    void valueStart_whenQueryContainsParameters_thenValueBoundsAreFound() {
+        String query = "days_before=3&days=14&salary&start=01-09-2024";
+
+        int days = CalculationParameters.valueStart(query, "days");
+        int salary = CalculationParameters.valueStart(query, "salary");
+        int start = CalculationParameters.valueStart(query, "start");
+
+        assertEquals("14", query.substring(days, CalculationParameters.valueEnd(query, days)));
+        assertEquals("", query.substring(salary, CalculationParameters.valueEnd(query, salary)));
+        assertEquals("01-09-2024", query.substring(start, CalculationParameters.valueEnd(query, start)));
+        assertEquals(-1, CalculationParameters.valueStart(query, "end"));
+        assertEquals(-1, CalculationParameters.valueStart(query, "day"));
+    }
+
+    @Test
+    void parseSalary_whenPlainDecimalPassed_thenResultEqualsDoubleParseDouble() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            String salary = random.nextLong(0, 1_000_000_000_000L) / 100 + "." + random.nextInt(0, 100);
+            assertEquals(Double.parseDouble(salary), CalculationParameters.parseSalary(salary, 0, salary.length()),
+                    salary);
+        }
+        for (String salary : new String[]{"600000", "60000.00", "0.1", ".5", "5.", "007", "0.000000000000000000001",
+                "999999999999999", "123456789012.345"}) {
+            assertEquals(Double.parseDouble(salary), CalculationParameters.parseSalary(salary, 0, salary.length()),
+                    salary);
+        }
+    }
+
+    @Test
+    void parseSalary_whenValueNeedsStandardConversion_thenNaNIsReturned() {
+        for (String salary : new String[]{"", ".", "-600", "+600", " 600", "1e3", "600.0.0", "600d", "NaN",
+                "1234567890123456", "0.00000000000000000000001"}) {
+            assertTrue(Double.isNaN(CalculationParameters.parseSalary(salary, 0, salary.length())), salary);
+        }
+    }
+
+    @Test
+    void parseDays_whenOnlyDigitsPassed_thenNumberIsReturned() {
+        assertEquals(14, CalculationParameters.parseDays("14", 0, 2));
+        assertEquals(10, CalculationParameters.parseDays("010", 0, 3));
+        assertEquals(0, CalculationParameters.parseDays("0", 0, 1));
+        for (String days : new String[]{"", "-1", "+1", " 1", "1e1", "1234567890"}) {
+            assertEquals(CalculationParameters.NOT_PARSED, CalculationParameters.parseDays(days, 0, days.length()),
+                    days);
+        }
+    }
+
+    @Test
+    void parseDate_whenDateOfCachedYearPassed_thenSameInstanceAsFormatterResultIsReturned() {
+        for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() < 2100; date = date.plusDays(1)) {
+            String value = "x=" + date.format(Constants.DATE_PATTERN);
+            LocalDate parsed = CalculationParameters.parseDate(value, 2, value.length());
+            assertEquals(date, parsed);
+            assertSame(parsed, CalculationParameters.parseDate(value, 2, value.length()));
+        }
+    }
+
+    @Test
+    void parseDate_whenValueNeedsStandardConversion_thenNullIsReturned() {
+        for (String date : new String[]{"31-02-2024", "29-02-2023", "00-01-2024", "32-01-2024", "01-13-2024",
+                "1-9-2024", "01-09-1999", "01-09-2100", "01/09/2024", "01-09-20245", ""}) {
+            assertNull(CalculationParameters.parseDate(date, 0, date.length()), date);
+        }
+    }
+
+    @Test
+    void checkConstraints_whenValuesViolateConstraints_thenMessageMatchesMethodValidation() {
+        assertDoesNotThrow(() -> CalculationParameters.checkConstraints("calculate", 600000.0, null, Integer.MAX_VALUE));
+
+        ConstraintViolationException salary = assertThrows(ConstraintViolationException.class,
+                () -> CalculationParameters.checkConstraints("calculate", -1.0, 10, Integer.MAX_VALUE));
+        ConstraintViolationException nan = assertThrows(ConstraintViolationException.class,
+                () -> CalculationParameters.checkConstraints("calculate", Double.NaN, 10, Integer.MAX_VALUE));
+        InvalidVacationDatesException tooLarge = assertThrows(InvalidVacationDatesException.class,
+                () -> CalculationParameters.checkConstraints("calculate", 1e16, 10, Integer.MAX_VALUE));
+        InvalidVacationDatesException infinity = assertThrows(InvalidVacationDatesException.class,
+                () -> CalculationParameters.checkConstraints("calculate", Double.POSITIVE_INFINITY, 10, Integer.MAX_VALUE));
+        ConstraintViolationException days = assertThrows(ConstraintViolationException.class,
+                () -> CalculationParameters.checkConstraints("calculateYear", 600000.0, 367, 366));
+        ConstraintViolationException both = assertThrows(ConstraintViolationException.class,
+                () -> CalculationParameters.checkConstraints("calculate", 0.0, 0, Integer.MAX_VALUE));
+
+        assertEquals("calculate.salary: Неверно указана зарплата сотрудника", salary.getMessage());
+        assertEquals("calculate.salary: Неверно указана зарплата сотрудника", nan.getMessage());
+        assertEquals("Неверно указана зарплата сотрудника", tooLarge.getMessage());
+        assertEquals("Неверно указана зарплата сотрудника", infinity.getMessage());
+        assertEquals("calculateYear.days: Неверно указано количество дней отпуска", days.getMessage());
+        assertEquals("calculate.salary: Неверно указана зарплата сотрудника, "
+                + "calculate.days: Неверно указано количество дней отпуска", both.getMessage());
+    }
+
+    @Test
+    void calendarYear_whenYearIsNotPassed_thenLatestCalendarYearIsUsedRegardlessOfToday() {
+        CalendarSnapshot calendar = calendar(Set.of(2023, 2024, 2025));
+
+        assertEquals(2025, CalculationParameters.calendarYear(null, calendar));
+        assertEquals(2023, CalculationParameters.calendarYear(2023, calendar));
+        assertThrows(InvalidVacationDatesException.class,
+                () -> CalculationParameters.calendarYear(null, calendar(Set.of())));
+    }
+
+    private static CalendarSnapshot calendar(Set<Integer> years) {
+        return new CalendarSnapshot(1, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return years;
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return List.of(LocalDate.of(year, Month.JANUARY, 1));
+            }
+        }, 1));
+    }
+}
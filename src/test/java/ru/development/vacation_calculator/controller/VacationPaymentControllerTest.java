@@ -1,31 +1,49 @@
 package ru.development.vacation_calculator.controller;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.web.util.NestedServletException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.development.vacation_calculator.batch.BinaryBatchService;
+import ru.development.vacation_calculator.batch.VacationBatchService;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
 import ru.development.vacation_calculator.constants.Constants;
 import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.StartDatePayment;
 import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.model.YearPaymentMatrix;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.PaymentMatrixService;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
 import ru.development.vacation_calculator.service.VacationService;
 import ru.development.vacation_calculator.validation.VacationDataValidator;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
+import java.util.OptionalInt;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = VacationPaymentController.class)
+@Import({VacationCalculationCache.class, CalculationMetrics.class})
 class VacationPaymentControllerTest {
 
     @MockBean
@@ -34,6 +52,18 @@ class VacationPaymentControllerTest {
     @MockBean
     private VacationDataValidator vacationDataValidator;
 
+    @MockBean
+    private HolidaysChecker holidaysChecker;
+
+    @MockBean
+    private VacationBatchService vacationBatchService;
+
+    @MockBean
+    private PaymentMatrixService paymentMatrixService;
+
+    @MockBean
+    private BinaryBatchService binaryBatchService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -55,10 +85,19 @@ class VacationPaymentControllerTest {
                 (averageDailyIncome * vacationWithAllFields.getVacationDays()) * Constants.TAXES / 100) * 100) / 100;
     }
 
+    @BeforeEach
+    void setUpCalendar() {
+        CalendarSnapshot calendar = mock(CalendarSnapshot.class);
+        when(calendar.getVersion()).thenReturn(1L);
+        when(calendar.getContentId()).thenReturn("3f2a9c0e11d4b7a5");
+        when(calendar.getLatestYear()).thenReturn(OptionalInt.of(2025));
+        when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+    }
+
     @Test
     void calculate() throws Exception {
-        when(vacationService.calculateVacationPay(any(VacationData.class))).thenReturn(vacationPayment);
-        doNothing().when(vacationDataValidator).validate(any(VacationData.class));
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(vacationPayment);
+        doNothing().when(vacationDataValidator).validate(any(VacationData.class), any());
 
         mockMvc.perform(get("/calculate")
                         .param("salary", "60000")
@@ -68,14 +107,60 @@ class VacationPaymentControllerTest {
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
-                        content().string(String.valueOf(vacationPayment)));
+                        content().string(String.valueOf(vacationPayment)),
+                        header().string(Constants.CALENDAR_VERSION_HEADER, "1"),
+                        header().string(HttpHeaders.ETAG, "\"3f2a9c0e11d4b7a5-6000000-10-19967-19976\""),
+                        header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=60"));
+    }
+
+    @Test
+    void calculateTest_whenIfNoneMatchEqualsETag_thenNotModifiedIsReturnedWithoutCalculation() throws Exception {
+        mockMvc.perform(get("/calculate")
+                        .param("salary", "60000.00")
+                        .param("days", "10")
+                        .param("start", "01-09-2024")
+                        .param("end", "10-09-2024")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3f2a9c0e11d4b7a5-6000000-10-19967-19976\""))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, "\"3f2a9c0e11d4b7a5-6000000-10-19967-19976\""),
+                        content().string(""));
+        verify(vacationService, never()).calculateVacationPay(any(VacationData.class), any());
     }
 
 
+    @Test
+    void calculateTest_whenRegionPassed_thenRegionalCalendarIsUsed() throws Exception {
+        CalendarSnapshot regionalCalendar = mock(CalendarSnapshot.class);
+        when(regionalCalendar.getVersion()).thenReturn(1L);
+        when(regionalCalendar.getRegion()).thenReturn("RU-TA");
+        when(vacationDataValidator.regionalCalendar(eq("RU-TA"), any())).thenReturn(regionalCalendar);
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(vacationPayment);
+
+        mockMvc.perform(get("/calculate")
+                        .param("salary", "60000")
+                        .param("days", "10")
+                        .param("region", "RU-TA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.CALENDAR_VERSION_HEADER, "1"));
+        verify(vacationService).calculateVacationPay(any(VacationData.class), same(regionalCalendar));
+    }
+
+    @Test
+    void calculateTest_whenIfNoneMatchIsAnyAndParametersAreInvalid_thenBadRequestIsReturned() throws Exception {
+        doThrow(InvalidVacationDatesException.class).when(vacationDataValidator).validate(any(VacationData.class), any());
+
+        mockMvc.perform(get("/calculate")
+                        .param("salary", "60000")
+                        .param("end", "10-09-2024")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().is(400));
+    }
+
     @Test
     void calculateTest_whenValidationIsNotPassed_thenThrowInvalidVacationDatesException() throws Exception {
-        when(vacationService.calculateVacationPay(any(VacationData.class))).thenReturn(vacationPayment);
-        doThrow(InvalidVacationDatesException.class).when(vacationDataValidator).validate(any(VacationData.class));
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(vacationPayment);
+        doThrow(InvalidVacationDatesException.class).when(vacationDataValidator).validate(any(VacationData.class), any());
 
         mockMvc.perform(get("/calculate")
                         .param("salary", "60000")
@@ -85,26 +170,104 @@ class VacationPaymentControllerTest {
     }
 
     @Test
-    void calculateTest_whenIncorrectSalaryPassed_thenThrowNestedServletExceptionWithMessage() throws Exception {
-        when(vacationService.calculateVacationPay(any(VacationData.class))).thenReturn(vacationPayment);
-        doNothing().when(vacationDataValidator).validate(any(VacationData.class));
+    void calculateTest_whenIncorrectSalaryPassed_thenBadRequestWithMessageIsReturned() throws Exception {
+        mockMvc.perform(get("/calculate")
+                        .param("salary", "-60000")
+                        .param("days", "10")
+                        .param("start", "01-09-2024")
+                        .param("end", "10-09-2024"))
+                .andExpect(status().is(400))
+                .andExpect(jsonPath("$.message").value("calculate.salary: Неверно указана зарплата сотрудника"));
+        verify(vacationService, never()).calculateVacationPay(any(VacationData.class), any());
+    }
+
+    @Test
+    void calculateTest_whenIncorrectNumberOfDaysPassed_thenBadRequestWithMessageIsReturned() throws Exception {
+        mockMvc.perform(get("/calculate")
+                        .param("salary", "60000")
+                        .param("days", "0")
+                        .param("start", "01-09-2024")
+                        .param("end", "10-09-2024"))
+                .andExpect(status().is(400))
+                .andExpect(jsonPath("$.message").value("calculate.days: Неверно указано количество дней отпуска"));
+        verify(vacationService, never()).calculateVacationPay(any(VacationData.class), any());
+    }
+
+    @Test
+    void calculateTest_whenParametersPassedInQueryString_thenTheyAreBoundFromIt() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(vacationPayment);
+
+        mockMvc.perform(get(URI.create("/calculate?salary=60000.50&days=10&start=01-09-2024&end=10-09-2024")))
+                .andExpect(status().isOk());
+        verify(vacationService).calculateVacationPay(eq(new VacationData(60000.5, 10,
+                LocalDate.of(2024, Month.SEPTEMBER, 1), LocalDate.of(2024, Month.SEPTEMBER, 10))), any());
+    }
+
+    @Test
+    void calculateTest_whenValuesNeedStandardConversion_thenTheyAreConvertedAsRequestParams() throws Exception {
+        when(vacationService.calculateVacationPay(any(VacationData.class), any())).thenReturn(vacationPayment);
+
+        mockMvc.perform(get(URI.create("/calculate?salary=6e4&days=%2B10&start=31-02-2024")))
+                .andExpect(status().isOk());
+        verify(vacationService).calculateVacationPay(eq(new VacationData(60000.0, 10,
+                LocalDate.of(2024, Month.FEBRUARY, 29), null)), any());
+    }
+
+    @Test
+    void calculateTest_whenDateIsMalformed_thenBadRequestIsReturned() throws Exception {
+        mockMvc.perform(get(URI.create("/calculate?salary=60000&start=32-01-2024")))
+                .andExpect(status().is(400))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof MethodArgumentTypeMismatchException))
+                .andExpect(jsonPath("$.message").value("calculate.start: Неверно указана дата отпуска"));
+        verify(vacationService, never()).calculateVacationPay(any(VacationData.class), any());
+    }
+
+    @Test
+    void calculateTest_whenSalaryIsMissing_thenBadRequestIsReturned() throws Exception {
+        mockMvc.perform(get(URI.create("/calculate?days=10")))
+                .andExpect(status().is(400))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof MissingServletRequestParameterException))
+                .andExpect(jsonPath("$.message").value("calculate.salary: Неверно указана зарплата сотрудника"));
+    }
+
+    @Test
+    void calculateYearTest_whenValidParametersPassed_thenMatrixIsReturned() throws Exception {
+        YearPaymentMatrix matrix = new YearPaymentMatrix(600000.0, 14, 2024, 1, List.of(new StartDatePayment(
+                LocalDate.of(2024, Month.JANUARY, 9), LocalDate.of(2024, Month.JANUARY, 22), 14, 20785.0)));
+        when(paymentMatrixService.calculateYear(eq(600000.0), eq(14), eq(2024), any())).thenReturn(matrix);
+
+        mockMvc.perform(get("/calculate/year")
+                        .param("salary", "600000")
+                        .param("days", "14")
+                        .param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.CALENDAR_VERSION_HEADER, "1"))
+                .andExpect(jsonPath("$.payments[0].vacationStart").value("09-01-2024"))
+                .andExpect(jsonPath("$.payments[0].paidDays").value(14));
+    }
+
+    @Test
+    void calculateYearTest_whenYearIsNotPassed_thenLatestCalendarYearIsUsed() throws Exception {
+        YearPaymentMatrix matrix = new YearPaymentMatrix(600000.0, 14, 2025, 1, List.of());
+        when(paymentMatrixService.calculateYear(eq(600000.0), eq(14), eq(2025), any())).thenReturn(matrix);
 
-        assertThrows(NestedServletException.class, () -> mockMvc.perform(get("/calculate")
-                .param("salary", "-60000")
-                .param("days", "10")
-                .param("start", "01-09-2024")
-                .param("end", "10-09-2024")).andExpect(status().is(400)), "Неверно указана зарплата сотрудника");
+        mockMvc.perform(get("/calculate/year")
+                        .param("salary", "600000")
+                        .param("days", "14"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(2025));
+        verify(vacationDataValidator).validateCalendarYear(eq(2025), any());
     }
 
     @Test
-    void calculateTest_whenIncorrectNumberOfDaysPassed_thenThrowNestedServletExceptionWithMessage() throws Exception {
-        when(vacationService.calculateVacationPay(any(VacationData.class))).thenReturn(vacationPayment);
-        doNothing().when(vacationDataValidator).validate(any(VacationData.class));
+    void calculateYearTest_whenCalendarForYearIsNotAvailable_thenBadRequestIsReturned() throws Exception {
+        doThrow(InvalidVacationDatesException.class).when(vacationDataValidator).validateCalendarYear(eq(2030), any());
 
-        assertThrows(NestedServletException.class, () -> mockMvc.perform(get("/calculate")
-                .param("salary", "-60000")
-                .param("days", "10")
-                .param("start", "01-09-2024")
-                .param("end", "10-09-2024")).andExpect(status().is(400)), "Неверно указано количество дней отпуска");
+        mockMvc.perform(get("/calculate/year")
+                        .param("salary", "600000")
+                        .param("days", "14")
+                        .param("year", "2030"))
+                .andExpect(status().is(400));
+        verify(paymentMatrixService, never()).calculateYear(anyDouble(), anyInt(), anyInt(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package ru.development.vacation_calculator.journal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.calendar.RegionalCalendarDelta;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.VacationData;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCalculationJournalTest {
+    private static final VacationData DAYS_ONLY = VacationData.builder().salary(600000.0).vacationDays(14).build();
+    private static final VacationData WITH_DATES = VacationData.builder()
+            .salary(123456.78)
+            .vacationDays(8)
+            .vacationStart(LocalDate.of(2024, Month.MAY, 2))
+            .vacationEnd(LocalDate.of(2024, Month.MAY, 11))
+            .build();
+
+    @TempDir
+    Path directory;
+
+    private CalendarSnapshot calendar;
+    private final CalculationMetrics calculationMetrics = new CalculationMetrics();
+
+    @BeforeEach
+    void setUp() {
+        calendar = new CalendarSnapshot(3, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return List.of(LocalDate.of(year, Month.MAY, 9));
+            }
+        }, 1), Map.of("RU-TA", new RegionalCalendarDelta("RU-TA", new long[0], new long[0])));
+    }
+
+    @Test
+    void append_whenJournalIsClosed_thenRecordsAreReadBackWithInputResultAndCalendar() throws Exception {
+        MappedCalculationJournal journal = journal(16, 1024, true);
+        journal.append(DAYS_ONLY, calendar, 20784.92);
+        journal.append(WITH_DATES, calendar.forRegion("RU-TA"), 3000.5);
+        journal.close();
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(2, records.size());
+        JournalRecord first = records.get(0);
+        assertEquals(0, first.getSequence());
+        assertEquals(DAYS_ONLY, first.toVacationData());
+        assertEquals(20784.92, first.getVacationPayment());
+        assertEquals(calendar.getContentHash(), first.getCalendarHash());
+        assertEquals(calendar.getContentId(), first.getCalendarId());
+        assertNull(first.getRegion());
+        JournalRecord second = records.get(1);
+        assertEquals(1, second.getSequence());
+        assertEquals(WITH_DATES, second.toVacationData());
+        assertEquals("RU-TA", second.getRegion());
+        assertEquals(calendar.forRegion("RU-TA").getContentHash(), second.getCalendarHash());
+        assertEquals(2, journal.getWritten());
+    }
+
+    @Test
+    void append_whenSegmentIsFull_thenNextSegmentIsOpenedAndSequenceContinues() throws Exception {
+        MappedCalculationJournal journal = journal(16, 3, true);
+        for (int i = 0; i < 7; i++) {
+            journal.append(DAYS_ONLY, calendar, i);
+        }
+        journal.close();
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(3, JournalReader.segments(directory).size());
+        assertEquals(7, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).getSequence());
+            assertEquals(i, records.get(i).getVacationPayment());
+        }
+    }
+
+    @Test
+    void append_whenRingIsFull_thenRecordIsDroppedWithoutBlocking() throws Exception {
+        MappedCalculationJournal journal = journal(2, 1024, false);
+
+        journal.append(DAYS_ONLY, calendar, 1);
+        journal.append(DAYS_ONLY, calendar, 2);
+        journal.append(DAYS_ONLY, calendar, 3);
+        assertEquals(2, journal.drain());
+        journal.append(DAYS_ONLY, calendar, 4);
+        assertEquals(1, journal.drain());
+
+        assertEquals(1, journal.getDropped());
+        List<JournalRecord> records = readAll();
+        assertEquals(3, records.size());
+        assertEquals(4, records.get(2).getVacationPayment());
+        assertEquals(2, records.get(2).getSequence());
+    }
+
+    @Test
+    void append_whenRingFreesUpWithinWait_thenRecordIsNotDropped() throws Exception {
+        MappedCalculationJournal journal = journal(2, 1024, TimeUnit.SECONDS.toNanos(10), false);
+        journal.append(DAYS_ONLY, calendar, 1);
+        journal.append(DAYS_ONLY, calendar, 2);
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> journal.append(DAYS_ONLY, calendar, 3));
+        Thread.sleep(50);
+        assertEquals(2, journal.drain());
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(1, journal.drain());
+
+        assertEquals(0, journal.getDropped());
+        assertEquals(3, journal.getWritten());
+        assertEquals(3, readAll().size());
+    }
+
+    @Test
+    void append_whenRingStaysFullLongerThanWait_thenRecordIsDroppedAndExported() throws Exception {
+        MappedCalculationJournal journal = journal(2, 1024, TimeUnit.MILLISECONDS.toNanos(20), false);
+        journal.append(DAYS_ONLY, calendar, 1);
+        journal.append(DAYS_ONLY, calendar, 2);
+
+        long start = System.nanoTime();
+        journal.append(DAYS_ONLY, calendar, 3);
+        long waited = System.nanoTime() - start;
+        journal.drain();
+
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(20), "Запись отброшена без ожидания");
+        assertTrue(waited < TimeUnit.SECONDS.toNanos(5), "Ожидание места в журнале не ограничено");
+        StringWriter writer = new StringWriter();
+        calculationMetrics.writePrometheus(writer);
+        assertTrue(writer.toString().contains("vacation_journal_written_total 2\n"));
+        assertTrue(writer.toString().contains("vacation_journal_dropped_total 1\n"));
+    }
+
+    @Test
+    void append_whenManyProducers_thenEveryAcceptedRecordIsWrittenOnceInOrder() throws Exception {
+        MappedCalculationJournal journal = journal(1 << 16, 10_000, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            producers.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    journal.append(DAYS_ONLY, calendar, i);
+                }
+            }));
+        }
+        for (Future<?> producer : producers) {
+            producer.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        journal.close();
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(20_000 - journal.getDropped(), records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).getSequence());
+        }
+    }
+
+    @Test
+    void constructor_whenJournalIsReopened_thenSequenceContinuesAfterLastIntactRecord() throws Exception {
+        MappedCalculationJournal journal = journal(16, 1024, true);
+        for (int i = 0; i < 3; i++) {
+            journal.append(DAYS_ONLY, calendar, i);
+        }
+        journal.close();
+        //недописанная при сбое последняя запись
+        Path segment = JournalReader.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), JournalFormat.HEADER_SIZE + 2L * JournalFormat.RECORD_SIZE
+                    + JournalFormat.CRC_OFFSET);
+        }
+
+        MappedCalculationJournal reopened = journal(16, 1024, true);
+        reopened.append(WITH_DATES, calendar, 42);
+        reopened.close();
+
+        List<JournalRecord> records = readAll();
+        assertEquals(3, records.size());
+        assertEquals(2, records.get(2).getSequence());
+        assertEquals(WITH_DATES, records.get(2).toVacationData());
+    }
+
+    @Test
+    void constructor_whenDirectoryIsRelative_thenJournalIsNotOpened() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedCalculationJournal(calculationMetrics,
+                "journal", 16, 1024, 10, 100, 1000));
+    }
+
+    private MappedCalculationJournal journal(int ringCapacity, int segmentRecords, boolean startWriter) {
+        return journal(ringCapacity, segmentRecords, 0, startWriter);
+    }
+
+    private MappedCalculationJournal journal(int ringCapacity, int segmentRecords, long fullWaitNanos,
+                                             boolean startWriter) {
+        return new MappedCalculationJournal(calculationMetrics, directory, ringCapacity, segmentRecords,
+                TimeUnit.MILLISECONDS.toNanos(10), 100, fullWaitNanos, startWriter);
+    }
+
+    private List<JournalRecord> readAll() throws Exception {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.readAll(directory, records::add);
+        return records;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.development.vacation_calculator.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.development.vacation_calculator.VacationCalculatorApplication;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочный тест с бюджетами задержек: приложение поднимается на случайном порту и получает нагрузку
+ * по открытой модели со смесью запросов {@link RequestMix}. Тест падает, если перцентили или
+ * максимальный устойчивый RPS выходят за бюджет.
+ * Запуск: mvn test -Dtest=CalculateLoadTest -Dloadtest=true [-Dloadtest.rps=2000 -Dloadtest.budget.p99-millis=20 ...]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class CalculateLoadTest {
+    private static final double RPS = Double.parseDouble(System.getProperty("loadtest.rps", "500"));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final String MIX = System.getProperty("loadtest.mix", "days:40,dates:30,cached:10,invalid:15,batch:5");
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 1000);
+    private static final int CLIENT_THREADS = Integer.getInteger("loadtest.client-threads", 8);
+    private static final double BUDGET_P50_MILLIS = budget("p50-millis", "10");
+    private static final double BUDGET_P99_MILLIS = budget("p99-millis", "50");
+    private static final double BUDGET_P999_MILLIS = budget("p999-millis", "200");
+    //поиск максимального RPS: частота растет в step-factor раз, пока прогон укладывается в бюджет p99 без ошибок
+    private static final double BUDGET_MIN_SUSTAINABLE_RPS = budget("min-sustainable-rps", "0");
+    private static final double STEP_FACTOR = Double.parseDouble(System.getProperty("loadtest.step-factor", "1.5"));
+    private static final Duration STEP_DURATION = Duration.ofSeconds(Long.getLong("loadtest.step-seconds", 10));
+    private static final double MAX_RPS = Double.parseDouble(System.getProperty("loadtest.max-rps", "100000"));
+
+    private static ConfigurableApplicationContext context;
+    private static RequestMix mix;
+
+    @BeforeAll
+    static void startApplication() {
+        //аргументы командной строки, а не properties(): они должны перекрыть application.properties
+        context = new SpringApplicationBuilder(VacationCalculatorApplication.class)
+                .run("--server.port=0",
+                        //генератор нагрузки - один клиент, лимит частоты на клиента исказил бы результат
+                        "--admission.enabled=" + System.getProperty("loadtest.admission", "false"),
+                        "--logging.level.ru.development.vacation_calculator=INFO",
+                        "--logging.level.org.zalando.logbook=OFF");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        mix = RequestMix.parse("http://localhost:" + port, MIX);
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    @Test
+    void calculate_whenTargetRateIsApplied_thenLatencyStaysWithinBudget() throws InterruptedException {
+        LoadReport report;
+        try (OpenModelLoadGenerator generator = new OpenModelLoadGenerator(mix, MAX_IN_FLIGHT, CLIENT_THREADS)) {
+            generator.run("warmup", RPS, WARMUP);
+            report = generator.run("target", RPS, DURATION);
+        }
+
+        System.out.println(LoadReport.header());
+        System.out.println(report);
+        assertEquals(0, report.getErrors(), "Ошибки под нагрузкой " + RPS + " rps");
+        assertEquals(0, report.getDropped(), "Генератор не успел отправить запросы: сервер не держит " + RPS + " rps");
+        assertWithinBudget("p50", report.getP50Millis(), BUDGET_P50_MILLIS);
+        assertWithinBudget("p99", report.getP99Millis(), BUDGET_P99_MILLIS);
+        assertWithinBudget("p99.9", report.getP999Millis(), BUDGET_P999_MILLIS);
+    }
+
+    @Test
+    void calculate_whenRateIsIncreased_thenMaxSustainableRateIsWithinBudget() throws InterruptedException {
+        double maxSustainableRps = 0;
+        System.out.println(LoadReport.header());
+        try (OpenModelLoadGenerator generator = new OpenModelLoadGenerator(mix, MAX_IN_FLIGHT, CLIENT_THREADS)) {
+            generator.run("warmup", RPS, WARMUP);
+            for (double rps = RPS; rps <= MAX_RPS; rps *= STEP_FACTOR) {
+                LoadReport report = generator.run("step", rps, STEP_DURATION);
+                System.out.println(report);
+                if (!isSustainable(report)) {
+                    break;
+                }
+                maxSustainableRps = report.getRps();
+            }
+        }
+
+        System.out.printf("max sustainable rps: %.0f (p99 <= %.1f ms, no errors)%n", maxSustainableRps, BUDGET_P99_MILLIS);
+        assertTrue(maxSustainableRps >= BUDGET_MIN_SUSTAINABLE_RPS, String.format(
+                "Максимальный устойчивый RPS %.0f ниже бюджета %.0f", maxSustainableRps, BUDGET_MIN_SUSTAINABLE_RPS));
+    }
+
+    //частота устойчива, если сервер ответил на все запросы вовремя и генератор не отстал от расписания
+    private static boolean isSustainable(LoadReport report) {
+        return report.getErrors() == 0 && report.getDropped() == 0
+                && report.getP99Millis() <= BUDGET_P99_MILLIS
+                && report.getRps() >= report.getTargetRps() * 0.95;
+    }
+
+    private static void assertWithinBudget(String quantile, double actualMillis, double budgetMillis) {
+        assertTrue(actualMillis <= budgetMillis,
+                String.format("%s = %.3f ms превышает бюджет %.3f ms", quantile, actualMillis, budgetMillis));
+    }
+
+    private static double budget(String name, String defaultValue) {
+        return Double.parseDouble(System.getProperty("loadtest.budget." + name, defaultValue));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.development.vacation_calculator.loadtest;
+
+import ru.development.vacation_calculator.metrics.LatencyHistogram;
+
+/**
+ * Итог одного прогона нагрузки: задержки, фактический RPS и ошибки (неожиданный статус, исключение клиента,
+ * запрос не отправлен из-за переполнения очереди).
+ */
+final class LoadReport {
+    private final String name;
+    private final double targetRps;
+    private final double seconds;
+    private final LatencyHistogram latency;
+    private final long errors;
+    private final long dropped;
+
+    LoadReport(String name, double targetRps, double seconds, LatencyHistogram latency, long errors, long dropped) {
+        this.name = name;
+        this.targetRps = targetRps;
+        this.seconds = seconds;
+        this.latency = latency;
+        this.errors = errors;
+        this.dropped = dropped;
+    }
+
+    static String header() {
+        return String.format("%-12s %10s %10s %10s %10s %10s %8s %8s",
+                "run", "target rps", "rps", "p50, ms", "p99, ms", "p99.9, ms", "errors", "dropped");
+    }
+
+    double getRps() {
+        return latency.getCount() / seconds;
+    }
+
+    double getTargetRps() {
+        return targetRps;
+    }
+
+    double getP50Millis() {
+        return quantileMillis(0.5);
+    }
+
+    double getP99Millis() {
+        return quantileMillis(0.99);
+    }
+
+    double getP999Millis() {
+        return quantileMillis(0.999);
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getDropped() {
+        return dropped;
+    }
+
+    private double quantileMillis(double quantile) {
+        return latency.getValuesAtQuantiles(quantile)[0] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-12s %10.0f %10.0f %10.3f %10.3f %10.3f %8d %8d", name, targetRps, getRps(),
+                getP50Millis(), getP99Millis(), getP999Millis(), errors, dropped);
+    }
+}
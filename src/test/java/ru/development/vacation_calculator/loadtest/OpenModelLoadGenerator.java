@@ -0,0 +1,82 @@
+package ru.development.vacation_calculator.loadtest;
+
+import ru.development.vacation_calculator.metrics.LatencyHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузка по открытой модели: запросы отправляются с постоянной частотой независимо от того, ответил ли сервер
+ * на предыдущие. Задержка считается от запланированного момента отправки, а не от фактического,
+ * поэтому отставание генератора при перегрузке сервера попадает в перцентили (без coordinated omission).
+ */
+final class OpenModelLoadGenerator implements AutoCloseable {
+    private final RequestMix mix;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    OpenModelLoadGenerator(RequestMix mix, int maxInFlight, int threads) {
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    LoadReport run(String name, double rps, Duration duration) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long dropped = 0;
+        AtomicInteger inFlight = new AtomicInteger();
+        Random random = new Random(42);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            //запрос сверх лимита не отправляется: сервер уже не справляется, очередь в клиенте только исказит задержки
+            if (inFlight.get() >= maxInFlight) {
+                dropped++;
+                continue;
+            }
+            int index = mix.next(random);
+            int expectedStatus = mix.kind(index).getExpectedStatus();
+            long scheduledAt = intended;
+            inFlight.incrementAndGet();
+            client.sendAsync(mix.request(index, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latency.record(System.nanoTime() - scheduledAt);
+                        if (error != null || response.statusCode() != expectedStatus) {
+                            errors.increment();
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        //не дождавшиеся ответа запросы считаются ошибками
+        return new LoadReport(name, rps, duration.toMillis() / 1000.0, latency, errors.sum() + inFlight.get(), dropped);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
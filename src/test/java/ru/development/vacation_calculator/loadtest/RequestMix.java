@@ -0,0 +1,149 @@
+package ru.development.vacation_calculator.loadtest;
+
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Смесь запросов нагрузочного теста: вид запроса выбирается случайно пропорционально весу.
+ * Формат: {@code days:40,dates:30,cached:10,invalid:15,batch:5}, виды перечислены в {@link Kind}.
+ * Зарплата, количество дней и даты выбираются случайно для каждого запроса, поэтому такие запросы проходят мимо
+ * кэша расчетов; попадания в кэш измеряет отдельный вид cached с одним и тем же запросом.
+ */
+final class RequestMix {
+    //с 13 июня по 3 ноября 2024 года праздников нет: отпуск, начатый в этом интервале, проходит проверку дат
+    private static final LocalDate FIRST_DATES_START = LocalDate.of(2024, Month.JUNE, 14);
+    private static final int DATES_START_RANGE = 120;
+    private static final int MAX_DATES_DAYS = 14;
+    private static final int MAX_DAYS = 28;
+
+    private final String baseUrl;
+    private final List<Kind> kinds = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    private RequestMix(String baseUrl, List<Kind> kinds, List<Integer> weights) {
+        this.baseUrl = baseUrl;
+        this.kinds.addAll(kinds);
+        this.cumulativeWeights = new int[kinds.size()];
+        int total = 0;
+        for (int i = 0; i < kinds.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static RequestMix parse(String baseUrl, String mix) {
+        List<Kind> kinds = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kindAndWeight = part.trim().split(":");
+            int weight = Integer.parseInt(kindAndWeight[1].trim());
+            if (weight > 0) {
+                kinds.add(Kind.valueOf(kindAndWeight[0].trim().toUpperCase()));
+                weights.add(weight);
+            }
+        }
+        if (kinds.isEmpty()) {
+            throw new IllegalArgumentException("В смеси запросов нет ни одного вида с положительным весом: " + mix);
+        }
+        return new RequestMix(baseUrl, kinds, weights);
+    }
+
+    int next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= value) {
+            index++;
+        }
+        return index;
+    }
+
+    Kind kind(int index) {
+        return kinds.get(index);
+    }
+
+    HttpRequest request(int index, Random random) {
+        return kinds.get(index).request(baseUrl, random);
+    }
+
+    int size() {
+        return kinds.size();
+    }
+
+    //зарплата от 30 000 до 1 000 000 рублей с копейками
+    private static String salary(Random random) {
+        long kopecks = 3_000_000L + (long) (random.nextDouble() * 97_000_000L);
+        return (kopecks / 100) + "." + String.format("%02d", kopecks % 100);
+    }
+
+    enum Kind {
+        //расчет только по количеству дней
+        DAYS(200) {
+            @Override
+            HttpRequest request(String baseUrl, Random random) {
+                return get(baseUrl, "/calculate?salary=" + salary(random) + "&days=" + (1 + random.nextInt(MAX_DAYS)));
+            }
+        },
+        //расчет по датам без праздников внутри периода
+        DATES(200) {
+            @Override
+            HttpRequest request(String baseUrl, Random random) {
+                LocalDate start = FIRST_DATES_START.plusDays(random.nextInt(DATES_START_RANGE));
+                int days = 1 + random.nextInt(MAX_DATES_DAYS);
+                return get(baseUrl, "/calculate?salary=" + salary(random) + "&days=" + days
+                        + "&start=" + start.format(Constants.DATE_PATTERN)
+                        + "&end=" + start.plusDays(days - 1).format(Constants.DATE_PATTERN));
+            }
+        },
+        //один и тот же расчет по датам с праздником внутри периода: после первого запроса ответ берется из кэша
+        CACHED(200) {
+            @Override
+            HttpRequest request(String baseUrl, Random random) {
+                return get(baseUrl, "/calculate?salary=600000&days=8&start=02-05-2024&end=11-05-2024");
+            }
+        },
+        //отклоненный запрос: отпуск начинается с праздника
+        INVALID(400) {
+            @Override
+            HttpRequest request(String baseUrl, Random random) {
+                return get(baseUrl, "/calculate?salary=" + salary(random) + "&days=10&start=01-05-2024&end=10-05-2024");
+            }
+        },
+        //пакет NDJSON из нескольких записей
+        BATCH(200) {
+            @Override
+            HttpRequest request(String baseUrl, Random random) {
+                String body = "{\"salary\":" + salary(random) + ",\"vacationDays\":14}\n"
+                        + "{\"salary\":" + salary(random) + ",\"vacationDays\":9,\"vacationStart\":\"02-05-2024\",\"vacationEnd\":\"11-05-2024\"}\n"
+                        + "{\"salary\":" + salary(random) + ",\"vacationDays\":28}\n";
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/calculate/batch"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build();
+            }
+        };
+
+        private final int expectedStatus;
+
+        Kind(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+
+        int getExpectedStatus() {
+            return expectedStatus;
+        }
+
+        abstract HttpRequest request(String baseUrl, Random random);
+
+        private static HttpRequest get(String baseUrl, String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        }
+    }
+}
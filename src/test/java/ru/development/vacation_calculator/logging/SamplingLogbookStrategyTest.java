@@ -0,0 +1,107 @@
+package ru.development.vacation_calculator.logging;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Sink;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SamplingLogbookStrategyTest {
+    private final SamplingLogbookStrategy strategy = new SamplingLogbookStrategy(
+            Map.of("/calculate", 0.0, "/calculate/batch", 1.0), 0.5, 200, 400, new String[]{"/calculate/batch"});
+
+    @Test
+    void thresholdFor_whenPathsShareAPrefix_thenLongestPrefixWins() {
+        assertEquals(0, strategy.thresholdFor("/calculate"));
+        assertEquals(1_000_000, strategy.thresholdFor("/calculate/batch"));
+        assertEquals(500_000, strategy.thresholdFor("/admin/cache"));
+    }
+
+    @Test
+    void process_whenEndpointIsStreaming_thenBodyIsNotBufferedEvenIfSampled() throws Exception {
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        when(request.getPath()).thenReturn("/calculate/batch");
+        HttpResponse response = Mockito.mock(HttpResponse.class);
+
+        strategy.process(request);
+        strategy.process(request, response);
+
+        verify(request).withoutBody();
+        verify(request, never()).withBody();
+        verify(response).withoutBody();
+        verify(response, never()).withBody();
+        assertTrue(strategy.isBodyLogged("/admin/cache"));
+        assertFalse(strategy.isBodyLogged("/calculate"));
+    }
+
+    @Test
+    void write_whenRequestIsFastAndSuccessfulAndNotSampled_thenNothingIsWritten() throws Exception {
+        Sink sink = write("/calculate", 200, 5);
+
+        verify(sink, never()).writeBoth(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void write_whenRequestFailed_thenItIsWrittenRegardlessOfSampling() throws Exception {
+        Sink sink = write("/calculate", 400, 5);
+
+        verify(sink).writeBoth(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void write_whenRequestIsSlow_thenItIsWrittenRegardlessOfSampling() throws Exception {
+        Sink sink = write("/calculate", 200, 250);
+
+        verify(sink).writeBoth(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void write_whenEndpointIsFullySampled_thenEveryRequestIsWritten() throws Exception {
+        Sink sink = write("/calculate/batch", 200, 5);
+
+        verify(sink).writeBoth(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void isSampled_whenRateIsHalf_thenRoughlyHalfOfCorrelationIdsAreSampled() {
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (strategy.isSampled(Long.toHexString(i * 0x9E3779B97F4A7C15L), 500_000)) {
+                sampled++;
+            }
+        }
+
+        assertTrue(sampled > 48_000 && sampled < 52_000, "sampled " + sampled);
+    }
+
+    @Test
+    void constructor_whenRateIsOutOfRange_thenIllegalArgumentExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new SamplingLogbookStrategy(Map.of(), 1.5, 200, 400, new String[0]));
+    }
+
+    private Sink write(String path, int status, long durationMillis) throws Exception {
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        when(request.getPath()).thenReturn(path);
+        HttpResponse response = Mockito.mock(HttpResponse.class);
+        when(response.getStatus()).thenReturn(status);
+        Correlation correlation = Mockito.mock(Correlation.class);
+        when(correlation.getId()).thenReturn("adf93d7425b4d94a");
+        when(correlation.getDuration()).thenReturn(Duration.ofMillis(durationMillis));
+        Sink sink = Mockito.mock(Sink.class);
+
+        strategy.write(correlation, request, response, sink);
+        return sink;
+    }
+}
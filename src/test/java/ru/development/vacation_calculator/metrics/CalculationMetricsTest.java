@@ -0,0 +1,50 @@
+package ru.development.vacation_calculator.metrics;
+
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.model.VacationData;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.Month;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalculationMetricsTest {
+    private final CalculationMetrics calculationMetrics = new CalculationMetrics();
+
+    @Test
+    void countCalculation_whenDatesAreNotSet_thenDaysModeIsCounted() {
+        calculationMetrics.countCalculation(VacationData.builder().salary(600000.0).vacationDays(10).build());
+        calculationMetrics.countCalculation(VacationData.builder().salary(600000.0).vacationDays(10)
+                .vacationStart(LocalDate.of(2024, Month.SEPTEMBER, 1))
+                .vacationEnd(LocalDate.of(2024, Month.SEPTEMBER, 10))
+                .build());
+
+        assertEquals(1, calculationMetrics.getCalculations(CalculationMetrics.CalculationMode.DAYS));
+        assertEquals(1, calculationMetrics.getCalculations(CalculationMetrics.CalculationMode.PERIOD));
+    }
+
+    @Test
+    void countRejection_whenExceptionHasNoValidationResult_thenNothingIsCounted() {
+        calculationMetrics.countRejection(new InvalidVacationDatesException("Ошибка").getValidationResult());
+    }
+
+    @Test
+    void writePrometheus_whenStagesRecorded_thenEveryStageHasQuantilesAndCount() throws Exception {
+        calculationMetrics.recordStage(CalculationMetrics.Stage.VALIDATION, System.nanoTime() - 1_000);
+        StringWriter writer = new StringWriter();
+
+        calculationMetrics.writePrometheus(writer);
+
+        String text = writer.toString();
+        assertTrue(text.contains("# TYPE vacation_calculation_stage_seconds summary"));
+        assertTrue(text.contains("vacation_calculation_stage_seconds_count{stage=\"validation\"} 1"));
+        assertTrue(text.contains("vacation_calculation_stage_seconds{stage=\"binding\",quantile=\"0.99\"} 0.0"));
+        assertTrue(text.contains("vacation_calculations_total{mode=\"period\"} 0"));
+        assertTrue(text.contains("vacation_validation_failures_total{reason=\"starts_with_holiday\"} 0"));
+        assertTrue(text.contains("vacation_calculation_stage_seconds_count{stage=\"response\"} 0"));
+        assertTrue(text.contains("vacation_calculation_results_total{source=\"cache\"} 0"));
+    }
+}
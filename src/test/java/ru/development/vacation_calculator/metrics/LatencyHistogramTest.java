@@ -0,0 +1,64 @@
+package ru.development.vacation_calculator.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void indexOf_whenValueIsAtUpperBoundOfItsBucket_thenNextValueStartsNextBucket() {
+        for (int index = 0; index < 1000; index++) {
+            long upperBound = LatencyHistogram.upperBoundOf(index);
+            assertEquals(index, LatencyHistogram.indexOf(upperBound));
+            assertEquals(index + 1, LatencyHistogram.indexOf(upperBound + 1));
+        }
+    }
+
+    @Test
+    void getValuesAtQuantiles_whenUniformValuesRecorded_thenRelativeErrorIsWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1_000_000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        long[] values = histogram.getValuesAtQuantiles(0.5, 0.99, 1.0);
+
+        assertWithinPrecision(500_000_000L, values[0]);
+        assertWithinPrecision(990_000_000L, values[1]);
+        assertWithinPrecision(1_000_000_000L, values[2]);
+        assertEquals(1_000_000, histogram.getCount());
+        assertEquals(1_000_000_000L, histogram.getMax());
+    }
+
+    @Test
+    void getValuesAtQuantiles_whenNothingRecorded_thenZerosAreReturned() {
+        assertArrayEquals(new long[]{0, 0}, new LatencyHistogram().getValuesAtQuantiles(0.5, 0.99));
+    }
+
+    @Test
+    void record_whenCalledFromManyThreads_thenNoValueIsLost() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    histogram.record(j);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800_000, histogram.getCount());
+        assertEquals(99_999, histogram.getValuesAtQuantiles(1.0)[0], 99_999 / 32);
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 32, "expected ~" + expected + " but was " + actual);
+    }
+}
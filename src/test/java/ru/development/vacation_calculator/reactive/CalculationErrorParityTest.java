@@ -0,0 +1,84 @@
+package ru.development.vacation_calculator.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.development.vacation_calculator.batch.BinaryBatchService;
+import ru.development.vacation_calculator.batch.VacationBatchService;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.controller.CalculationQueryArgumentResolver;
+import ru.development.vacation_calculator.controller.VacationPaymentController;
+import ru.development.vacation_calculator.errorhandler.ErrorHandler;
+import ru.development.vacation_calculator.errorhandler.ErrorResponse;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.service.PaymentMatrixService;
+import ru.development.vacation_calculator.service.VacationCalculationCache;
+import ru.development.vacation_calculator.service.VacationService;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+//одни и те же ошибочные параметры в режиме сервлетов и в реактивном режиме дают одинаковые статус и сообщение
+class CalculationErrorParityTest {
+    private static final List<String> INVALID_REQUESTS = List.of(
+            "/calculate?salary=-60000&days=10",
+            "/calculate?salary=0&days=10",
+            "/calculate?salary=abc&days=10",
+            "/calculate?days=10",
+            "/calculate?salary=&days=10",
+            "/calculate?salary=60000&days=0",
+            "/calculate?salary=60000&days=x",
+            "/calculate?salary=60000&start=32-01-2024",
+            "/calculate?salary=1e300&days=10");
+
+    private WebTestClient servletClient;
+    private WebTestClient reactiveClient;
+
+    @BeforeEach
+    void setUp() {
+        HolidaysChecker holidaysChecker = Mockito.mock(HolidaysChecker.class);
+        when(holidaysChecker.currentCalendar()).thenReturn(Mockito.mock(CalendarSnapshot.class));
+        VacationDataValidator vacationDataValidator = new VacationDataValidator(holidaysChecker);
+        VacationBatchService vacationBatchService = Mockito.mock(VacationBatchService.class);
+        CalculationMetrics calculationMetrics = new CalculationMetrics();
+
+        VacationPaymentController controller = new VacationPaymentController(Mockito.mock(VacationService.class),
+                vacationDataValidator, holidaysChecker, vacationBatchService,
+                Mockito.mock(VacationCalculationCache.class), calculationMetrics,
+                Mockito.mock(PaymentMatrixService.class), Mockito.mock(BinaryBatchService.class));
+        servletClient = MockMvcWebTestClient.bindTo(MockMvcBuilders.standaloneSetup(controller)
+                        .setControllerAdvice(new ErrorHandler())
+                        .setCustomArgumentResolvers(new CalculationQueryArgumentResolver())
+                        .build())
+                .build();
+
+        VacationReactiveHandler handler = new VacationReactiveHandler(holidaysChecker, vacationDataValidator,
+                vacationBatchService, calculationMetrics, 4, 2);
+        reactiveClient = WebTestClient.bindToRouterFunction(new VacationReactiveRouter().vacationRoutes(handler))
+                .build();
+    }
+
+    @Test
+    void calculate_whenParametersAreInvalid_thenBothModesReturnSameError() {
+        for (String uri : INVALID_REQUESTS) {
+            EntityExchangeResult<ErrorResponse> servlet = exchange(servletClient, uri);
+            EntityExchangeResult<ErrorResponse> reactive = exchange(reactiveClient, uri);
+
+            assertEquals(400, servlet.getRawStatusCode(), uri);
+            assertEquals(servlet.getRawStatusCode(), reactive.getRawStatusCode(), uri);
+            assertEquals(servlet.getResponseBody().getMessage(), reactive.getResponseBody().getMessage(), uri);
+        }
+    }
+
+    private static EntityExchangeResult<ErrorResponse> exchange(WebTestClient client, String uri) {
+        return client.get().uri(uri).exchange().expectBody(ErrorResponse.class).returnResult();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.development.vacation_calculator.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.development.vacation_calculator.VacationCalculatorApplication;
+import ru.development.vacation_calculator.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение режимов сервлетов и WebFlux под одинаковой нагрузкой: замкнутая модель,
+ * concurrency клиентов шлют запросы без пауз, максимальный RPS - пропускная способность при насыщении.
+ * Запуск: mvn test -Dtest=ServletVsReactiveLoadTest -Dloadtest=true [-Dloadtest.concurrency=512 -Dloadtest.seconds=30]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ServletVsReactiveLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 256);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final String QUERY = "/calculate?salary=600000&days=10&start=02-09-2024&end=11-09-2024";
+
+    @Test
+    void compareServletAndReactiveModes() throws Exception {
+        LoadResult servlet = run(WebApplicationType.SERVLET);
+        LoadResult reactive = run(WebApplicationType.REACTIVE);
+
+        System.out.printf("%-10s %12s %12s %12s %12s %8s%n", "mode", "max rps", "p50, ms", "p99, ms", "p99.9, ms", "errors");
+        servlet.print("servlet");
+        reactive.print("reactive");
+        assertEquals(0, servlet.errors);
+        assertEquals(0, reactive.errors);
+    }
+
+    private LoadResult run(WebApplicationType type) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(VacationCalculatorApplication.class)
+                .web(type)
+                .run("--server.port=0",
+                        "--admission.enabled=false",
+                        "--logging.level.ru.development.vacation_calculator=INFO",
+                        "--logging.level.org.zalando.logbook=INFO")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + QUERY)).GET().build();
+            load(request, WARMUP);
+            return load(request, DURATION);
+        }
+    }
+
+    private LoadResult load(HttpRequest request, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    latency.record(System.nanoTime() - start);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return new LoadResult(latency, errors.sum(), duration);
+    }
+
+    private static class LoadResult {
+        private final LatencyHistogram latency;
+        private final long errors;
+        private final Duration duration;
+
+        private LoadResult(LatencyHistogram latency, long errors, Duration duration) {
+            this.latency = latency;
+            this.errors = errors;
+            this.duration = duration;
+        }
+
+        private void print(String mode) {
+            long[] quantiles = latency.getValuesAtQuantiles(0.5, 0.99, 0.999);
+            System.out.printf("%-10s %12.0f %12.3f %12.3f %12.3f %8d%n", mode,
+                    latency.getCount() / (double) duration.toSeconds(),
+                    quantiles[0] / 1_000_000.0, quantiles[1] / 1_000_000.0, quantiles[2] / 1_000_000.0, errors);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.development.vacation_calculator.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.development.vacation_calculator.batch.VacationBatchService;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.BatchCalculationResult;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.HolidaysChecker;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.development.vacation_calculator.constants.Constants.CALENDAR_VERSION_HEADER;
+
+class VacationReactiveHandlerTest {
+    private VacationBatchService vacationBatchService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        HolidaysChecker holidaysChecker = Mockito.mock(HolidaysChecker.class);
+        CalendarSnapshot calendar = Mockito.mock(CalendarSnapshot.class);
+        when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+        vacationBatchService = Mockito.mock(VacationBatchService.class);
+        VacationReactiveHandler handler = new VacationReactiveHandler(holidaysChecker,
+                new VacationDataValidator(holidaysChecker), vacationBatchService, new CalculationMetrics(), 4, 2);
+        webTestClient = WebTestClient.bindToRouterFunction(new VacationReactiveRouter().vacationRoutes(handler)).build();
+    }
+
+    @Test
+    void calculate_whenValidParametersPassed_thenPaymentAndCalendarVersionAreReturned() {
+        VacationData expected = new VacationData(600000.0, 10,
+                LocalDate.of(2024, Month.SEPTEMBER, 2), LocalDate.of(2024, Month.SEPTEMBER, 11));
+        when(vacationBatchService.calculate(eq(expected), anyLong(), any()))
+                .thenReturn(BatchCalculationResult.success(0, 14846.37, 2));
+
+        webTestClient.get()
+                .uri("/calculate?salary=600000&days=10&start=02-09-2024&end=11-09-2024")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CALENDAR_VERSION_HEADER, "2")
+                .expectBody(Double.class).isEqualTo(14846.37);
+    }
+
+    @Test
+    void calculate_whenValidationFails_thenBadRequestWithMessageIsReturned() {
+        when(vacationBatchService.calculate(any(VacationData.class), anyLong(), any()))
+                .thenReturn(BatchCalculationResult.failure(0, "Пожалуйста, укажите количество дней отпуска " +
+                        "или дату начала и окончания отпуска"));
+
+        webTestClient.get()
+                .uri("/calculate?salary=600000&end=10-09-2024")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(containsString("укажите количество дней отпуска"));
+    }
+
+    @Test
+    void calculate_whenIncorrectSalaryPassed_thenBadRequestIsReturnedWithoutCalculation() {
+        webTestClient.get()
+                .uri("/calculate?salary=-60000&days=10")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("calculate.salary: Неверно указана зарплата сотрудника");
+
+        verify(vacationBatchService, never()).calculate(any(VacationData.class), anyLong(), any());
+    }
+
+    @Test
+    void calculate_whenIncorrectNumberOfDaysPassed_thenBadRequestIsReturned() {
+        webTestClient.get()
+                .uri("/calculate?salary=60000&days=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("calculate.days: Неверно указано количество дней отпуска");
+    }
+
+    @Test
+    void calculateBatch_whenRecordsPassed_thenResultsAreStreamedInInputOrderWithLineNumbers() {
+        when(vacationBatchService.calculate(anyLong(), anyString(), any())).thenAnswer(invocation ->
+                BatchCalculationResult.success(invocation.getArgument(0), invocation.<Long>getArgument(0) * 100.0, 1));
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            input.append("{\"salary\":600000.0,\"vacationDays\":").append(i).append("}\n");
+            if (i == 10) {
+                input.append("\n");
+            }
+        }
+
+        webTestClient.post()
+                .uri("/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(input.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BatchCalculationResult.class)
+                .hasSize(20)
+                .value(results -> {
+                    for (int i = 0; i < 10; i++) {
+                        assertEquals(i + 1, results.get(i).getLine());
+                    }
+                    for (int i = 10; i < 20; i++) {
+                        assertEquals(i + 2, results.get(i).getLine());
+                    }
+                });
+    }
+}
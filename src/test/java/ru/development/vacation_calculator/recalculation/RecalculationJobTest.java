@@ -0,0 +1,123 @@
+package ru.development.vacation_calculator.recalculation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.calendar.RegionalCalendarDelta;
+import ru.development.vacation_calculator.journal.CalculationJournal;
+import ru.development.vacation_calculator.journal.MappedCalculationJournal;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.service.VacationServiceImpl;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecalculationJobTest {
+    private static final VacationData DAYS_ONLY = VacationData.builder().salary(600000.0).vacationDays(14).build();
+    //период попадает на 10 мая, который в исправленном календаре стал праздником
+    private static final VacationData AFFECTED = VacationData.builder()
+            .salary(600000.0)
+            .vacationDays(9)
+            .vacationStart(LocalDate.of(2024, Month.MAY, 2))
+            .vacationEnd(LocalDate.of(2024, Month.MAY, 11))
+            .build();
+    private static final VacationData NOT_AFFECTED = VacationData.builder()
+            .salary(600000.0)
+            .vacationDays(5)
+            .vacationStart(LocalDate.of(2024, Month.JUNE, 3))
+            .vacationEnd(LocalDate.of(2024, Month.JUNE, 7))
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void run_whenCalendarIsCorrected_thenOnlyChangedRecordsAreWrittenWithOldAndNewPaymentInOrder() throws Exception {
+        CalendarSnapshot oldCalendar = calendar(1, LocalDate.of(2024, Month.MAY, 9));
+        CalendarSnapshot newCalendar = calendar(2, LocalDate.of(2024, Month.MAY, 9), LocalDate.of(2024, Month.MAY, 10));
+        //больше одного сегмента и больше одной задачи fork-join в сегменте
+        int records = 10_000;
+        journal(oldCalendar, records, 7_000);
+
+        StringWriter output = new StringWriter();
+        RecalculationJob.Summary summary = new RecalculationJob(null, 4).run(directory, newCalendar, output);
+
+        List<String> lines = Arrays.asList(output.toString().split("\n"));
+        assertEquals(records, summary.getRecords());
+        assertEquals(records / 3, summary.getChanged());
+        assertEquals(RecalculationJob.CSV_HEADER, lines.get(0));
+        assertEquals(summary.getChanged() + 1, lines.size());
+        double oldPayment = new VacationServiceImpl(null, new CalculationMetrics(), CalculationJournal.DISABLED)
+                .calculateVacationPay(AFFECTED, oldCalendar);
+        for (int i = 1; i < lines.size(); i++) {
+            String[] fields = lines.get(i).split(",", -1);
+            assertEquals(String.valueOf((i - 1) * 3L + 1), fields[0]);
+            assertEquals("2024-05-02", fields[4]);
+            assertEquals(oldCalendar.getContentId(), fields[7]);
+            assertEquals(String.valueOf(oldPayment), fields[8]);
+            assertEquals(newCalendar.getContentId(), fields[9]);
+            assertTrue(Double.parseDouble(fields[10]) < oldPayment);
+        }
+    }
+
+    @Test
+    void run_whenRegionIsNoLongerLoaded_thenRecordIsReportedWithError() throws Exception {
+        CalendarSnapshot oldCalendar = calendar(1, LocalDate.of(2024, Month.MAY, 9));
+        CalculationMetrics calculationMetrics = new CalculationMetrics();
+        MappedCalculationJournal journal = new MappedCalculationJournal(calculationMetrics, directory.toString(), 16,
+                1024, 10, 100, 1000);
+        VacationServiceImpl vacationService = new VacationServiceImpl(null, calculationMetrics, journal);
+        vacationService.calculateVacationPay(NOT_AFFECTED, oldCalendar.forRegion("RU-TA"));
+        journal.close();
+
+        StringWriter output = new StringWriter();
+        RecalculationJob.Summary summary = new RecalculationJob(null, 2)
+                .run(directory, new CalendarSnapshot(2, Instant.now(), oldCalendar.getHolidays()), output);
+
+        assertEquals(1, summary.getChanged());
+        assertTrue(output.toString().contains(",RU-TA," + oldCalendar.forRegion("RU-TA").getContentId() + ","));
+        assertTrue(output.toString().contains("\"Производственный календарь региона RU-TA не загружен\""));
+    }
+
+    //записи по кругу: без дат, с затронутым исправлением периодом, с незатронутым периодом
+    private void journal(CalendarSnapshot calendar, int records, int segmentRecords) throws Exception {
+        CalculationMetrics calculationMetrics = new CalculationMetrics();
+        MappedCalculationJournal journal = new MappedCalculationJournal(calculationMetrics, directory.toString(),
+                1 << 14, segmentRecords, 10, 1000, 1000);
+        VacationServiceImpl vacationService = new VacationServiceImpl(null, calculationMetrics, journal);
+        VacationData[] inputs = {DAYS_ONLY, AFFECTED, NOT_AFFECTED};
+        for (int i = 0; i < records; i++) {
+            vacationService.calculateVacationPay(inputs[i % inputs.length], calendar);
+        }
+        journal.close();
+        assertEquals(0, journal.getDropped());
+    }
+
+    private static CalendarSnapshot calendar(long version, LocalDate... holidays) {
+        return new CalendarSnapshot(version, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return List.of(holidays);
+            }
+        }, 1), Map.of("RU-TA", new RegionalCalendarDelta("RU-TA", new long[0], new long[0])));
+    }
+}
@@ -0,0 +1,151 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarCompiler;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.calendar.ResourceHolidayCalendarSource;
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolidaysCheckerTest {
+    private static Set<LocalDate> holidays;
+    private static HolidaysChecker holidaysChecker;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        holidays = Stream.of("01-01-2024", "02-01-2024", "03-01-2024", "04-01-2024", "05-01-2024",
+                "08-01-2024", "23-02-2024", "08-03-2024", "29-04-2024", "30-04-2024", "01-05-2024",
+                "09-05-2024", "10-05-2024", "12-06-2024", "04-11-2024", "30-12-2024", "31-12-2024")
+                .map(date -> LocalDate.parse(date, Constants.DATE_PATTERN))
+                .collect(Collectors.toSet());
+        holidaysChecker = new HolidaysChecker(new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return holidays;
+            }
+        }, 1));
+    }
+
+    @Test
+    void checkNumberOfHolidays_whenAnyPeriodPassed_thenMatchesHalfOpenLinearScan() {
+        LocalDate from = LocalDate.of(2023, Month.DECEMBER, 1);
+        LocalDate to = LocalDate.of(2025, Month.JANUARY, 31);
+
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(1)) {
+            for (LocalDate end = from; !end.isAfter(to); end = end.plusDays(1)) {
+                assertEquals(countByLinearScan(start, end), holidaysChecker.checkNumberOfHolidays(start, end),
+                        "start = " + start + ", end = " + end);
+            }
+        }
+    }
+
+    @Test
+    void checkNumberOfHolidays_whenStartIsHoliday_thenStartIsNotCounted() {
+        assertEquals(0, holidaysChecker.checkNumberOfHolidays(LocalDate.of(2024, Month.NOVEMBER, 4),
+                LocalDate.of(2024, Month.NOVEMBER, 10)));
+        assertEquals(1, holidaysChecker.checkNumberOfHolidays(LocalDate.of(2024, Month.NOVEMBER, 1),
+                LocalDate.of(2024, Month.NOVEMBER, 4)));
+    }
+
+    @Test
+    void checkIfAHoliday_whenAnyDatePassed_thenMatchesHolidaysSet() {
+        for (LocalDate date = LocalDate.of(2023, Month.DECEMBER, 1);
+             date.isBefore(LocalDate.of(2025, Month.FEBRUARY, 1)); date = date.plusDays(1)) {
+            assertEquals(holidays.contains(date), holidaysChecker.checkIfAHoliday(date), "date = " + date);
+        }
+        assertTrue(holidaysChecker.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 12)));
+        assertFalse(holidaysChecker.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 13)));
+    }
+
+    @Test
+    void checkIfCalendarIsAvailable_whenYearHasNoCalendar_thenReturnFalse() {
+        assertTrue(holidaysChecker.checkIfCalendarIsAvailable(2024));
+        assertFalse(holidaysChecker.checkIfCalendarIsAvailable(2025));
+    }
+
+    private long countByLinearScan(LocalDate start, LocalDate end) {
+        return holidays.stream()
+                .filter(element -> (element.isBefore(end) || element.isEqual(end)) && element.isAfter(start))
+                .count();
+    }
+
+    @Test
+    void reload_whenCalendarIsReloaded_thenNewVersionIsSwappedAndPinnedSnapshotIsUnchanged() {
+        AtomicInteger builtStores = new AtomicInteger();
+        HolidaysChecker reloadableChecker = new HolidaysChecker(() -> {
+            Set<LocalDate> yearHolidays = builtStores.getAndIncrement() == 0
+                    ? holidays
+                    : Set.of(LocalDate.of(2024, Month.JUNE, 13));
+            return new HolidayCalendarStore(new HolidayCalendarSource() {
+                @Override
+                public Set<Integer> availableYears() {
+                    return Set.of(2024);
+                }
+
+                @Override
+                public Collection<LocalDate> loadYear(int year) {
+                    return yearHolidays;
+                }
+            }, 1);
+        }, event -> {
+        });
+        CalendarSnapshot pinned = reloadableChecker.currentCalendar();
+
+        CalendarSnapshot reloaded = reloadableChecker.reload();
+
+        assertEquals(pinned.getVersion() + 1, reloaded.getVersion());
+        assertSame(reloaded, reloadableChecker.currentCalendar());
+        assertTrue(pinned.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 12)));
+        assertFalse(reloaded.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 12)));
+        assertTrue(reloadableChecker.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 13)));
+    }
+
+    @Test
+    void reload_whenCalendarIsCompiled_thenTextCalendarsAreReread() throws IOException {
+        Path textCalendar = directory.resolve("2024.txt");
+        Files.writeString(textCalendar, "12-06-2024\n");
+        String location = directory.toUri().toString();
+        try (OutputStream compiled = Files.newOutputStream(directory.resolve(HolidaysChecker.COMPILED_CALENDAR_FILE))) {
+            HolidayCalendarCompiler.compile(new ResourceHolidayCalendarSource(new PathMatchingResourcePatternResolver(),
+                    location), compiled);
+        }
+        HolidaysChecker compiledChecker = new HolidaysChecker(new DefaultResourceLoader(), event -> {
+        }, location, 1, true);
+        Files.writeString(textCalendar, "12-06-2024\n13-06-2024\n");
+
+        assertFalse(compiledChecker.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 13)));
+        compiledChecker.reload();
+
+        assertTrue(compiledChecker.checkIfAHoliday(LocalDate.of(2024, Month.JUNE, 13)));
+    }
+}
@@ -0,0 +1,199 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KopeckPaymentCalculatorTest {
+    private static final int RANDOM_INPUTS = 20_000;
+    private static final int REPORT_INPUTS = 2_000_000;
+    private static final BigDecimal TWELVE_MONTHS_OF_AVERAGE_DAYS = new BigDecimal("351.6");
+    private static final BigDecimal SHARE_AFTER_TAXES = new BigDecimal("0.87");
+
+    @Test
+    void calculatePayment_whenDaysPassed_thenMatchesStatutoryFormula() {
+        assertEquals(14846.37, KopeckPaymentCalculator.calculatePayment(600000.0, 10));
+        assertEquals(1484637, KopeckPaymentCalculator.calculatePayment(60_000_000L, 10));
+        assertEquals(170648, KopeckPaymentCalculator.averageDailyIncome(60_000_000L));
+    }
+
+    @Test
+    void calculatePayment_whenDoubleFloorLosesAKopeck_thenExactAmountIsReturned() {
+        assertEquals(5295665.64, KopeckPaymentCalculator.calculatePayment(85607176.30, 25));
+        assertEquals(5295665.63, LegacyDoublePaymentCalculator.calculatePaymentRubles(85607176.30, 25));
+    }
+
+    /**
+     * Сравнение с точным расчетом в BigDecimal на случайных зарплатах до миллиарда рублей: расчет в копейках
+     * совпадает всегда. Прежний расчет в double только недоплачивает: либо копейку в итоговой сумме, либо копейку
+     * в среднем дневном заработке, умноженную на число дней и долю после налога.
+     */
+    @Test
+    void calculatePayment_whenRandomInputsPassed_thenResultMatchesBigDecimalReference() {
+        compareWithReference(RANDOM_INPUTS, new EnumMap<>(LegacyLoss.class));
+    }
+
+    /**
+     * То же сравнение на миллионах входов с отчетом о всех расхождениях прежнего расчета, сгруппированных по виду потери.
+     * Запуск: mvn test -Dtest=KopeckPaymentCalculatorTest -Dkopecktest=true
+     * [-Dkopecktest.inputs=2000000 -Dkopecktest.report=target/kopeck-payment-report.txt]
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "kopecktest", matches = "true")
+    void calculatePayment_whenMillionsOfRandomInputsPassed_thenLegacyLossesAreReported() throws IOException {
+        Map<LegacyLoss, List<String>> losses = new EnumMap<>(LegacyLoss.class);
+        compareWithReference(Integer.getInteger("kopecktest.inputs", REPORT_INPUTS), losses);
+
+        Path report = Paths.get(System.getProperty("kopecktest.report", "target/kopeck-payment-report.txt"));
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(report)) {
+            for (Map.Entry<LegacyLoss, List<String>> loss : losses.entrySet()) {
+                writer.write("# " + loss.getKey().getDescription() + ": " + loss.getValue().size() + "\n");
+                writer.write("salary,days,expected,legacy\n");
+                for (String line : loss.getValue()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        }
+        System.out.println("Kopeck payment report: " + report.toAbsolutePath());
+    }
+
+    //расхождения прежнего расчета складываются в losses по виду потери
+    private static void compareWithReference(int inputs, Map<LegacyLoss, List<String>> losses) {
+        for (LegacyLoss loss : LegacyLoss.values()) {
+            losses.put(loss, new ArrayList<>());
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < inputs; i++) {
+            long salaryKopecks = random.nextLong(1, 100_000_000_000L);
+            int days = random.nextInt(1, 366);
+            BigDecimal salary = BigDecimal.valueOf(salaryKopecks, 2);
+            BigDecimal averageDailyIncome = salary.divide(TWELVE_MONTHS_OF_AVERAGE_DAYS, 2, RoundingMode.FLOOR);
+            BigDecimal expected = averageDailyIncome.multiply(BigDecimal.valueOf(days)).multiply(SHARE_AFTER_TAXES)
+                    .setScale(2, RoundingMode.FLOOR);
+            long expectedKopecks = expected.unscaledValue().longValueExact();
+
+            assertEquals(expectedKopecks, KopeckPaymentCalculator.calculatePayment(salaryKopecks, days),
+                    salary + " x " + days);
+            assertEquals(expected.doubleValue(), KopeckPaymentCalculator.calculatePayment(salary.doubleValue(), days));
+
+            long legacy = KopeckPaymentCalculator.toKopecks(
+                    LegacyDoublePaymentCalculator.calculatePaymentRubles(salary.doubleValue(), days));
+            if (legacy == expectedKopecks) {
+                continue;
+            }
+            long withReducedDailyIncome = (averageDailyIncome.unscaledValue().longValueExact() - 1) * days * 87 / 100;
+            LegacyLoss loss;
+            if (legacy == withReducedDailyIncome || legacy == withReducedDailyIncome - 1) {
+                loss = LegacyLoss.DAILY_INCOME;
+            } else if (legacy == expectedKopecks - 1) {
+                loss = LegacyLoss.FINAL_KOPECK;
+            } else {
+                throw new AssertionError(salary + " x " + days + ": " + legacy);
+            }
+            losses.get(loss).add(salary + "," + days + "," + expected + "," + BigDecimal.valueOf(legacy, 2));
+        }
+    }
+
+    private enum LegacyLoss {
+        FINAL_KOPECK("потеряна копейка в итоговой сумме"),
+        DAILY_INCOME("потеряна копейка в среднем дневном заработке");
+
+        private final String description;
+
+        LegacyLoss(String description) {
+            this.description = description;
+        }
+
+        String getDescription() {
+            return description;
+        }
+    }
+
+    @Test
+    void calculatePayment_whenPaymentDoesNotFitIntoLong_thenInvalidInputIsReported() {
+        InvalidVacationDatesException exception = assertThrows(InvalidVacationDatesException.class,
+                () -> KopeckPaymentCalculator.calculatePayment(KopeckPaymentCalculator.MAX_SALARY_KOPECKS,
+                        Integer.MAX_VALUE));
+
+        assertEquals(KopeckPaymentCalculator.PAYMENT_TOO_LARGE_MESSAGE, exception.getMessage());
+        assertThrows(InvalidVacationDatesException.class,
+                () -> KopeckPaymentCalculator.calculatePayment(Double.POSITIVE_INFINITY, 10));
+    }
+
+    @Test
+    void isValidSalary_whenSalaryIsOutOfRange_thenReturnFalse() {
+        assertTrue(KopeckPaymentCalculator.isValidSalary(600000.0));
+        assertTrue(KopeckPaymentCalculator.isValidSalary(KopeckPaymentCalculator.MAX_SALARY_KOPECKS / 100.0));
+        assertFalse(KopeckPaymentCalculator.isValidSalary(0.0));
+        assertFalse(KopeckPaymentCalculator.isValidSalary(1e16));
+        assertFalse(KopeckPaymentCalculator.isValidSalary(Double.POSITIVE_INFINITY));
+        assertFalse(KopeckPaymentCalculator.isValidSalary(Double.NaN));
+        assertFalse(KopeckPaymentCalculator.isValidSalary(Long.MAX_VALUE));
+        assertTrue(KopeckPaymentCalculator.isValidSalary(KopeckPaymentCalculator.MAX_SALARY_KOPECKS));
+    }
+
+    @Test
+    void calculatePayment_whenCalledRepeatedly_thenZeroBytesAreAllocatedPerOperation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        long threadId = Thread.currentThread().getId();
+
+        double checksum = calculate(200_000);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        checksum += calculate(1_000_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue(checksum > 0);
+        assertEquals(0, allocated / 1_000_000, "allocated bytes: " + allocated);
+    }
+
+    private static double calculate(int iterations) {
+        double checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            checksum += KopeckPaymentCalculator.calculatePayment(600000.0 + i, i % 28 + 1);
+        }
+        return checksum;
+    }
+
+    @Test
+    void calculatePayments_whenColumnsPassed_thenEveryRowMatchesScalarFormula() {
+        SplittableRandom random = new SplittableRandom(42);
+        int rows = 100_000;
+        long[] salaries = new long[rows];
+        int[] days = new int[rows];
+        long[] payments = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            salaries[i] = random.nextLong(0, KopeckPaymentCalculator.MAX_BULK_SALARY_KOPECKS + 1);
+            days[i] = random.nextInt(0, KopeckPaymentCalculator.MAX_BULK_VACATION_DAYS + 1);
+        }
+
+        KopeckPaymentCalculator.calculatePayments(salaries, days, payments, 0, rows);
+
+        for (int i = 0; i < rows; i++) {
+            assertEquals(KopeckPaymentCalculator.calculatePayment(salaries[i], days[i]), payments[i]);
+        }
+    }
+}
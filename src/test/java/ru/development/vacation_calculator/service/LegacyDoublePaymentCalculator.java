@@ -0,0 +1,23 @@
+package ru.development.vacation_calculator.service;
+
+import static ru.development.vacation_calculator.constants.Constants.AVERAGE_NUMBER_OF_DAYS_PER_MONTH;
+import static ru.development.vacation_calculator.constants.Constants.NUMBER_OF_MONTHS;
+import static ru.development.vacation_calculator.constants.Constants.TAXES;
+
+/**
+ * Прежний расчет суммы отпускных в double, до перехода на {@link KopeckPaymentCalculator}. Оставлен в тестах
+ * как эталон старого поведения: с ним сравниваются расчет в копейках и бенчмарки.
+ */
+public final class LegacyDoublePaymentCalculator {
+
+    private LegacyDoublePaymentCalculator() {
+    }
+
+    public static double calculatePaymentRubles(double salaryRubles, long vacationDays) {
+        //Средний дневной заработок = Доходы за расчетный период / (Кол-во полных месяцев * Среднемесячное число календарных дней (29,3))
+        double averageDailyIncome = Math.floor(salaryRubles / (NUMBER_OF_MONTHS * AVERAGE_NUMBER_OF_DAYS_PER_MONTH) * 100) / 100;
+        double finalPaymentBeforeTaxes = averageDailyIncome * vacationDays;
+        double finalPaymentAfterTaxes = finalPaymentBeforeTaxes - finalPaymentBeforeTaxes * TAXES / 100;
+        return Math.floor(finalPaymentAfterTaxes * 100) / 100;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.constants.Constants;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentCalculatorTest {
+    private static final int WARM_UP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static CalendarSnapshot calendar;
+
+    @BeforeAll
+    static void setUp() {
+        calendar = new CalendarSnapshot(1, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024, 2025);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return List.of(LocalDate.of(year, Month.JANUARY, 1), LocalDate.of(year, Month.NOVEMBER, 4));
+            }
+        }, 2));
+    }
+
+    @Test
+    void calculatePaymentRubles_whenDaysPassed_thenLegacyReferenceMatchesStatutoryFormula() {
+        double averageDailyIncome = Math.floor(((double) 600000 / Constants.NUMBER_OF_MONTHS
+                / Constants.AVERAGE_NUMBER_OF_DAYS_PER_MONTH) * 100) / 100;
+        double vacationPayment = Math.floor((averageDailyIncome * 10 - (averageDailyIncome * 10) * Constants.TAXES / 100) * 100) / 100;
+
+        assertEquals(vacationPayment, LegacyDoublePaymentCalculator.calculatePaymentRubles(600000.0, 10));
+        assertEquals(vacationPayment, KopeckPaymentCalculator.calculatePayment(600000.0, 10));
+    }
+
+    @Test
+    void countVacationDays_whenPeriodIncludesHoliday_thenHolidayIsNotPaid() {
+        long start = LocalDate.of(2024, Month.NOVEMBER, 1).toEpochDay();
+        long end = LocalDate.of(2024, Month.NOVEMBER, 10).toEpochDay();
+
+        assertEquals(9, PaymentCalculator.countVacationDays(start, end, calendar));
+    }
+
+    @Test
+    void countVacationDays_whenCalledRepeatedly_thenZeroBytesAreAllocatedPerOperation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        long threadId = Thread.currentThread().getId();
+        long firstDay = LocalDate.of(2024, Month.JANUARY, 1).toEpochDay();
+
+        double checksum = calculate(firstDay, WARM_UP_ITERATIONS);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        checksum += calculate(firstDay, MEASURED_ITERATIONS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue(checksum > 0);
+        assertEquals(0, allocated / MEASURED_ITERATIONS, "allocated bytes: " + allocated);
+    }
+
+    private static double calculate(long firstDay, int iterations) {
+        double checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = firstDay + i % 700;
+            checksum += KopeckPaymentCalculator.calculatePayment(600000.0 + i,
+                    PaymentCalculator.countVacationDays(start, start + 13, calendar));
+        }
+        return checksum;
+    }
+}
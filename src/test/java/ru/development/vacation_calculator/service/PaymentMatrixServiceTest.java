@@ -0,0 +1,91 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.model.StartDatePayment;
+import ru.development.vacation_calculator.model.VacationData;
+import ru.development.vacation_calculator.model.YearPaymentMatrix;
+import ru.development.vacation_calculator.validation.VacationDataValidator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class PaymentMatrixServiceTest {
+    private static final double SALARY = 600000.0;
+
+    private static CalendarSnapshot calendar;
+    private static VacationDataValidator vacationDataValidator;
+    private final PaymentMatrixService paymentMatrixService = new PaymentMatrixService();
+
+    @BeforeAll
+    static void setUp() {
+        Set<LocalDate> holidays = Stream.of("01-01-2024", "02-01-2024", "03-01-2024", "04-01-2024", "05-01-2024",
+                        "08-01-2024", "23-02-2024", "08-03-2024", "29-04-2024", "30-04-2024", "01-05-2024",
+                        "09-05-2024", "10-05-2024", "12-06-2024", "04-11-2024", "30-12-2024", "31-12-2024",
+                        "01-01-2025", "02-01-2025", "03-01-2025", "06-01-2025", "07-01-2025", "08-01-2025")
+                .map(date -> LocalDate.parse(date, Constants.DATE_PATTERN))
+                .collect(Collectors.toSet());
+        calendar = new CalendarSnapshot(1, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024, 2025);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return holidays.stream().filter(date -> date.getYear() == year).collect(Collectors.toSet());
+            }
+        }, 2));
+        vacationDataValidator = new VacationDataValidator(mock(HolidaysChecker.class));
+    }
+
+    @Test
+    void calculateYear_whenAnyLengthPassed_thenMatchesIndependentCalculationForEveryStartDate() {
+        for (int length : new int[]{1, 7, 14, 28, 100, 366}) {
+            YearPaymentMatrix matrix = paymentMatrixService.calculateYear(SALARY, length, 2024, calendar);
+            Iterator<StartDatePayment> payments = matrix.getPayments().iterator();
+
+            for (LocalDate start = LocalDate.of(2024, Month.JANUARY, 1); start.getYear() == 2024; start = start.plusDays(1)) {
+                if (calendar.checkIfAHoliday(start)) {
+                    continue;
+                }
+                LocalDate end = start.plusDays(length - 1);
+                int paidDays = length - calendar.checkNumberOfHolidays(start, end);
+                StartDatePayment payment = payments.next();
+                assertEquals(start, payment.getVacationStart(), "length " + length);
+                assertEquals(end, payment.getVacationEnd());
+                assertEquals(paidDays, payment.getPaidDays(), "start " + start + ", length " + length);
+                assertEquals(KopeckPaymentCalculator.calculatePayment(SALARY, paidDays), payment.getPayment());
+                //та же дата начала, переданная в обычный расчет, проходит проверку
+                assertTrue(vacationDataValidator.check(new VacationData(SALARY, paidDays, start, end), calendar).isValid());
+            }
+            assertFalse(payments.hasNext(), "length " + length);
+        }
+    }
+
+    @Test
+    void calculateYear_whenWindowGoesBeyondLoadedCalendars_thenThoseStartDatesAreSkipped() {
+        YearPaymentMatrix matrix = paymentMatrixService.calculateYear(SALARY, 14, 2025, calendar);
+
+        StartDatePayment last = matrix.getPayments().get(matrix.getPayments().size() - 1);
+        assertEquals(LocalDate.of(2025, Month.DECEMBER, 18), last.getVacationStart());
+        assertEquals(LocalDate.of(2025, Month.DECEMBER, 31), last.getVacationEnd());
+        assertEquals(LocalDate.of(2025, Month.JANUARY, 4), matrix.getPayments().get(0).getVacationStart());
+        assertEquals(1, matrix.getCalendarVersion());
+    }
+}
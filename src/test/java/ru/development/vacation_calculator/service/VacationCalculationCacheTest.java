@@ -0,0 +1,252 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.development.vacation_calculator.calendar.CalendarReloadedEvent;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.metrics.CalculationMetrics.ResultSource;
+import ru.development.vacation_calculator.model.CacheStats;
+import ru.development.vacation_calculator.model.VacationData;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class VacationCalculationCacheTest {
+    private static final VacationData VACATION = VacationData.builder()
+            .salary(600000.0)
+            .vacationDays(10)
+            .vacationStart(LocalDate.of(2024, Month.SEPTEMBER, 1))
+            .vacationEnd(LocalDate.of(2024, Month.SEPTEMBER, 10))
+            .build();
+
+    private CalendarSnapshot calendar;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    void setUp() {
+        calendar = Mockito.mock(CalendarSnapshot.class);
+        when(calendar.getVersion()).thenReturn(1L);
+        calculations = new AtomicInteger();
+    }
+
+    @Test
+    void getSerialized_whenSameDataRequestedTwice_thenSameBytesAreReturnedWithoutRecalculation() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+
+        double payment = cache.get(VACATION, calendar, this::calculate).getValue();
+        byte[] first = cache.getSerialized(VACATION, calendar, this::calculate).getValue();
+        byte[] second = cache.getSerialized(VACATION, calendar, this::calculate).getValue();
+
+        assertSame(first, second);
+        assertEquals(String.valueOf(payment), new String(first, StandardCharsets.US_ASCII));
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    void get_whenSameDataRequestedTwice_thenCalculatedOnce() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+
+        VacationCalculationCache.Result<Double> first = cache.get(VACATION, calendar, this::calculate);
+        VacationCalculationCache.Result<Double> second = cache.get(VacationData.builder().salary(600000.0)
+                .vacationDays(10)
+                .vacationStart(LocalDate.of(2024, Month.SEPTEMBER, 1))
+                .vacationEnd(LocalDate.of(2024, Month.SEPTEMBER, 10)).build(), calendar, this::calculate);
+
+        assertEquals(first.getValue(), second.getValue());
+        assertEquals(ResultSource.CALCULATED, first.getSource());
+        assertEquals(ResultSource.CACHE, second.getSource());
+        assertEquals(1, calculations.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void get_whenCalendarVersionDiffers_thenCalculatedAgain() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+        CalendarSnapshot reloaded = Mockito.mock(CalendarSnapshot.class);
+        when(reloaded.getVersion()).thenReturn(2L);
+
+        cache.get(VACATION, calendar, this::calculate);
+        cache.get(VACATION, reloaded, this::calculate);
+
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    void get_whenConcurrentMissesForSameData_thenCalculatedOnceAndOthersJoin() throws Exception {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+        CountDownLatch calculationStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<VacationCalculationCache.Result<Double>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(VACATION, calendar, () -> {
+                    calculationStarted.countDown();
+                    awaitQuietly(release);
+                    return calculate();
+                })));
+            }
+            assertTrue(calculationStarted.await(5, TimeUnit.SECONDS));
+            //расчет отпускается, когда все остальные запросы уже нашли его запись и ждут результата
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.getStats().getHits() < 7 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            Map<ResultSource, Integer> sources = new EnumMap<>(ResultSource.class);
+            for (Future<VacationCalculationCache.Result<Double>> result : results) {
+                VacationCalculationCache.Result<Double> value = result.get(5, TimeUnit.SECONDS);
+                assertEquals(14846.37, value.getValue());
+                sources.merge(value.getSource(), 1, Integer::sum);
+            }
+            assertEquals(Map.of(ResultSource.CALCULATED, 1, ResultSource.JOINED, 7), sources);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calculations.get());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(7, cache.getStats().getHits());
+    }
+
+    @Test
+    void get_whenCalculationFails_thenFailureIsNotCached() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+
+        assertThrows(InvalidVacationDatesException.class, () -> cache.get(VACATION, calendar, () -> {
+            throw new InvalidVacationDatesException("Отпуск не может начинаться с выходного дня");
+        }));
+        cache.get(VACATION, calendar, this::calculate);
+
+        assertEquals(1, calculations.get());
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void get_whenMaxSizeExceeded_thenEldestEntriesAreEvicted() {
+        VacationCalculationCache cache = new VacationCalculationCache(2, 600);
+
+        for (int days = 1; days <= 5; days++) {
+            cache.get(VacationData.builder().salary(600000.0).vacationDays(days).build(), calendar, this::calculate);
+        }
+
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(3, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void get_whenCalculationsKeepFailing_thenEvictionQueueDoesNotGrow() {
+        VacationCalculationCache cache = new VacationCalculationCache(2, 600);
+
+        for (int days = 1; days <= 1000; days++) {
+            VacationData invalid = VacationData.builder().salary(600000.0).vacationDays(days).build();
+            assertThrows(InvalidVacationDatesException.class, () -> cache.get(invalid, calendar, () -> {
+                throw new InvalidVacationDatesException("Отпуск не может начинаться с выходного дня");
+            }));
+        }
+
+        assertEquals(0, cache.queuedEntries());
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void get_whenExpiredEntryIsReplaced_thenItsOldPositionDoesNotEvictFreshEntry() {
+        AtomicLong now = new AtomicLong();
+        VacationCalculationCache cache = new VacationCalculationCache(2, 50, now::get);
+        VacationData first = VacationData.builder().salary(600000.0).vacationDays(1).build();
+        VacationData second = VacationData.builder().salary(600000.0).vacationDays(2).build();
+        VacationData third = VacationData.builder().salary(600000.0).vacationDays(3).build();
+
+        cache.get(first, calendar, this::calculate);
+        now.set(40);
+        cache.get(second, calendar, this::calculate);
+        now.set(60);
+        cache.get(first, calendar, this::calculate);
+        cache.get(third, calendar, this::calculate);
+        cache.get(first, calendar, this::calculate);
+
+        assertEquals(4, calculations.get());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void get_whenEntriesAreReplacedRepeatedly_thenEvictionQueueStaysBounded() {
+        AtomicLong now = new AtomicLong();
+        VacationCalculationCache cache = new VacationCalculationCache(2, 10, now::get);
+
+        for (int i = 0; i < 1000; i++) {
+            now.addAndGet(100);
+            cache.get(VACATION, calendar, this::calculate);
+        }
+
+        assertEquals(1000, calculations.get());
+        assertTrue(cache.queuedEntries() <= 4);
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void get_whenEntryExpired_thenCalculatedAgain() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 0);
+
+        cache.get(VACATION, calendar, this::calculate);
+        sleepQuietly();
+        cache.get(VACATION, calendar, this::calculate);
+
+        assertEquals(2, calculations.get());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void onCalendarReloaded_whenCalendarReloaded_thenCacheIsCleared() {
+        VacationCalculationCache cache = new VacationCalculationCache(100, 600);
+        cache.get(VACATION, calendar, this::calculate);
+
+        cache.onCalendarReloaded(new CalendarReloadedEvent(calendar, calendar));
+        cache.get(VACATION, calendar, this::calculate);
+
+        assertEquals(2, calculations.get());
+    }
+
+    private double calculate() {
+        calculations.incrementAndGet();
+        return 14846.37;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ru.development.vacation_calculator.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
+import ru.development.vacation_calculator.calendar.HolidayCalendarSource;
+import ru.development.vacation_calculator.calendar.HolidayCalendarStore;
+import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
+import ru.development.vacation_calculator.model.VacationPlan;
+import ru.development.vacation_calculator.model.VacationPlans;
+import ru.development.vacation_calculator.model.VacationWindow;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VacationPlannerTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, Month.JANUARY, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, Month.DECEMBER, 31);
+
+    private static Set<LocalDate> holidays;
+    private static CalendarSnapshot calendar;
+    private final VacationPlanner vacationPlanner = new VacationPlanner();
+
+    @BeforeAll
+    static void setUp() {
+        holidays = Stream.of("01-01-2024", "02-01-2024", "03-01-2024", "04-01-2024", "05-01-2024",
+                        "08-01-2024", "23-02-2024", "08-03-2024", "29-04-2024", "30-04-2024", "01-05-2024",
+                        "09-05-2024", "10-05-2024", "12-06-2024", "04-11-2024", "30-12-2024", "31-12-2024")
+                .map(date -> LocalDate.parse(date, Constants.DATE_PATTERN))
+                .collect(Collectors.toSet());
+        calendar = new CalendarSnapshot(1, Instant.now(), new HolidayCalendarStore(new HolidayCalendarSource() {
+            @Override
+            public Set<Integer> availableYears() {
+                return Set.of(2024);
+            }
+
+            @Override
+            public Collection<LocalDate> loadYear(int year) {
+                return holidays;
+            }
+        }, 1));
+    }
+
+    @Test
+    void plan_whenOnePartRequested_thenWindowsAreBestByBruteForceAndSorted() {
+        for (int paidDays : new int[]{1, 3, 7, 14, 28, 300}) {
+            VacationPlans plans = vacationPlanner.plan(2024, paidDays, 1, 5, calendar);
+
+            assertEquals(5, plans.getPlans().size());
+            assertEquals(bestSingleWindow(paidDays), plans.getPlans().get(0).getDaysOff(), "paid days " + paidDays);
+            for (int i = 1; i < plans.getPlans().size(); i++) {
+                assertTrue(plans.getPlans().get(i - 1).getDaysOff() >= plans.getPlans().get(i).getDaysOff());
+            }
+            for (VacationPlan plan : plans.getPlans()) {
+                assertWindowIsConsistent(plan.getWindows().get(0));
+            }
+        }
+    }
+
+    @Test
+    void plan_whenBudgetIsSplitInTwo_thenResultIsBestByBruteForce() {
+        for (int paidDays = 2; paidDays <= 8; paidDays++) {
+            VacationPlan plan = vacationPlanner.plan(2024, paidDays, 2, 1, calendar).getPlans().get(0);
+
+            assertEquals(bestTwoWindows(paidDays), plan.getDaysOff(), "paid days " + paidDays);
+            assertEquals(2, plan.getWindows().size());
+            assertEquals(paidDays, plan.getWindows().get(0).getPaidDays() + plan.getWindows().get(1).getPaidDays());
+            assertTrue(plan.getWindows().get(0).getVacationEnd().plusDays(1).isBefore(plan.getWindows().get(1).getVacationStart()));
+            plan.getWindows().forEach(this::assertWindowIsConsistent);
+        }
+    }
+
+    @Test
+    void plan_whenLongVacationIsSplitInThree_thenMayHolidaysAreCovered() {
+        VacationPlan plan = vacationPlanner.plan(2024, 28, 3, 1, calendar).getPlans().get(0);
+
+        assertEquals(3, plan.getWindows().size());
+        assertEquals(37, plan.getDaysOff());
+        assertTrue(plan.getWindows().stream().anyMatch(window -> window.getVacationEnd().equals(LocalDate.of(2024, Month.MAY, 10))));
+    }
+
+    @Test
+    void plan_whenSplitIsLongAndCrowded_thenEveryPartIsSeparatedAndBudgetIsSpent() {
+        VacationPlan plan = vacationPlanner.plan(2024, 340, 10, 1, calendar).getPlans().get(0);
+
+        assertEquals(10, plan.getWindows().size());
+        assertEquals(340, plan.getWindows().stream().mapToInt(VacationWindow::getPaidDays).sum());
+        for (int i = 1; i < plan.getWindows().size(); i++) {
+            assertTrue(plan.getWindows().get(i - 1).getVacationEnd().plusDays(1)
+                    .isBefore(plan.getWindows().get(i).getVacationStart()));
+        }
+        plan.getWindows().forEach(this::assertWindowIsConsistent);
+    }
+
+    @Test
+    void plan_whenSeveralVariantsOfSplitAreRequested_thenInvalidVacationDatesExceptionIsThrown() {
+        assertThrows(InvalidVacationDatesException.class, () -> vacationPlanner.plan(2024, 28, 2, 3, calendar));
+    }
+
+    @Test
+    void plan_whenBudgetDoesNotFitIntoYear_thenNoPlansAreReturned() {
+        assertTrue(vacationPlanner.plan(2024, 366, 1, 5, calendar).getPlans().isEmpty());
+        assertFalse(vacationPlanner.plan(2024, 349, 1, 5, calendar).getPlans().isEmpty());
+    }
+
+    //период должен проходить обычную проверку: начало не праздник, дни отпуска + праздники = длина периода
+    private void assertWindowIsConsistent(VacationWindow window) {
+        assertFalse(holidays.contains(window.getVacationStart()));
+        assertEquals(window.getDaysOff() - window.getPaidDays(),
+                calendar.checkNumberOfHolidays(window.getVacationStart(), window.getVacationEnd()));
+        assertEquals(window.getDaysOff(), window.getVacationEnd().toEpochDay() - window.getVacationStart().toEpochDay() + 1);
+    }
+
+    private static int bestSingleWindow(int paidDays) {
+        List<LocalDate> workdays = workdays();
+        int best = -1;
+        for (int start = 0; start + paidDays <= workdays.size(); start++) {
+            best = Math.max(best, daysOff(workdays, start, paidDays));
+        }
+        return best;
+    }
+
+    private static int bestTwoWindows(int paidDays) {
+        List<LocalDate> workdays = workdays();
+        int best = -1;
+        for (int first = 1; first < paidDays; first++) {
+            for (int i = 0; i + first <= workdays.size(); i++) {
+                for (int j = i + first + 1; j + paidDays - first <= workdays.size(); j++) {
+                    best = Math.max(best, daysOff(workdays, i, first) + daysOff(workdays, j, paidDays - first));
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int daysOff(List<LocalDate> workdays, int start, int paidDays) {
+        LocalDate end = start + paidDays < workdays.size() ? workdays.get(start + paidDays).minusDays(1) : LAST_DAY;
+        return (int) (end.toEpochDay() - workdays.get(start).toEpochDay() + 1);
+    }
+
+    private static List<LocalDate> workdays() {
+        List<LocalDate> workdays = new ArrayList<>();
+        for (LocalDate day = FIRST_DAY; !day.isAfter(LAST_DAY); day = day.plusDays(1)) {
+            if (!holidays.contains(day)) {
+                workdays.add(day);
+            }
+        }
+        return workdays;
+    }
+}
@@ -8,7 +8,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
 import ru.development.vacation_calculator.constants.Constants;
+import ru.development.vacation_calculator.journal.CalculationJournal;
+import ru.development.vacation_calculator.metrics.CalculationMetrics;
 import ru.development.vacation_calculator.model.VacationData;
 
 import java.time.LocalDate;
@@ -20,6 +23,15 @@ class VacationServiceImplTest {
     @Mock
     private HolidaysChecker holidaysChecker;
 
+    @Mock
+    private CalendarSnapshot calendar;
+
+    @Mock
+    private CalculationMetrics calculationMetrics;
+
+    @Mock
+    private CalculationJournal calculationJournal;
+
     @InjectMocks
     private VacationServiceImpl vacationService;
 
@@ -89,6 +101,7 @@ class VacationServiceImplTest {
         double vacationPayment = Math.floor((averageDailyIncome * vacationWithDaysOnly.getVacationDays() -
                 (averageDailyIncome * vacationWithDaysOnly.getVacationDays()) * Constants.TAXES / 100) * 100) / 100;
 
+        Mockito.when(holidaysChecker.currentCalendar()).thenReturn(calendar);
         double calculatedPayment = vacationService.calculateVacationPay(vacationWithAllFields);
 
         Assertions.assertEquals(vacationPayment, calculatedPayment);
@@ -102,8 +115,9 @@ class VacationServiceImplTest {
                 (averageDailyIncome * vacationIncludesHoliday.getVacationDays()) * Constants.TAXES / 100) * 100) / 100;
 
 
-        Mockito.when(holidaysChecker.checkNumberOfHolidays(vacationIncludesHoliday.getVacationStart(),
-                        vacationIncludesHoliday.getVacationEnd()))
+        Mockito.when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+        Mockito.when(calendar.countHolidays(vacationIncludesHoliday.getVacationStart().toEpochDay(),
+                        vacationIncludesHoliday.getVacationEnd().toEpochDay()))
                 .thenReturn(1);
         double calculatedPayment = vacationService.calculateVacationPay(vacationIncludesHoliday);
 
@@ -121,4 +135,13 @@ class VacationServiceImplTest {
 
         Assertions.assertEquals(vacationPayment, calculatedPayment);
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculateVacationPay_whenCalculated_thenInputResultAndCalendarAreJournaled() {
+        Mockito.when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+
+        double calculatedPayment = vacationService.calculateVacationPay(vacationWithAllFields);
+
+        Mockito.verify(calculationJournal).append(vacationWithAllFields, calendar, calculatedPayment);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.development.vacation_calculator.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CommandLineModeListenerTest {
+
+    @Test
+    void onApplicationEvent_whenJournalIsEnabledByArguments_thenItIsStillDisabled() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new SimpleCommandLinePropertySource("--journal.enabled=true", "--recalculation.journal=/tmp/journal"));
+
+        publish(environment);
+
+        assertEquals("false", environment.getProperty("journal.enabled"));
+        assertEquals("none", environment.getProperty("spring.main.web-application-type"));
+        assertEquals("/tmp/journal", environment.getProperty("recalculation.journal"));
+    }
+
+    @Test
+    void onApplicationEvent_whenInputIsSetInConfiguration_thenCommandLineModeIsDetected() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(
+                new MapPropertySource("applicationConfig", Map.of("payroll.csv.input", "/tmp/payroll.csv")));
+
+        publish(environment);
+
+        assertEquals("none", environment.getProperty("spring.main.web-application-type"));
+    }
+
+    @Test
+    void onApplicationEvent_whenNoCommandLineModePropertyIsSet_thenEnvironmentIsNotChanged() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource("--journal.enabled=true"));
+
+        publish(environment);
+
+        assertFalse(CommandLineModeListener.isCommandLineMode(environment));
+        assertNull(environment.getPropertySources().get(CommandLineModeListener.PROPERTY_SOURCE_NAME));
+        assertEquals("true", environment.getProperty("journal.enabled"));
+    }
+
+    private static void publish(StandardEnvironment environment) {
+        new CommandLineModeListener().onApplicationEvent(new ApplicationEnvironmentPreparedEvent(
+                new DefaultBootstrapContext(), new SpringApplication(), new String[0], environment));
+    }
+}
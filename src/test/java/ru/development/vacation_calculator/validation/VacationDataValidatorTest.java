@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.development.vacation_calculator.calendar.CalendarSnapshot;
 import ru.development.vacation_calculator.exceptions.InvalidVacationDatesException;
 import ru.development.vacation_calculator.service.HolidaysChecker;
 import ru.development.vacation_calculator.model.VacationData;
@@ -12,13 +13,18 @@ import ru.development.vacation_calculator.model.VacationData;
 import java.time.LocalDate;
 import java.time.Month;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class VacationDataValidatorTest {
     private static HolidaysChecker holidaysChecker;
+    private static CalendarSnapshot calendar;
     private static VacationDataValidator vacationDataValidator;
 
     private static VacationData validObject;
@@ -28,11 +34,14 @@ class VacationDataValidatorTest {
     private static VacationData vacationWithVacationDaysFewerThanDaysInPeriod;
     private static VacationData vacationWithVacationDaysFewerThanDaysInPeriodWithBankHolidays;
     private static VacationData vacationWithVacationDaysMoreThanDaysInPeriodWithBankHolidays;
+    private static VacationData vacationAcrossNewYear;
 
     @BeforeAll
     static void setUp() {
         holidaysChecker = Mockito.mock(HolidaysChecker.class);
-        vacationDataValidator = new VacationDataValidator(holidaysChecker, (short) 2024);
+        calendar = Mockito.mock(CalendarSnapshot.class);
+        when(holidaysChecker.currentCalendar()).thenReturn(calendar);
+        vacationDataValidator = new VacationDataValidator(holidaysChecker);
 
         validObject = VacationData.builder().salary(600000.0)
                 .vacationDays(10)
@@ -77,20 +86,29 @@ class VacationDataValidatorTest {
                 .vacationStart(LocalDate.of(2024, Month.NOVEMBER, 01))
                 .vacationEnd(LocalDate.of(2024, Month.NOVEMBER, 10))
                 .build();
+
+        vacationAcrossNewYear = VacationData.builder()
+                .salary(600000.0)
+                .vacationDays(14)
+                .vacationStart(LocalDate.of(2024, Month.DECEMBER, 25))
+                .vacationEnd(LocalDate.of(2025, Month.JANUARY, 7))
+                .build();
     }
 
     @Test
     void validateTest_whenValidObjectPassed_thenNoExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         vacationDataValidator.validate(validObject);
     }
 
     @Test
     void validateTest_whenVacationStartsAtHoliday_thenInvalidVacationDatesExceptionExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationDataStartsAtHolidays));
     }
@@ -103,33 +121,124 @@ class VacationDataValidatorTest {
 
     @Test
     void validateTest_whenVacationDaysMoreThanDaysInDefinedPeriod_thenInvalidVacationDatesExceptionExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationWithVacationDaysMoreThanDaysInPeriod));
     }
 
     @Test
     void validateTest_whenVacationDaysFewerThanDaysInDefinedPeriod_thenInvalidVacationDatesExceptionExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationWithVacationDaysFewerThanDaysInPeriod));
     }
 
     @Test
     void validateTest_whenVacationDaysFewerThanDaysInDefinedPeriodWithBanksHolidays_thenInvalidVacationDatesExceptionExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(1);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(1);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationWithVacationDaysFewerThanDaysInPeriodWithBankHolidays));
     }
 
     @Test
     void validateTest_whenVacationDaysMoreThanDaysInDefinedPeriodWithBanksHolidays_thenInvalidVacationDatesExceptionExceptionIsThrown() {
-        when(holidaysChecker.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(1);
-        when(holidaysChecker.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(1);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
 
         assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationWithVacationDaysMoreThanDaysInPeriodWithBankHolidays));
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateTest_whenVacationCrossesNewYear_thenNoExceptionIsThrown() {
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+
+        vacationDataValidator.validate(vacationAcrossNewYear);
+    }
+
+    @Test
+    void validateTest_whenCalendarForYearIsNotAvailable_thenInvalidVacationDatesExceptionExceptionIsThrown() {
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+        when(calendar.checkIfCalendarIsAvailable(2025)).thenReturn(false);
+
+        assertThrows(InvalidVacationDatesException.class, () -> vacationDataValidator.validate(vacationAcrossNewYear));
+    }
+
+    @Test
+    void checkTest_whenValidObjectPassed_thenSharedValidResultIsReturned() {
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+
+        assertSame(ValidationResult.valid(), vacationDataValidator.check(validObject, calendar));
+    }
+
+    @Test
+    void checkTest_whenVacationDaysMoreThanDaysInDefinedPeriod_thenErrorAndMessageAreReturned() {
+        when(calendar.checkNumberOfHolidays(any(LocalDate.class), any(LocalDate.class))).thenReturn(0);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+
+        ValidationResult result = vacationDataValidator.check(vacationWithVacationDaysMoreThanDaysInPeriod, calendar);
+
+        assertFalse(result.isValid());
+        assertEquals(ValidationError.DAYS_MORE_THAN_PERIOD, result.getError());
+        assertEquals("Количество дней отпуска выходит за рамки указанного периода. " +
+                "Дней отпуска 11, общее число дней 10", result.getMessage());
+    }
+
+    @Test
+    void checkTest_whenEndIsBeforeStart_thenInvalidPeriodIsReturned() {
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+        VacationData vacationWithEndBeforeStart = VacationData.builder()
+                .salary(600000.0)
+                .vacationDays(10)
+                .vacationStart(LocalDate.of(2024, Month.SEPTEMBER, 10))
+                .vacationEnd(LocalDate.of(2024, Month.SEPTEMBER, 1))
+                .build();
+
+        ValidationResult result = vacationDataValidator.check(vacationWithEndBeforeStart, calendar);
+
+        assertEquals(ValidationError.INVALID_PERIOD, result.getError());
+        assertEquals("Пожалуйста, проверьте правильность указанных дат начала и окончания отпуска, " +
+                "начало отпуска - 10-09-2024, окончание отпуска- 01-09-2024", result.getMessage());
+    }
+
+    @Test
+    void checkTest_whenResultIsPassed_thenItIsReusedForEveryRejection() {
+        ValidationResult reusable = new ValidationResult();
+
+        ValidationResult first = vacationDataValidator.check(vacationDataWithoutDaysAndStart, calendar, reusable);
+        when(calendar.checkIfAHoliday(any(LocalDate.class))).thenReturn(false);
+        when(calendar.checkIfCalendarIsAvailable(anyInt())).thenReturn(true);
+        when(calendar.checkIfCalendarIsAvailable(2025)).thenReturn(false);
+        ValidationResult second = vacationDataValidator.check(vacationAcrossNewYear, calendar, reusable);
+
+        assertSame(reusable, first);
+        assertSame(reusable, second);
+        assertEquals(ValidationError.CALENDAR_NOT_AVAILABLE, reusable.getError());
+        assertEquals("Производственный календарь на 2025 год не загружен, расчет для указанных дат невозможен",
+                reusable.getMessage());
+    }
+
+    @Test
+    void regionalCalendarTest_whenRegionIsUnknown_thenInvalidVacationDatesExceptionIsThrown() {
+        when(calendar.hasRegion("RU-XX")).thenReturn(false);
+
+        InvalidVacationDatesException exception = assertThrows(InvalidVacationDatesException.class,
+                () -> vacationDataValidator.regionalCalendar("RU-XX", calendar));
+
+        assertEquals("Производственный календарь региона RU-XX не загружен, расчет для указанного региона невозможен",
+                exception.getMessage());
+    }
+}